@@ -0,0 +1,62 @@
+package com.example.Loark.Benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 벤치마크 입력으로 쓰는 armories 응답 모음 (ArmoryCorpusRecorder 로 녹음하고 익명화한 실제 응답).
+ * <p>
+ * 위치는 -Dloark.armoryCorpus (Gradle 에서는 -ParmoryCorpus, 기본 benchmark-corpus/armory) 이며,
+ * 디렉터리의 *.json 파일 하나가 응답 하나입니다. 녹음한 응답은 저장소에 올리지 않습니다.
+ * 손으로 만든 테스트 픽스처는 크기와 구성이 실제 응답과 달라 측정값을 믿을 수 없으므로 대신 쓰지 않습니다.
+ */
+final class ArmoryCorpus {
+
+    static final String PROPERTY = "loark.armoryCorpus";
+
+    // 학습/측정 분리에서 측정에 쓰는 비율 (1/TEST_EVERY)
+    private static final int TEST_EVERY = 5;
+
+    record Response(String name, String json) {}
+
+    private ArmoryCorpus() {
+    }
+
+    /**
+     * @throws IllegalStateException 코퍼스 디렉터리가 없거나 비어 있는 경우
+     */
+    static List<Response> load() throws IOException {
+        String location = System.getProperty(PROPERTY);
+        Path dir = location == null || location.isBlank() ? null : Path.of(location);
+        if (dir == null || !Files.isDirectory(dir)) {
+            throw new IllegalStateException("armories 응답 코퍼스가 없습니다: " + location
+                    + " (./gradlew recordArmoryCorpus -PcorpusNames=<이름 목록 파일> 로 녹음하거나 -ParmoryCorpus=<디렉터리> 지정)");
+        }
+        List<Response> responses = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".json")).sorted().toList()) {
+                responses.add(new Response(file.getFileName().toString(), Files.readString(file, StandardCharsets.UTF_8)));
+            }
+        }
+        if (responses.isEmpty()) {
+            throw new IllegalStateException("armories 응답 코퍼스가 비어 있습니다: " + dir);
+        }
+        return responses;
+    }
+
+    /**
+     * 응답 단위로 학습/측정을 나눕니다. 파일 이름 기준이라 응답을 더 녹음해도 기존 응답의 편은 바뀌지 않습니다.
+     * 같은 캐릭터의 슬롯이 양쪽에 섞이지 않으므로 사전이 측정 대상을 미리 본 효과가 빠집니다.
+     */
+    static boolean isTest(Response response) {
+        CRC32 crc = new CRC32();
+        crc.update(response.name().getBytes(StandardCharsets.UTF_8));
+        return crc.getValue() % TEST_EVERY == 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.Loark.Benchmark;
+
+import com.example.Loark.DTO.ArmorySection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 벤치마크 코퍼스(ArmoryCorpus)를 실제 armories 응답으로 채웁니다.
+ * <p>
+ * 이름 목록 파일(한 줄에 캐릭터 하나)의 캐릭터를 운영과 같은 섹션(ArmorySection.SPEC)으로 조회하고,
+ * 캐릭터/길드/영지 이름과 캐릭터 이미지 주소를 지운 뒤 armory-0001.json 처럼 순번 이름으로 저장합니다.
+ * 파일 이름에도 캐릭터 이름이 남지 않으며, 나머지 본문(장비 툴팁 등)은 크기와 구성을 유지하도록 그대로 둡니다.
+ * <p>
+ * ./gradlew recordArmoryCorpus -PcorpusNames=names.txt (API 키는 LOSTARK_API_KEY 환경 변수)
+ */
+public class ArmoryCorpusRecorder {
+
+    private static final String BASE_URL = "https://developer-lostark.game.onstove.com";
+    // lostark.ratelimit.requests-per-minute=100 안쪽으로
+    private static final Duration INTERVAL = Duration.ofMillis(700);
+    private static final List<String> IDENTIFYING = List.of("CharacterName", "GuildName", "TownName", "CharacterImage");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args[0].isBlank()) {
+            throw new IllegalArgumentException("사용법: ArmoryCorpusRecorder <이름 목록 파일> <코퍼스 디렉터리>");
+        }
+        String apiKey = System.getenv("LOSTARK_API_KEY");
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new IllegalStateException("LOSTARK_API_KEY 환경 변수가 필요합니다.");
+        }
+        List<String> names = Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8).stream()
+                .map(String::trim).filter(name -> !name.isEmpty()).distinct().toList();
+        Path dir = Files.createDirectories(Path.of(args[1]));
+
+        ObjectMapper mapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(3)).build();
+        String filter = URLEncoder.encode(ArmorySection.toFilter(ArmorySection.SPEC), StandardCharsets.UTF_8);
+        int seq = nextSequence(dir);
+        int saved = 0;
+        for (String name : names) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + "/armories/characters/"
+                            + URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20") + "?filters=" + filter))
+                    .header("Authorization", "bearer " + apiKey)
+                    .header("Accept", "application/json")
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            Thread.sleep(INTERVAL.toMillis());
+            if (response.statusCode() != 200 || response.body().isBlank() || response.body().equals("null")) {
+                System.err.println("건너뜀 - status=" + response.statusCode());
+                continue;
+            }
+
+            JsonNode armory = mapper.readTree(response.body());
+            anonymize(armory, seq);
+            Files.writeString(dir.resolve("armory-%04d.json".formatted(seq++)), mapper.writeValueAsString(armory),
+                    StandardCharsets.UTF_8);
+            saved++;
+        }
+        System.out.println("응답 " + saved + "/" + names.size() + "개 저장: " + dir.toAbsolutePath());
+    }
+
+    /** 캐릭터를 알아볼 수 있는 프로필 값을 지웁니다. */
+    static void anonymize(JsonNode armory, int seq) {
+        if (armory.get("ArmoryProfile") instanceof ObjectNode profile) {
+            for (String field : IDENTIFYING) {
+                if (profile.hasNonNull(field)) profile.put(field, field.equals("CharacterImage") ? "" : "익명" + seq);
+            }
+        }
+    }
+
+    private static int nextSequence(Path dir) throws Exception {
+        try (var files = Files.list(dir)) {
+            return (int) files.filter(f -> f.getFileName().toString().matches("armory-\\d+\\.json")).count() + 1;
+        }
+    }
+}
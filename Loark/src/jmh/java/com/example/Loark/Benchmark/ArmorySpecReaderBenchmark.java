@@ -0,0 +1,58 @@
+package com.example.Loark.Benchmark;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Service.ArmorySpecReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * armories 응답 → CharacterSpec 변환 비용 비교 (트리 기반 vs 스트리밍).
+ * 입력은 녹음한 실제 응답 코퍼스(ArmoryCorpus)이며, 호출마다 다음 응답을 읽으므로 결과는 코퍼스 전체의 평균입니다.
+ * 할당량까지 보려면: ./gradlew jmh -Pjmh.profilers=gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArmorySpecReaderBenchmark {
+
+    private String[] responses;
+    private int next;
+    private ArmorySpecReader streamingReader;
+    private LegacyArmorySpecMapper legacyMapper;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        streamingReader = new ArmorySpecReader(mapper);
+        legacyMapper = new LegacyArmorySpecMapper(mapper);
+        responses = ArmoryCorpus.load().stream().map(ArmoryCorpus.Response::json).toArray(String[]::new);
+    }
+
+    private String nextResponse() {
+        String json = responses[next];
+        next = (next + 1) % responses.length;
+        return json;
+    }
+
+    @Benchmark
+    public CharacterSpec legacyTree() throws Exception {
+        CharacterSpec spec = new CharacterSpec();
+        legacyMapper.read(nextResponse(), spec);
+        return spec;
+    }
+
+    @Benchmark
+    public CharacterSpec streaming() throws Exception {
+        CharacterSpec spec = new CharacterSpec();
+        streamingReader.read(nextResponse(), spec);
+        return spec;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Loark.Benchmark;
+
+import com.example.Loark.DTO.FactGateMetricsDto;
+import com.example.Loark.Repository.FactGateMetricsRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * fact_gate_metrics 결과 → FactGateMetricsDto 변환 비용 비교 (합성 행, DB/네트워크 제외).
+ * <ul>
+ *   <li>legacy: Object[] 목록을 다 만든 뒤 캐스팅/toString 으로 DTO 목록 (기존 네이티브 쿼리 방식)</li>
+ *   <li>rowMapper: FactGateMetricsRowMapper 로 읽으면서 바로 DTO 목록 (findAllByCharacterName)</li>
+ *   <li>streaming: 목록 없이 하나씩 소비 (forEachByCharacterName)</li>
+ * </ul>
+ * 할당량까지 보려면: ./gradlew jmh -Pjmh.profilers=gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FactGateMetricsMappingBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private SyntheticFactGateMetrics data;
+
+    @Setup
+    public void setUp() {
+        data = new SyntheticFactGateMetrics(rows, 42);
+    }
+
+    @Benchmark
+    public List<FactGateMetricsDto> legacy() throws SQLException {
+        return LegacyFactGateMetricsMapper.map(LegacyFactGateMetricsMapper.readAll(data.open()));
+    }
+
+    @Benchmark
+    public List<FactGateMetricsDto> rowMapper() throws SQLException {
+        ResultSet rs = data.open();
+        List<FactGateMetricsDto> records = new ArrayList<>();
+        int rowNum = 0;
+        while (rs.next()) records.add(FactGateMetricsRowMapper.INSTANCE.mapRow(rs, rowNum++));
+        return records;
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) throws SQLException {
+        ResultSet rs = data.open();
+        int rowNum = 0;
+        while (rs.next()) bh.consume(FactGateMetricsRowMapper.INSTANCE.mapRow(rs, rowNum++));
+    }
+}
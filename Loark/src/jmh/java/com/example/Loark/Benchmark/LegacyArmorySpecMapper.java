@@ -0,0 +1,153 @@
+package com.example.Loark.Benchmark;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.SpecSlot;
+import com.example.Loark.Service.ArmorySpecReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 비교용: ArmorySpecReader 도입 전 CharacterService.populateSpecFromJson 의 트리 기반 구현.
+ * readTree → 슬롯마다 writeValueAsString(node) 으로 다시 직렬화합니다.
+ */
+class LegacyArmorySpecMapper {
+
+    private final ObjectMapper mapper;
+
+    LegacyArmorySpecMapper(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    void read(String armoryJson, CharacterSpec spec) throws JsonProcessingException {
+        JsonNode root = mapper.readTree(armoryJson);
+        if (root.isArray()) root = root.get(0);
+
+        JsonNode profile = root.path("ArmoryProfile");
+        spec.setItemLevel(ArmorySpecReader.parseItemLevel(profile.path("ItemAvgLevel").asText(null)));
+        spec.setCombatPower(ArmorySpecReader.parseCombatPowerToLong(profile.path("CombatPower").asText(null)));
+        for (SpecSlot slot : SpecSlot.values()) slot.set(spec, null);
+
+        JsonNode equipment = root.path("ArmoryEquipment");
+        if (equipment.isArray()) {
+            for (JsonNode item : equipment) {
+                String type = item.path("Type").asText();
+                String json = toJson(item);
+                if (json == null) continue;
+                switch (type) {
+                    case "투구": spec.setEquipHelmet(json); break;
+                    case "어깨": spec.setEquipShoulders(json); break;
+                    case "상의": spec.setEquipChest(json); break;
+                    case "하의": spec.setEquipLegs(json); break;
+                    case "장갑": spec.setEquipGloves(json); break;
+                    case "무기": spec.setEquipWeapon(json); break;
+                    case "목걸이": spec.setAccNecklace(json); break;
+                    case "귀걸이":
+                        if (spec.getAccEarring1() == null) spec.setAccEarring1(json);
+                        else spec.setAccEarring2(json);
+                        break;
+                    case "반지":
+                        if (spec.getAccRing1() == null) spec.setAccRing1(json);
+                        else spec.setAccRing2(json);
+                        break;
+                    case "팔찌": spec.setAccBracelet(json); break;
+                    case "어빌리티 스톤": spec.setAbilityStone(json); break;
+                }
+            }
+        }
+
+        JsonNode engravings = root.path("ArmoryEngraving").path("ArkPassiveEffects");
+        for (int i = 0; i < SpecSlot.engravingCount(); i++) {
+            SpecSlot.engraving(i).set(spec, toJson(engravings.path(i)));
+        }
+
+        JsonNode gems = root.path("ArmoryGem").path("Gems");
+        for (int i = 0; i < SpecSlot.gemCount(); i++) {
+            SpecSlot.gem(i).set(spec, toJson(gems.path(i)));
+        }
+
+        JsonNode allSkills = root.path("ArmorySkills");
+        if (allSkills.isArray()) {
+            List<String> filteredSkills = new ArrayList<>();
+            for (JsonNode skill : allSkills) {
+                if (skill.path("SkillType").asInt(0) >= 100) continue;
+                JsonNode tripods = skill.path("Tripods");
+                if (!tripods.isArray() || tripods.size() == 0) continue;
+                String skillJson = toJson(skill);
+                if (skillJson != null) filteredSkills.add(skillJson);
+            }
+            for (int i = 0; i < Math.min(filteredSkills.size(), SpecSlot.skillCount()); i++) {
+                SpecSlot.skill(i).set(spec, filteredSkills.get(i));
+            }
+        }
+
+        JsonNode cardsNode = root.path("ArmoryCard");
+        for (int i = 0; i < SpecSlot.cardCount(); i++) {
+            SpecSlot.card(i).set(spec, toJson(cardsNode.path("Cards").path(i)));
+        }
+        spec.setCardEffect(toJson(cardsNode.path("Effects")));
+
+        JsonNode arkPassiveNode = root.path("ArkPassive");
+        spec.setArkPassive(arkPassiveNode.path("Title").asText(null));
+
+        JsonNode points = arkPassiveNode.path("Points");
+        if (points.isArray()) {
+            for (JsonNode point : points) {
+                switch (point.path("Name").asText()) {
+                    case "진화": spec.setArkEvolution(toJson(point)); break;
+                    case "깨달음": spec.setArkRealization(toJson(point)); break;
+                    case "도약": spec.setArkLeap(toJson(point)); break;
+                }
+            }
+        }
+
+        JsonNode arkEffects = arkPassiveNode.path("Effects");
+        if (arkEffects.isArray()) {
+            List<String> evolutionDetails = new ArrayList<>();
+            List<String> realizationDetails = new ArrayList<>();
+            List<String> leapDetails = new ArrayList<>();
+
+            for (JsonNode effect : arkEffects) {
+                String name = effect.path("Name").asText();
+                String tooltipJsonString = effect.path("ToolTip").asText();
+                if (tooltipJsonString == null || tooltipJsonString.isEmpty()) continue;
+
+                JsonNode tooltipRoot = mapper.readTree(tooltipJsonString);
+                String description = findDescriptionInTooltip(tooltipRoot);
+                if (description == null || description.isEmpty()) continue;
+
+                String cleanedDescription = description.replaceAll("<[^>]*>", "").replace("||<BR>", " ").trim();
+                if (cleanedDescription.isEmpty()) continue;
+
+                String effectTitle = effect.path("Description").asText().replaceAll("<[^>]*>", "").trim();
+                String finalDetail = effectTitle + ": " + cleanedDescription;
+
+                switch (name) {
+                    case "진화": evolutionDetails.add(finalDetail); break;
+                    case "깨달음": realizationDetails.add(finalDetail); break;
+                    case "도약": leapDetails.add(finalDetail); break;
+                }
+            }
+
+            if (!evolutionDetails.isEmpty()) spec.setArkEvolutionDetail(mapper.writeValueAsString(evolutionDetails));
+            if (!realizationDetails.isEmpty()) spec.setArkRealizationDetail(mapper.writeValueAsString(realizationDetails));
+            if (!leapDetails.isEmpty()) spec.setArkLeapDetail(mapper.writeValueAsString(leapDetails));
+        }
+    }
+
+    private String findDescriptionInTooltip(JsonNode tooltipRoot) {
+        JsonNode element = tooltipRoot.path("Element_001").path("value").path("Element_000").path("value");
+        if (element.isTextual()) return element.asText();
+        element = tooltipRoot.path("Element_002").path("value");
+        if (element.isTextual()) return element.asText();
+        return null;
+    }
+
+    private String toJson(JsonNode node) throws JsonProcessingException {
+        if (node == null || node.isMissingNode() || node.isNull()) return null;
+        return mapper.writeValueAsString(node);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.Loark.Benchmark;
+
+import com.example.Loark.DTO.FactGateMetricsDto;
+import org.postgresql.util.PGInterval;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 비교용: FactGateMetricsRowMapper 도입 전 FactGateMetricsRepository.findAllByCharacterName 의 구현.
+ * 네이티브 쿼리 결과(Object[] 목록)를 먼저 모두 만든 뒤, 행마다 캐스팅/toString 으로 DTO 를 만듭니다.
+ * Hibernate 가 하던 부분(getObject 로 Object[] 채우기, Timestamp → Instant)은 readAll 로 흉내 냅니다.
+ */
+class LegacyFactGateMetricsMapper {
+
+    // 기존 SELECT 순서(ts 가 마지막) → 합성 결과 집합의 열 위치
+    private static final int[] COLUMN = {
+            1, 2, 3, 4, 5, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 6};
+
+    static List<Object[]> readAll(ResultSet rs) throws SQLException {
+        List<Object[]> results = new ArrayList<>();
+        while (rs.next()) {
+            Object[] row = new Object[COLUMN.length];
+            for (int i = 0; i < COLUMN.length; i++) {
+                Object value = rs.getObject(COLUMN[i]);
+                row[i] = value instanceof Timestamp t ? t.toInstant() : value;
+            }
+            results.add(row);
+        }
+        return results;
+    }
+
+    static List<FactGateMetricsDto> map(List<Object[]> results) {
+        return results.stream()
+                .map(row -> FactGateMetricsDto.builder()
+                        .id(row[0] != null ? ((Number) row[0]).longValue() : null)
+                        .raidName((String) row[1])
+                        .gateNumber(row[2] != null ? ((Number) row[2]).shortValue() : null)
+                        .difficulty((String) row[3])
+                        .playTime(toDuration(row[4]))
+                        .characterId((String) row[5])
+                        .className((String) row[6])
+                        .role((String) row[7])
+                        .dps(row[8] != null ? ((Number) row[8]).doubleValue() : null)
+                        .synergyEfficiencyRate(row[9] != null ? ((Number) row[9]).doubleValue() : null)
+                        .backAttackRate(row[10] != null ? ((Number) row[10]).doubleValue() : null)
+                        .headAttackRate(row[11] != null ? ((Number) row[11]).doubleValue() : null)
+                        .critRate(row[12] != null ? ((Number) row[12]).doubleValue() : null)
+                        .totalDamage(row[13] != null ? new BigDecimal(row[13].toString()) : null)
+                        .supportDps(row[14] != null ? ((Number) row[14]).doubleValue() : null)
+                        .supportAttackBuffEffectivenessRate(row[15] != null ? ((Number) row[15]).doubleValue() : null)
+                        .supportBrandBuffEffectivenessRate(row[16] != null ? ((Number) row[16]).doubleValue() : null)
+                        .supportDamageBuff2EffectivenessRate(row[17] != null ? ((Number) row[17]).doubleValue() : null)
+                        .supportDamageIncreaseEffectivenessRate(row[18] != null ? ((Number) row[18]).doubleValue() : null)
+                        .supportAssistTotalDamage(row[19] != null ? new BigDecimal(row[19].toString()) : null)
+                        .counterSuccess(row[20] != null ? ((Number) row[20]).intValue() : null)
+                        .staggerDamage(row[21] != null ? ((Number) row[21]).intValue() : null)
+                        .partyHealAmount(row[22] != null ? new BigDecimal(row[22].toString()) : null)
+                        .ts(row[23] instanceof Instant ? (Instant) row[23] : null)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static Duration toDuration(Object obj) {
+        if (obj instanceof PGInterval pgInterval) {
+            return Duration.ofDays(pgInterval.getDays())
+                    .plusHours(pgInterval.getHours())
+                    .plusMinutes(pgInterval.getMinutes())
+                    .plusSeconds((long) pgInterval.getSeconds());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.Loark.Benchmark;
+
+import com.example.Loark.Util.DeflateDictionary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스펙 조각 본문 저장 방식 비교 (메모리 안에서): jsonb 텍스트(none) / deflate / 학습한 사전 + deflate.
+ * <ul>
+ *   <li>CPU: write (압축), 저장 크기는 write 의 보조 카운터 rawBytes / storedBytes / dictionaryBytes</li>
+ *   <li>읽기: read (저장된 바이트 -> 문자열 -> JSON 파싱, 조각 하나씩 전부)</li>
+ * </ul>
+ * 조각은 녹음한 응답 코퍼스에서 응답 단위로 나눠(SpecFragmentCorpus), 학습 쪽 응답으로 사전을 만들고
+ * 사전이 본 적 없는 측정 쪽 응답의 조각으로 잽니다. 학습 샘플 수와 사전 크기는 운영 설정과 같습니다.
+ * DB 왕복과 PostgreSQL 자체 압축(TOAST)까지 포함한 비교는 SpecFragmentReadPathBenchmark 에서 합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecFragmentCompressionBenchmark {
+
+    // spec.fragment.dictionary-samples 기본값
+    static final int DICTIONARY_SAMPLES = 2000;
+    // SpecFragmentStore 의 body_z 머리 ([형식][dict_id])
+    static final int HEADER_BYTES = 5;
+
+    @Param({"none", "deflate", "deflate-dict"})
+    public String storage;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private List<byte[]> bodies;
+    private List<byte[]> stored;
+    private byte[] dictionary;
+
+    /**
+     * 반복(iteration)마다 쓴 조각의 원본/저장 바이트 합. 압축률 = storedBytes / rawBytes.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long rawBytes;
+        public long storedBytes;
+        public long dictionaryBytes;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            rawBytes = 0;
+            storedBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SpecFragmentCorpus.Split split = SpecFragmentCorpus.load(mapper);
+        dictionary = storage.equals("deflate-dict") ? trainDictionary(split.training()) : null;
+
+        bodies = new ArrayList<>(split.test().size());
+        stored = new ArrayList<>(split.test().size());
+        for (String json : split.test()) {
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            bodies.add(body);
+            stored.add(encode(body));
+        }
+    }
+
+    /** SpecFragmentMigrator 처럼 임의로 고른 최대 DICTIONARY_SAMPLES 개 조각으로 학습 (재현되도록 시드 고정) */
+    static byte[] trainDictionary(List<String> training) {
+        List<String> samples = new ArrayList<>(training);
+        Collections.shuffle(samples, new Random(42));
+        return DeflateDictionary.train(samples.subList(0, Math.min(DICTIONARY_SAMPLES, samples.size())).stream()
+                .map(json -> json.getBytes(StandardCharsets.UTF_8)).toList(), DeflateDictionary.MAX_SIZE);
+    }
+
+    private byte[] encode(byte[] body) {
+        return storage.equals("none") ? body : DeflateDictionary.compress(body, dictionary);
+    }
+
+    private byte[] decode(byte[] s) {
+        return storage.equals("none") ? s : DeflateDictionary.decompress(s, dictionary);
+    }
+
+    @Benchmark
+    public long write(Sizes sizes) {
+        long size = 0;
+        int header = storage.equals("none") ? 0 : HEADER_BYTES;
+        for (byte[] body : bodies) {
+            size += encode(body).length + header;
+            sizes.rawBytes += body.length;
+        }
+        sizes.storedBytes += size;
+        sizes.dictionaryBytes = dictionary == null ? 0 : dictionary.length;
+        return size;
+    }
+
+    @Benchmark
+    public int read() throws Exception {
+        int nodes = 0;
+        for (byte[] s : stored) {
+            JsonNode node = mapper.readTree(new String(decode(s), StandardCharsets.UTF_8));
+            nodes += node.size();
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.Loark.Benchmark;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.SpecSlot;
+import com.example.Loark.Service.ArmorySpecReader;
+import com.example.Loark.Util.CanonicalJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 코퍼스 응답을 spec_fragments 에 저장될 조각(중복 제거 섹션의 슬롯, 정규형)으로 바꾸고 학습/측정으로 나눕니다.
+ * <p>
+ * 나누는 단위는 응답이며(ArmoryCorpus.isTest), 측정 조각은 서로 중복이 없고 학습 쪽에 이미 있는 조각도 뺍니다.
+ * 운영에서도 같은 조각은 한 번만 저장되므로, 이미 저장된 조각을 다시 압축해 비율이 좋아 보이는 일이 없게 합니다.
+ */
+final class SpecFragmentCorpus {
+
+    record Split(List<String> training, List<String> test) {}
+
+    private SpecFragmentCorpus() {
+    }
+
+    /**
+     * @throws IllegalStateException 코퍼스가 작아 한쪽이 비는 경우
+     */
+    static Split load(ObjectMapper mapper) throws Exception {
+        ArmorySpecReader reader = new ArmorySpecReader(mapper);
+        Set<String> training = new LinkedHashSet<>();
+        Set<String> test = new LinkedHashSet<>();
+        for (ArmoryCorpus.Response response : ArmoryCorpus.load()) {
+            CharacterSpec spec = new CharacterSpec();
+            reader.read(response.json(), spec);
+            Set<String> target = ArmoryCorpus.isTest(response) ? test : training;
+            for (SpecSlot slot : SpecSlot.values()) {
+                String json = slot.get(spec);
+                if (json != null && slot.getSection().isDeduplicated()) target.add(CanonicalJson.canonicalize(json));
+            }
+        }
+        test.removeAll(training);
+        if (training.isEmpty() || test.isEmpty()) {
+            throw new IllegalStateException("코퍼스가 작아 학습/측정 조각을 나눌 수 없습니다. (학습 "
+                    + training.size() + "개, 측정 " + test.size() + "개)");
+        }
+        return new Split(new ArrayList<>(training), new ArrayList<>(test));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.Loark.Benchmark;
+
+import com.example.Loark.Repository.SpecFragmentStore;
+import com.example.Loark.Util.DeflateDictionary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시에 없는 스펙 조각을 DB 에서 읽는 경로 비교: jsonb 본문(body) vs 학습한 사전으로 압축한 bytea(body_z).
+ * <p>
+ * SpecFragmentStore 가 캐시 미스 때 보내는 것과 같은 {@code hash = ANY(?)} 조회 후 본문 문자열까지 만듭니다.
+ * jsonb 는 2KB 를 넘으면 PostgreSQL 이 TOAST 로 따로 압축하므로, 저장 크기도 메모리 비교가 아니라
+ * 실제 테이블 크기(보조 카운터 tableBytes, 인덱스·TOAST 포함)로 봅니다.
+ * <p>
+ * 조각은 SpecFragmentCorpus 의 측정 쪽, 사전은 학습 쪽으로 만듭니다.
+ * 벤치마크용 DB 를 -PbenchJdbcUrl / -PbenchJdbcUser / -PbenchJdbcPassword 로 지정하며(없으면 실패),
+ * 그 DB 의 기본 스키마에 jmh_spec_fragments 테이블을 만들었다가 끝나면 지웁니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecFragmentReadPathBenchmark {
+
+    private static final String TABLE = "jmh_spec_fragments";
+    private static final byte FORMAT_DEFLATE = 1;
+    private static final int DICTIONARY_ID = 1;
+
+    @Param({"jsonb", "bytea-dict"})
+    public String storage;
+
+    // 한 번에 읽는 조각 수 (1 = 슬롯 하나, 32 = 스냅샷 한 건을 prefetch 하는 정도)
+    @Param({"1", "32"})
+    public int batch;
+
+    private Connection connection;
+    private PreparedStatement select;
+    private byte[] dictionary;
+    private String[] hashes;
+    private long tableBytes;
+    private int next;
+
+    /** 테이블 전체 크기 (반복마다 같은 값) */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long tableBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = System.getProperty("loark.benchJdbcUrl");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("벤치마크용 DB 가 없습니다. -PbenchJdbcUrl=jdbc:postgresql://... 로 지정하세요.");
+        }
+        connection = DriverManager.getConnection(url,
+                System.getProperty("loark.benchJdbcUser"), System.getProperty("loark.benchJdbcPassword"));
+
+        SpecFragmentCorpus.Split split = SpecFragmentCorpus.load(new ObjectMapper());
+        List<String> fragments = split.test();
+        boolean compressed = storage.equals("bytea-dict");
+        if (compressed) dictionary = SpecFragmentCompressionBenchmark.trainDictionary(split.training());
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + TABLE);
+            // app.spec_fragments 와 같은 모양
+            ddl.execute("CREATE TABLE " + TABLE + " (hash varchar(64) PRIMARY KEY, body jsonb, body_z bytea)");
+        }
+        hashes = new String[fragments.size()];
+        try (PreparedStatement insert = connection.prepareStatement(compressed
+                ? "INSERT INTO " + TABLE + " (hash, body_z) VALUES (?, ?)"
+                : "INSERT INTO " + TABLE + " (hash, body) VALUES (?, CAST(? AS jsonb))")) {
+            for (int i = 0; i < fragments.size(); i++) {
+                String json = fragments.get(i);
+                hashes[i] = SpecFragmentStore.hash(json);
+                insert.setString(1, hashes[i]);
+                if (compressed) insert.setBytes(2, encode(json));
+                else insert.setString(2, json);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (Statement stats = connection.createStatement()) {
+            stats.execute("VACUUM ANALYZE " + TABLE);
+            try (ResultSet rs = stats.executeQuery("SELECT pg_total_relation_size('" + TABLE + "')")) {
+                rs.next();
+                tableBytes = rs.getLong(1);
+            }
+        }
+        select = connection.prepareStatement("SELECT hash, body::text, body_z FROM " + TABLE + " WHERE hash = ANY(?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (connection == null) return;
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + TABLE);
+        } finally {
+            connection.close();
+        }
+    }
+
+    /** SpecFragmentStore 와 같은 [형식][dict_id][deflate] */
+    private byte[] encode(String json) {
+        byte[] z = DeflateDictionary.compress(json.getBytes(StandardCharsets.UTF_8), dictionary);
+        return ByteBuffer.allocate(5 + z.length).put(FORMAT_DEFLATE).putInt(DICTIONARY_ID).put(z).array();
+    }
+
+    private String decode(byte[] stored) {
+        byte[] z = Arrays.copyOfRange(stored, 5, stored.length);
+        return new String(DeflateDictionary.decompress(z, dictionary), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long read(Sizes sizes) throws Exception {
+        String[] keys = new String[Math.min(batch, hashes.length)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = hashes[next];
+            next = (next + 1) % hashes.length;
+        }
+        select.setArray(1, connection.createArrayOf("text", keys));
+        long chars = 0;
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                byte[] z = rs.getBytes(3);
+                chars += (z != null ? decode(z) : rs.getString(2)).length();
+            }
+        }
+        sizes.tableBytes = tableBytes;
+        return chars;
+    }
+}
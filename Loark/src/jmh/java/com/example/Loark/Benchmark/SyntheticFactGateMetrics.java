@@ -0,0 +1,165 @@
+package com.example.Loark.Benchmark;
+
+import org.postgresql.util.PGInterval;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+/**
+ * 벤치마크용 fact_gate_metrics 결과 집합 (FactGateMetricsRowMapper.COLUMNS 순서, DB 없이 메모리에서).
+ * <p>
+ * 드라이버가 하는 만큼만 객체를 만듭니다: getObject 는 박싱된 값 / 새 BigDecimal / 새 PGInterval / Timestamp,
+ * getDouble·getLong 등은 원시값, getBigDecimal 은 새 BigDecimal. 값 자체는 열 배열에 미리 만들어 둡니다.
+ */
+class SyntheticFactGateMetrics {
+
+    private static final String[] RAIDS = {"카멘", "에키드나", "베히모스", "에기르", "아브렐슈드"};
+    private static final String[] DIFFICULTIES = {"노말", "하드"};
+    private static final String[] CLASSES = {"버서커", "바드", "소서리스", "홀리나이트", "블레이드"};
+    private static final int DOUBLE_COLUMNS = 10;  // 10~14, 16~20
+
+    private final int rows;
+    private final long[] ids;
+    private final String[] raidNames;
+    private final short[] gates;
+    private final String[] difficulties;
+    private final int[] playSeconds;
+    private final long[] tsMillis;
+    private final String[] characters;
+    private final String[] classNames;
+    private final String[] roles;
+    private final double[][] doubles;
+    private final long[][] decimals;   // 15, 21, 24 (소수 둘째 자리까지, unscaled)
+    private final boolean[][] decimalNull;
+    private final int[] counters;
+    private final int[] staggers;
+
+    SyntheticFactGateMetrics(int rows, long seed) {
+        this.rows = rows;
+        Random random = new Random(seed);
+        ids = new long[rows];
+        raidNames = new String[rows];
+        gates = new short[rows];
+        difficulties = new String[rows];
+        playSeconds = new int[rows];
+        tsMillis = new long[rows];
+        characters = new String[rows];
+        classNames = new String[rows];
+        roles = new String[rows];
+        doubles = new double[DOUBLE_COLUMNS][rows];
+        decimals = new long[3][rows];
+        decimalNull = new boolean[3][rows];
+        counters = new int[rows];
+        staggers = new int[rows];
+        long now = Instant.parse("2025-06-01T00:00:00Z").toEpochMilli();
+        for (int r = 0; r < rows; r++) {
+            boolean support = random.nextInt(4) == 0;
+            ids[r] = 1_000_000L + r;
+            raidNames[r] = RAIDS[random.nextInt(RAIDS.length)];
+            gates[r] = (short) (1 + random.nextInt(3));
+            difficulties[r] = DIFFICULTIES[random.nextInt(DIFFICULTIES.length)];
+            playSeconds[r] = 300 + random.nextInt(900);
+            tsMillis[r] = now - r * 60_000L;
+            characters[r] = "캐릭터" + random.nextInt(5000);
+            classNames[r] = CLASSES[random.nextInt(CLASSES.length)];
+            roles[r] = support ? "SUPPORT" : "DEALER";
+            for (int c = 0; c < DOUBLE_COLUMNS; c++) doubles[c][r] = random.nextDouble() * 100;
+            decimals[0][r] = random.nextLong(1L << 40);
+            decimals[1][r] = random.nextLong(1L << 36);
+            decimals[2][r] = random.nextLong(1L << 30);
+            // 딜러는 서폿 지표가 비어 있음
+            decimalNull[1][r] = !support;
+            decimalNull[2][r] = !support;
+            counters[r] = random.nextInt(10);
+            staggers[r] = random.nextInt(100_000);
+        }
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    /** 처음 행 앞에 커서가 있는 새 결과 집합 */
+    ResultSet open() {
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("next")) return ++cursor[0] < rows;
+                    if (name.equals("wasNull")) return wasNull[0];
+                    if (name.equals("close")) return null;
+                    int r = cursor[0];
+                    int column = (Integer) args[0];
+                    Object value = switch (name) {
+                        case "getObject" -> args.length == 2 ? typed(r, column, (Class<?>) args[1]) : object(r, column);
+                        case "getLong" -> ids[r];
+                        case "getShort" -> gates[r];
+                        case "getInt" -> column == 22 ? counters[r] : staggers[r];
+                        case "getDouble" -> column == 5 ? (double) playSeconds[r] : doubles[doubleIndex(column)][r];
+                        case "getString" -> string(r, column);
+                        case "getBigDecimal" -> decimal(r, column);
+                        default -> throw new UnsupportedOperationException(name);
+                    };
+                    wasNull[0] = value == null;
+                    if (value == null && method.getReturnType().isPrimitive()) return zero(method.getReturnType());
+                    return value;
+                });
+    }
+
+    /** 드라이버의 getObject(int): 열 타입에 맞는 새 객체 */
+    private Object object(int r, int column) {
+        return switch (column) {
+            case 1 -> ids[r];
+            case 2, 4, 7, 8, 9 -> string(r, column);
+            case 3 -> (int) gates[r];
+            case 5 -> new PGInterval(0, 0, 0, playSeconds[r] / 3600, playSeconds[r] / 60 % 60, playSeconds[r] % 60);
+            case 6 -> new Timestamp(tsMillis[r]);
+            case 15, 21, 24 -> decimal(r, column);
+            case 22 -> counters[r];
+            case 23 -> staggers[r];
+            default -> doubles[doubleIndex(column)][r];
+        };
+    }
+
+    private Object typed(int r, int column, Class<?> type) {
+        if (column == 6 && type == OffsetDateTime.class) {
+            return Instant.ofEpochMilli(tsMillis[r]).atOffset(ZoneOffset.UTC);
+        }
+        throw new UnsupportedOperationException("getObject(" + column + ", " + type.getSimpleName() + ")");
+    }
+
+    private String string(int r, int column) {
+        return switch (column) {
+            case 2 -> raidNames[r];
+            case 4 -> difficulties[r];
+            case 7 -> characters[r];
+            case 8 -> classNames[r];
+            case 9 -> roles[r];
+            default -> throw new IllegalArgumentException("문자열 열이 아닙니다: " + column);
+        };
+    }
+
+    private BigDecimal decimal(int r, int column) {
+        int d = column == 15 ? 0 : column == 21 ? 1 : 2;
+        return decimalNull[d][r] ? null : BigDecimal.valueOf(decimals[d][r], 2);
+    }
+
+    private static int doubleIndex(int column) {
+        return column <= 14 ? column - 10 : column - 11;
+    }
+
+    private static Object zero(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        return 0.0;
+    }
+}
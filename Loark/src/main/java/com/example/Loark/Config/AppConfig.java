@@ -1,14 +1,32 @@
 package com.example.Loark.Config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class AppConfig {
+
+    // Clova OCR / 통계 서버 호출용. 타임아웃이 없으면 상대 서버가 멈췄을 때 요청 스레드가 무한정 묶인다
+    @Value("${http.client.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.read-timeout:15s}")
+    private Duration readTimeout;
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        return builder
+                // 기존 new RestTemplate() 과 같은 JDK HttpURLConnection 기반 (JVM 프록시 설정을 따른다)
+                .requestFactoryBuilder(ClientHttpRequestFactoryBuilder.simple())
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
     }
 
 }
@@ -0,0 +1,79 @@
+package com.example.Loark.Config;
+
+import com.example.Loark.Service.ExternalApiGuard;
+import com.example.Loark.Service.LostarkRateLimiter;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로스트아크 Open API 전용 WebClient 설정.
+ * 커넥션 풀 크기/대기 시간과 connect/read 타임아웃을 한 곳에서 관리합니다.
+ */
+@Configuration
+public class LostarkClientConfig {
+
+    @Value("${lostark.api.base-url:https://developer-lostark.game.onstove.com}")
+    private String baseUrl;
+
+    @Value("${lostark.api.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${lostark.api.pool.pending-acquire-timeout:10s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${lostark.api.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${lostark.api.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${lostark.api.read-timeout:10s}")
+    private Duration readTimeout;
+
+    // armories 전체 응답은 100~300KB → WebClient 기본값(256KB)으로는 부족
+    @Value("${lostark.api.max-in-memory-size:2MB}")
+    private DataSize maxInMemorySize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider lostarkConnectionProvider() {
+        return ConnectionProvider.builder("lostark-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient lostarkWebClient(WebClient.Builder builder, ConnectionProvider lostarkConnectionProvider,
+                                      LostarkRateLimiter lostarkRateLimiter, ExternalApiGuard guard) {
+        HttpClient httpClient = HttpClient.create(lostarkConnectionProvider)
+                // 기존 RestTemplate과 동일하게 JVM 프록시 설정(http(s).proxyHost)을 따른다
+                .proxyWithSystemProperties()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .doOnConnected(conn -> conn.addHandlerLast(
+                        new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+
+        return builder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                // 먼저 등록한 필터가 바깥: 토큰 대기/429 재시도는 guard 밖에서, HTTP 교환 한 번씩만 bulkhead/서킷 안에서
+                .filter(lostarkRateLimiter)
+                .filter(guard.exchangeFilter(ExternalApiGuard.LOSTARK))
+                .codecs(c -> c.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
+                .build();
+    }
+}
@@ -1,24 +1,42 @@
 package com.example.Loark.Controller;
 
+import com.example.Loark.DTO.ArmorySection;
+import com.example.Loark.DTO.CombatRecordField;
+import com.example.Loark.DTO.CombatRecordFilter;
+import com.example.Loark.DTO.CombatSummaryDto;
 import com.example.Loark.DTO.FactGateMetricsDto;
+import com.example.Loark.DTO.LoaSiblings;
 import com.example.Loark.Entity.CharacterSpec;
 import com.example.Loark.Entity.User;
 import com.example.Loark.Repository.CharacterRepository;
+import com.example.Loark.Repository.FactGateMetricsRepository;
+import com.example.Loark.Repository.SpecTimelineStore;
 import com.example.Loark.Repository.UserRepository;
 import com.example.Loark.Service.CharacterService;
+import com.example.Loark.Service.CharacterSummaryService;
+import com.example.Loark.Service.ExternalApiUnavailableException;
 import com.example.Loark.Service.LostarkApiClient;
+import com.example.Loark.Service.SpecDiff;
+import com.example.Loark.Service.SpecTimeIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static com.example.Loark.Service.CharacterMapper.toDto;
 
@@ -26,45 +44,186 @@ import static com.example.Loark.Service.CharacterMapper.toDto;
 @RequiredArgsConstructor
 @RequestMapping("/api/characters")
 public class CharacterController {
+    // 브라우저가 저장은 하되 매번 ETag 로 재검증하도록 (지정하지 않으면 Spring Security 가 no-store 를 붙임)
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+    private static final CacheControl REVALIDATE_PRIVATE = CacheControl.noCache().cachePrivate();
+
     private final CharacterRepository characterRepo;
     private final UserRepository userRepository;
     private final CharacterService characterService;
     private final LostarkApiClient lostarkApi;
+    private final CharacterSummaryService characterSummaryService;
 
+    /**
+     * 스펙 조회는 스냅샷 id 를 ETag 로, 스냅샷 시각을 Last-Modified 로 씁니다.
+     * 최신 스냅샷 포인터(또는 스냅샷 시각 인덱스)만으로 304 여부를 정하므로 바뀌지 않았으면 스펙 본문을 읽지 않습니다.
+     */
     @GetMapping("/{characterName}/spec/latest")
-    public ResponseEntity<CharacterSpec> getLatestCharacterSpec(@PathVariable String characterName) {
-        Optional<CharacterSpec> specOpt = characterService.getLatestCharacterSpec(characterName);
-        return specOpt.map(ResponseEntity::ok)
+    public ResponseEntity<CharacterSpec> getLatestCharacterSpec(@PathVariable String characterName, WebRequest request) {
+        return characterService.findLatestSpecVersion(characterName)
+                .map(version -> specResponse(version, request,
+                        specId -> characterService.getLatestCharacterSpec(characterName, specId)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{characterName}/spec")
     public ResponseEntity<CharacterSpec> getCharacterSpecByDate(
             @PathVariable String characterName,
-            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        Optional<CharacterSpec> specOpt = characterService.getCharacterSpecByDate(characterName, date);
-        return specOpt.map(ResponseEntity::ok)
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+        return characterService.findSpecVersionByDate(characterName, date)
+                .map(version -> specResponse(version, request,
+                        specId -> characterService.getCharacterSpec(characterName, specId)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 아이템 레벨/전투력/아크패시브 이름의 시간 흐름 (오래된 순).
+     * resolution(hour/day/week) 을 주면 구간마다 마지막 스냅샷만 남기고, 다음 페이지는 응답의 next 를 cursor 로 넘깁니다.
+     */
+    @GetMapping("/{characterName}/spec/timeline")
+    public ResponseEntity<?> getSpecTimeline(
+            @PathVariable String characterName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String resolution,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limit) {
+        try {
+            SpecTimelineStore.Resolution res = resolution == null ? null : parseResolution(resolution);
+            SpecTimelineStore.Cursor after = cursor == null ? null : SpecTimelineStore.Cursor.parse(cursor);
+            return characterService.getSpecTimeline(characterName, from, to, res, after, limit)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private static SpecTimelineStore.Resolution parseResolution(String value) {
+        try {
+            return SpecTimelineStore.Resolution.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("resolution 은 hour, day, week 중 하나여야 합니다.");
+        }
+    }
+
+    /**
+     * 두 스냅샷(spec id)의 슬롯별 차이. 바뀐 슬롯과 그 안의 바뀐 값만 내려줍니다.
+     * 스냅샷은 바뀌지 않으므로 같은 from/to 쌍은 ETag 만으로 304 를 줍니다.
+     * 단, 두 스냅샷이 이 캐릭터의 것인지 먼저 확인합니다. (없는 id 나 다른 캐릭터의 id 에 304 를 주지 않도록)
+     */
+    @GetMapping("/{characterName}/spec/diff")
+    public ResponseEntity<SpecDiff.Result> diffCharacterSpecs(@PathVariable String characterName,
+                                                              @RequestParam("from") Long fromSpecId,
+                                                              @RequestParam("to") Long toSpecId,
+                                                              WebRequest request) {
+        if (!characterService.hasOwnSpecs(characterName, fromSpecId, toSpecId)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified("\"diff-" + fromSpecId + "-" + toSpecId + "\"")) {
+            return notModified(REVALIDATE);
+        }
+        return characterService.diffCharacterSpecs(characterName, fromSpecId, toSpecId)
+                .map(diff -> ResponseEntity.ok().cacheControl(REVALIDATE).body(diff))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<CharacterSpec> specResponse(SpecTimeIndex.Point version, WebRequest request,
+                                                       Function<Long, Optional<CharacterSpec>> body) {
+        if (request.checkNotModified("\"spec-" + version.specId() + "\"", toEpochMilli(version.updatedAt()))) {
+            return notModified(REVALIDATE);
+        }
+        return body.apply(version.specId())
+                .map(spec -> ResponseEntity.ok().cacheControl(REVALIDATE).body(spec))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
      * 특정 캐릭터의 모든 전투 기록을 조회합니다.
+     * 권한 확인 뒤 기록 수/최대 id/최근 기록 시각으로 304 여부를 먼저 정하고, 바뀐 경우에만 목록을 읽습니다.
      */
     @GetMapping("/{characterName}/combat-records")
     public ResponseEntity<?> getCombatRecordsForCharacter(@PathVariable String characterName,
-                                                          @AuthenticationPrincipal User me) {
+                                                          @AuthenticationPrincipal User me,
+                                                          WebRequest request) {
         if (me == null) {
             return ResponseEntity.status(401).body("인증이 필요합니다.");
         }
 
         try {
+            FactGateMetricsRepository.RecordsVersion version = characterService.getCombatRecordsVersion(characterName, me);
+            String etag = "\"rec-" + version.count() + "-" + version.maxId() + "\"";
+            long lastModified = version.lastTs() != null ? version.lastTs().toEpochMilli() : -1;
+            if (request.checkNotModified(etag, lastModified)) {
+                return notModified(REVALIDATE_PRIVATE);
+            }
             List<FactGateMetricsDto> combatRecords = characterService.getCharacterCombatRecords(characterName, me);
-            return ResponseEntity.ok(combatRecords);
+            return ResponseEntity.ok().cacheControl(REVALIDATE_PRIVATE).body(combatRecords);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 전투 기록을 페이지로 조회합니다. (최근 순, 다음 페이지는 응답의 next 를 cursor 로)
+     * fields 에 필드 이름을 쉼표로 주면 그 열만 읽습니다. (id, ts 는 항상 포함)
+     */
+    @GetMapping("/{characterName}/combat-records/page")
+    public ResponseEntity<?> getCombatRecordPage(
+            @PathVariable String characterName,
+            @AuthenticationPrincipal User me,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String raid,
+            @RequestParam(required = false) Short gate,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (me == null) {
+            return ResponseEntity.status(401).body("인증이 필요합니다.");
+        }
+
+        try {
+            var page = characterService.getCharacterCombatRecordPage(characterName, me,
+                    new CombatRecordFilter(raid, gate, difficulty, from, to),
+                    CombatRecordField.parse(fields),
+                    cursor == null ? null : FactGateMetricsRepository.Cursor.parse(cursor),
+                    limit);
+            return ResponseEntity.ok().cacheControl(REVALIDATE_PRIVATE).body(page);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 레이드 × 관문 × 난이도별 전투 기록 요약 (기록 수, 최고/평균/표준편차/중앙값 DPS, 최단 클리어 시간).
+     * 미리 집계된 값이라 기록 수와 상관없이 빠르지만, 최근 기록은 집계 주기만큼 늦게 반영됩니다.
+     */
+    @GetMapping("/{characterName}/combat-records/summary")
+    public ResponseEntity<?> getCombatSummary(@PathVariable String characterName,
+                                              @AuthenticationPrincipal User me) {
+        if (me == null) {
+            return ResponseEntity.status(401).body("인증이 필요합니다.");
+        }
+
+        try {
+            List<CombatSummaryDto> summary = characterService.getCombatSummary(characterName, me);
+            return ResponseEntity.ok().cacheControl(REVALIDATE_PRIVATE).body(summary);
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    private static <T> ResponseEntity<T> notModified(CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
     /**
      * 특정 전투 기록을 삭제합니다.
      */
@@ -92,10 +251,17 @@ public class CharacterController {
             return ResponseEntity.status(401).body("인증이 필요합니다.");
         }
         try {
-            characterService.saveCharacterSpec(me, characterName);
+            var result = characterService.saveCharacterSpec(me, characterName);
+            if (result.isStale()) {
+                return ResponseEntity.ok(Map.of(
+                        "message", "로스트아크 API가 일시적으로 불안정하여 마지막으로 저장된 스펙 정보를 반환합니다.",
+                        "spec", result.getSpec()));
+            }
             return ResponseEntity.ok(characterName + " 캐릭터의 스펙 정보가 저장되었습니다.");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(e.getMessage());
+        } catch (ExternalApiUnavailableException e) {
+            return ResponseEntity.status(503).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(500).body("스펙 정보 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
@@ -130,11 +296,18 @@ public class CharacterController {
             return ResponseEntity.ok("저장 완료: 신규 " + inserted + "명, 중복 " + duplicated + "명, 오류 " + error + "명 (대표: " + main + ")");
         }
 
+        // 아직 저장되지 않은 캐릭터의 armories를 한 번에 병렬 조회해 둔다
+        var newNames = siblings.stream()
+                .map(LoaSiblings::getCharacterName)
+                .filter(name -> !characterRepo.existsByUserAndName(me, name))
+                .toList();
+        Map<String, String> armories = lostarkApi.fetchArmoriesAsync(apiKey, newNames, ArmorySection.SPEC).block();
+
         for (var sib : siblings) {
             String name = sib.getCharacterName();
             boolean setMain = main.equalsIgnoreCase(name);
             try {
-                characterService.insertOnlyFromProfileWithArkPassive(me, name, setMain);
+                characterService.insertOnlyFromProfileWithArkPassive(me, name, setMain, armories.get(name));
                 inserted++;
             } catch (IllegalStateException dup) {
                 duplicated++;
@@ -174,9 +347,11 @@ public class CharacterController {
     public ResponseEntity<?> getMyCharacters(@AuthenticationPrincipal User me) {
         if (me == null) return ResponseEntity.status(401).body("인증 필요");
 
-        var list = characterRepo.findAllByUserOrderByMainDescUpdatedAtDesc(me)
-                .stream()
-                .map(toDto)
+        var characters = characterRepo.findAllByUserOrderByMainDescUpdatedAtDesc(me);
+        var summaries = characterSummaryService.findByCharacterIds(
+                characters.stream().map(c -> c.getCharacterId()).toList());
+        var list = characters.stream()
+                .map(c -> toDto(c, summaries.get(c.getCharacterId())))
                 .toList();
 
         return ResponseEntity.ok(list);
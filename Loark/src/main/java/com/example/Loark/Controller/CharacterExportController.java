@@ -0,0 +1,82 @@
+package com.example.Loark.Controller;
+
+import com.example.Loark.Entity.User;
+import com.example.Loark.Service.CharacterExportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/characters")
+public class CharacterExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final CharacterExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    // 내보내기는 비동기 요청이라 이 요청에만 기본 타임아웃(spring.mvc.async.request-timeout)보다 길게 줌
+    @Value("${character.export.timeout:10m}")
+    private Duration exportTimeout;
+
+    /**
+     * 캐릭터의 스펙 스냅샷 전체 + 전투 기록 전체를 gzip NDJSON 파일로 내려받습니다. (본인 또는 친구만 가능)
+     */
+    @GetMapping("/{characterName}/export")
+    public ResponseEntity<StreamingResponseBody> exportCharacterHistory(@PathVariable String characterName,
+                                                                        @AuthenticationPrincipal User me,
+                                                                        WebRequest request) {
+        if (me == null) {
+            return error(HttpStatus.UNAUTHORIZED, "인증이 필요합니다.");
+        }
+
+        StreamingResponseBody body;
+        try {
+            body = exportService.export(characterName, me);
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        return ResponseEntity.ok()
+                .contentType(GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(characterName + ".ndjson.gz", StandardCharsets.UTF_8)
+                        .build().toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    /**
+     * 반환 타입이 ResponseEntity<StreamingResponseBody> 여야 본문이 비동기 스트림으로 처리되므로,
+     * 오류 응답도 같은 타입으로 ({"error": ...} JSON) 만듭니다.
+     */
+    private ResponseEntity<StreamingResponseBody> error(HttpStatus status, String message) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(Map.of("error", message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(out -> out.write(body));
+    }
+}
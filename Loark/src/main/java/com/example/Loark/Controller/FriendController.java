@@ -3,12 +3,9 @@ package com.example.Loark.Controller;
 import com.example.Loark.DTO.BlockRequest;
 import com.example.Loark.DTO.FriendRequest;
 import com.example.Loark.DTO.FriendResponse;
-import com.example.Loark.Entity.Character;
-import com.example.Loark.Entity.CharacterSpec;
 import com.example.Loark.Entity.Friend_Memo;
 import com.example.Loark.Entity.User;
-import com.example.Loark.Repository.CharacterRepository;
-import com.example.Loark.Repository.CharacterSpecRepository;
+import com.example.Loark.Service.CharacterSummaryService;
 import com.example.Loark.Service.FriendService;
 import com.example.Loark.Entity.Friend;
 import lombok.RequiredArgsConstructor;
@@ -21,17 +18,14 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.domain.Sort;
 
-import java.math.BigDecimal;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class FriendController {
     private final FriendService friendService;
-    private final CharacterRepository characterRepository;
-    private final CharacterSpecRepository characterSpecRepository; // 의존성 추가
+    private final CharacterSummaryService characterSummaryService;
 
     @PostMapping("/friends/request")
     public ResponseEntity<String> sendRequest(
@@ -95,7 +89,10 @@ public class FriendController {
 
         Pageable safePageable = remapSort(pageable);
         Page<Friend> page = friendService.list(me.getUserId(), status, query, safePageable);
-        Page<FriendResponse> dtoPage = page.map(f -> toDto(f, me.getUserId()));
+        // 페이지의 대표 캐릭터 정보를 한 번에 조회 (스펙 요약 테이블만 읽음)
+        Map<Long, CharacterSummaryService.MainCharacter> mains = characterSummaryService.findMainCharacters(
+                page.map(f -> other(f, me.getUserId())).getContent());
+        Page<FriendResponse> dtoPage = page.map(f -> toDto(f, me.getUserId(), mains));
         return ResponseEntity.ok(dtoPage);
     }
 
@@ -142,31 +139,17 @@ public class FriendController {
         return ResponseEntity.ok("메모가 삭제되었습니다.");
     }
 
-    private FriendResponse toDto(Friend f, Long me) {
-        boolean iAmRequester = f.getRequester().getUserId().equals(me);
-        User other = iAmRequester ? f.getTarget() : f.getRequester();
+    private static User other(Friend f, Long me) {
+        return f.getRequester().getUserId().equals(me) ? f.getTarget() : f.getRequester();
+    }
+
+    private FriendResponse toDto(Friend f, Long me, Map<Long, CharacterSummaryService.MainCharacter> mains) {
+        User other = other(f, me);
 
         Friend_Memo myMemo = friendService.findMyMemo(me, f.getFriendId());
 
         String mainCharacterName = other.getMainCharacter();
-        String characterClass = null;
-        String server = null;
-        BigDecimal itemLevel = null;
-
-        if (mainCharacterName != null && !mainCharacterName.isBlank()) {
-            Optional<Character> characterOpt = characterRepository.findByName(mainCharacterName);
-            if (characterOpt.isPresent()) {
-                Character character = characterOpt.get();
-                characterClass = character.getClazz();
-                server = character.getServer();
-
-                // 최신 스펙에서 아이템 레벨 조회 (메서드 이름 수정)
-                Optional<CharacterSpec> specOpt = characterSpecRepository.findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(character.getCharacterId());
-                if (specOpt.isPresent()) {
-                    itemLevel = specOpt.get().getItemLevel();
-                }
-            }
-        }
+        CharacterSummaryService.MainCharacter main = mains.get(other.getUserId());
 
         return FriendResponse.builder()
                 .friendId(f.getFriendId())
@@ -178,9 +161,9 @@ public class FriendController {
                 .friendMemo(myMemo != null ? myMemo.getMemoText() : null)
                 .friendMemoUpdatedAt(myMemo != null ? myMemo.getUpdatedAt().atOffset(java.time.ZoneOffset.systemDefault().getRules().getOffset(myMemo.getUpdatedAt())) : null)
                 .mainCharacterName(mainCharacterName)
-                .characterClass(characterClass)
-                .server(server)
-                .itemLevel(itemLevel)
+                .characterClass(main != null ? main.characterClass() : null)
+                .server(main != null ? main.server() : null)
+                .itemLevel(main != null ? main.itemLevel() : null)
                 .build();
     }
 
@@ -1,9 +1,12 @@
 package com.example.Loark.Controller;
 
+import com.example.Loark.Service.ExternalApiUnavailableException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -54,4 +57,17 @@ public class GlobalExceptionHandler {
                 .status(ex.getStatusCode()) // FastAPI의 상태 코드를 그대로 사용
                 .body(Map.of("error", detailMessage)); // 프론트엔드에서 사용하기 쉽게 Map 형태로 반환
     }
+
+    /**
+     * 외부 API 서킷이 열려 있거나 동시 호출 한도를 넘어 호출하지 못한 경우 503으로 응답합니다.
+     * @param ex 발생한 예외 객체
+     * @return 클라이언트에게 보낼 ResponseEntity
+     */
+    @ExceptionHandler(ExternalApiUnavailableException.class)
+    public ResponseEntity<Object> handleExternalApiUnavailable(ExternalApiUnavailableException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(Map.of("error", ex.getMessage()));
+    }
 }
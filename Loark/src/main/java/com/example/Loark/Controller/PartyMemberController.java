@@ -2,10 +2,8 @@ package com.example.Loark.Controller;
 
 import com.example.Loark.DTO.PartyMemberResponse;
 import com.example.Loark.Entity.*;
-import com.example.Loark.Entity.Character;
-import com.example.Loark.Repository.CharacterRepository;
-import com.example.Loark.Repository.CharacterSpecRepository;
 import com.example.Loark.Repository.PartyRepository;
+import com.example.Loark.Service.CharacterSummaryService;
 import com.example.Loark.Service.PartyMemberService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -13,10 +11,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,8 +24,7 @@ public class PartyMemberController {
 
     private final PartyMemberService service;
     private final PartyRepository parties;
-    private final CharacterRepository characterRepository;
-    private final CharacterSpecRepository characterSpecRepository;
+    private final CharacterSummaryService characterSummaryService;
 
     @Data
     static class AddMemberRequest {
@@ -42,33 +38,19 @@ public class PartyMemberController {
         Party party = parties.findById(partyId)
                 .orElseThrow(() -> new IllegalArgumentException("공대를 찾을 수 없습니다."));
         List<PartyMember> all = service.list(partyId);
+        Map<Long, CharacterSummaryService.MainCharacter> mains = characterSummaryService.findMainCharacters(
+                all.stream().map(PartyMember::getUser).toList());
         List<PartyMemberResponse> dtoList = all.stream()
-                .map(member -> toMemberDto(member, party.getOwner().getUserId()))
+                .map(member -> toMemberDto(member, party.getOwner().getUserId(), mains))
                 .collect(Collectors.toList());
         return ResponseEntity.ok(dtoList);
     }
 
-    private PartyMemberResponse toMemberDto(PartyMember member, Long ownerId) {
+    private PartyMemberResponse toMemberDto(PartyMember member, Long ownerId,
+                                            Map<Long, CharacterSummaryService.MainCharacter> mains) {
         User user = member.getUser();
         String mainCharacterName = user.getMainCharacter();
-        String server = null;
-        BigDecimal itemLevel = null;
-        String characterClass = null;
-
-        if (mainCharacterName != null && !mainCharacterName.isBlank()) {
-            Optional<Character> characterOpt = characterRepository.findByName(mainCharacterName);
-            if (characterOpt.isPresent()) {
-                Character character = characterOpt.get();
-                server = character.getServer();
-                characterClass = character.getClazz();
-
-                // 최신 스펙에서 아이템 레벨 조회 (메서드 이름 수정)
-                Optional<CharacterSpec> specOpt = characterSpecRepository.findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(character.getCharacterId());
-                if (specOpt.isPresent()) {
-                    itemLevel = specOpt.get().getItemLevel();
-                }
-            }
-        }
+        CharacterSummaryService.MainCharacter main = mains.get(user.getUserId());
 
         return PartyMemberResponse.builder()
                 .userId(user.getUserId())
@@ -80,9 +62,9 @@ public class PartyMemberController {
                 .leftAt(member.getLeftAt() != null ? member.getLeftAt().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME) : null)
                 .owner(user.getUserId().equals(ownerId))
                 .mainCharacterName(mainCharacterName)
-                .server(server)
-                .itemLevel(itemLevel)
-                .characterClass(characterClass)
+                .server(main != null ? main.server() : null)
+                .itemLevel(main != null ? main.itemLevel() : null)
+                .characterClass(main != null ? main.characterClass() : null)
                 .build();
     }
 
@@ -0,0 +1,43 @@
+package com.example.Loark.DTO;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * armories API 의 ?filters= 값. 필요한 섹션만 한 번의 요청으로 받아올 때 사용합니다.
+ */
+public enum ArmorySection {
+    PROFILES("profiles"),
+    EQUIPMENT("equipment"),
+    AVATARS("avatars"),
+    COMBAT_SKILLS("combat-skills"),
+    ENGRAVINGS("engravings"),
+    CARDS("cards"),
+    GEMS("gems"),
+    COLOSSEUMS("colosseums"),
+    COLLECTIBLES("collectibles"),
+    ARKPASSIVE("arkpassive");
+
+    /** CharacterSpec 스냅샷을 채우는 데 필요한 섹션 (아바타/증명의 전장/수집품 제외) */
+    public static final Set<ArmorySection> SPEC = Collections.unmodifiableSet(
+            EnumSet.of(PROFILES, EQUIPMENT, COMBAT_SKILLS, ENGRAVINGS, CARDS, GEMS, ARKPASSIVE));
+
+    private final String filter;
+
+    ArmorySection(String filter) {
+        this.filter = filter;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    /** 섹션 집합을 filters 파라미터 값으로 변환 (enum 선언 순서로 정렬되어 캐시 키로도 안정적) */
+    public static String toFilter(Set<ArmorySection> sections) {
+        return EnumSet.copyOf(sections).stream()
+                .map(ArmorySection::getFilter)
+                .collect(Collectors.joining("+"));
+    }
+}
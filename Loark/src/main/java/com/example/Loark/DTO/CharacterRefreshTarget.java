@@ -0,0 +1,10 @@
+package com.example.Loark.DTO;
+
+/**
+ * 스펙 자동 갱신 대상 (characters + 소유자의 API Key 만 읽는 프로젝션)
+ */
+public interface CharacterRefreshTarget {
+    Long getCharacterId();
+    String getName();
+    String getApiKey();
+}
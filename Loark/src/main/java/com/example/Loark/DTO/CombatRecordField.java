@@ -0,0 +1,82 @@
+package com.example.Loark.DTO;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 전투 기록 목록의 ?fields= 값. 요청한 필드의 열만 SELECT 합니다.
+ * 이름은 FactGateMetricsDto 의 필드명과 같고, id 와 ts 는 페이지 커서라 항상 포함됩니다.
+ */
+public enum CombatRecordField {
+    RAID_NAME("raidName", "raid_name", Type.TEXT),
+    GATE_NUMBER("gateNumber", "gate_number", Type.SHORT),
+    DIFFICULTY("difficulty", "difficulty", Type.TEXT),
+    PLAY_TIME("playTime", "play_time", Type.DURATION),
+    CHARACTER_ID("characterId", "character_id", Type.TEXT),
+    CLASS_NAME("className", "class_name", Type.TEXT),
+    ROLE("role", "role", Type.TEXT),
+    DPS("dps", "dps", Type.DOUBLE),
+    SYNERGY_EFFICIENCY_RATE("synergyEfficiencyRate", "synergy_efficiency_rate", Type.DOUBLE),
+    BACK_ATTACK_RATE("backAttackRate", "back_attack_rate", Type.DOUBLE),
+    HEAD_ATTACK_RATE("headAttackRate", "head_attack_rate", Type.DOUBLE),
+    CRIT_RATE("critRate", "crit_rate", Type.DOUBLE),
+    TOTAL_DAMAGE("totalDamage", "total_damage", Type.DECIMAL),
+    SUPPORT_DPS("supportDps", "support_dps", Type.DOUBLE),
+    SUPPORT_ATTACK_BUFF_EFFECTIVENESS_RATE("supportAttackBuffEffectivenessRate", "support_attack_buff_effectiveness_rate", Type.DOUBLE),
+    SUPPORT_BRAND_BUFF_EFFECTIVENESS_RATE("supportBrandBuffEffectivenessRate", "support_brand_buff_effectiveness_rate", Type.DOUBLE),
+    SUPPORT_DAMAGE_BUFF2_EFFECTIVENESS_RATE("supportDamageBuff2EffectivenessRate", "support_damage_buff2_effectiveness_rate", Type.DOUBLE),
+    SUPPORT_DAMAGE_INCREASE_EFFECTIVENESS_RATE("supportDamageIncreaseEffectivenessRate", "support_damage_increase_effectiveness_rate", Type.DOUBLE),
+    SUPPORT_ASSIST_TOTAL_DAMAGE("supportAssistTotalDamage", "support_assist_total_damage", Type.DECIMAL),
+    COUNTER_SUCCESS("counterSuccess", "counter_success", Type.INT),
+    STAGGER_DAMAGE("staggerDamage", "stagger_damage", Type.INT),
+    PARTY_HEAL_AMOUNT("partyHealAmount", "party_heal_amount", Type.DECIMAL);
+
+    /** DB 값을 응답 값으로 바꿀 때의 형식 (FactGateMetricsDto 의 필드 타입과 같음) */
+    public enum Type { TEXT, SHORT, INT, DOUBLE, DECIMAL, DURATION }
+
+    private static final Map<String, CombatRecordField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(CombatRecordField::getName, Function.identity()));
+
+    private final String name;
+    private final String column;
+    private final Type type;
+
+    CombatRecordField(String name, String column, Type type) {
+        this.name = name;
+        this.column = column;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * "dps,critRate" 같은 값을 필드 집합으로 (비어 있으면 전체).
+     * @throws IllegalArgumentException 모르는 필드가 있는 경우
+     */
+    public static Set<CombatRecordField> parse(String fields) {
+        if (fields == null || fields.isBlank()) return EnumSet.allOf(CombatRecordField.class);
+        Set<CombatRecordField> parsed = EnumSet.noneOf(CombatRecordField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty() || trimmed.equals("id") || trimmed.equals("ts")) continue;
+            CombatRecordField field = BY_NAME.get(trimmed);
+            if (field == null) throw new IllegalArgumentException("알 수 없는 필드입니다: " + trimmed);
+            parsed.add(field);
+        }
+        return parsed;
+    }
+}
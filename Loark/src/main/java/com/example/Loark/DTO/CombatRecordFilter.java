@@ -0,0 +1,10 @@
+package com.example.Loark.DTO;
+
+import java.time.Instant;
+
+/**
+ * 전투 기록 목록 조건. null 인 항목은 조건에서 뺍니다.
+ * @param from 포함, to 는 제외
+ */
+public record CombatRecordFilter(String raidName, Short gateNumber, String difficulty, Instant from, Instant to) {
+}
@@ -0,0 +1,47 @@
+package com.example.Loark.DTO;
+
+import com.example.Loark.Entity.CombatRollup;
+import com.example.Loark.Util.RunningStats;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 레이드 × 관문 × 난이도별 전투 기록 요약 (combat_rollups 한 행)
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CombatSummaryDto {
+    private String raidName;
+    private Short gateNumber;
+    private String difficulty;
+    private long recordCount;
+    private Double bestDps;
+    private Double meanDps;
+    private Double stddevDps;   // 표본 표준편차 (dps 기록이 2개 미만이면 0)
+    private Double medianDps;
+    private Duration bestClearTime;
+    private Instant lastRecordAt;
+
+    /** @param medianDps 요약 조회 때 따로 구한 중앙값 (집계에는 없음) */
+    public static CombatSummaryDto from(CombatRollup rollup, Double medianDps) {
+        Double stddev = rollup.getDpsCount() == 0 ? null
+                : RunningStats.of(rollup.getDpsCount(), rollup.getMeanDps(), rollup.getM2Dps()).stddev();
+        return CombatSummaryDto.builder()
+                .raidName(rollup.getId().getRaidName())
+                .gateNumber(rollup.getId().getGateNumber())
+                .difficulty(rollup.getId().getDifficulty())
+                .recordCount(rollup.getRecordCount())
+                .bestDps(rollup.getBestDps())
+                .meanDps(rollup.getMeanDps())
+                .stddevDps(stddev)
+                .medianDps(medianDps)
+                .bestClearTime(rollup.getBestClearSeconds() == null ? null
+                        : Duration.ofSeconds(rollup.getBestClearSeconds()))
+                .lastRecordAt(rollup.getLastRecordAt())
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.Loark.DTO;
+
+/**
+ * 갱신 시점이 된 캐릭터와 활동 신호. 각 *AgeSeconds 는 해당 활동이 없으면 null.
+ */
+public record RefreshCandidate(
+        Long characterId,
+        String name,
+        String apiKey,
+        int unchangedPolls,
+        Long lastCombatPower,
+        double overdueSeconds,
+        Double viewAgeSeconds,
+        Double loginAgeSeconds,
+        Double uploadAgeSeconds,
+        Double partyAgeSeconds,
+        Double updatedAgeSeconds
+) implements CharacterRefreshTarget {
+
+    @Override
+    public Long getCharacterId() {
+        return characterId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public RefreshCandidate withViewAge(Double seconds) {
+        return new RefreshCandidate(characterId, name, apiKey, unchangedPolls, lastCombatPower, overdueSeconds,
+                seconds, loginAgeSeconds, uploadAgeSeconds, partyAgeSeconds, updatedAgeSeconds);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.Loark.DTO;
+
+import java.util.Map;
+
+/**
+ * 최신 스냅샷의 지문만 읽는 프로젝션 (jsonb 슬롯 컬럼은 읽지 않음)
+ */
+public interface SpecFingerprintView {
+    Long getSpecId();
+    Map<String, String> getSectionHashes();
+}
@@ -0,0 +1,11 @@
+package com.example.Loark.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스냅샷 id 와 시각만 읽는 프로젝션
+ */
+public interface SpecTimePoint {
+    Long getSpecId();
+    LocalDateTime getUpdatedAt();
+}
@@ -39,6 +39,11 @@ public class Character {
     @Column(name="is_main", nullable=false)
     private boolean main;
 
+    // 최신 스냅샷 id. LatestSpecPointerListener 가 스펙 INSERT 때 SQL 로 올리므로 엔티티 저장으로는 쓰지 않음
+    @JsonIgnore
+    @Column(name="latest_spec_id", insertable=false, updatable=false)
+    private Long latestSpecId;
+
     @PrePersist @PreUpdate
     public void touch() {
         this.updatedAt = LocalDateTime.now();
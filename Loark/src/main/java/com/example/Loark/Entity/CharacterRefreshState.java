@@ -0,0 +1,53 @@
+package com.example.Loark.Entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 캐릭터별 스펙 자동 갱신 일정.
+ * next_refresh_at 이 지난 캐릭터만 갱신 후보가 되며, 전투력이 연속으로 그대로면 간격을 지수적으로 늘립니다.
+ * 여러 인스턴스가 동시에 돌 때는 lease_owner/lease_expires_at 으로 한 캐릭터를 한 인스턴스만 가져갑니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "character_refresh_state", indexes = {
+        @Index(name = "ix_refresh_state_next", columnList = "next_refresh_at")
+})
+public class CharacterRefreshState {
+
+    // characters.character_id 와 같은 값 (캐릭터 삭제 시 정리 작업에서 함께 지움)
+    @Id
+    @Column(name = "character_id")
+    private Long characterId;
+
+    @Column(name = "next_refresh_at", nullable = false)
+    private LocalDateTime nextRefreshAt;
+
+    @Column(name = "last_refreshed_at")
+    private LocalDateTime lastRefreshedAt;
+
+    // 전투력 변화 없이 지나간 연속 조회 횟수
+    @Column(name = "unchanged_polls", nullable = false)
+    private int unchangedPolls;
+
+    @Column(name = "last_combat_power")
+    private Long lastCombatPower;
+
+    // 마지막으로 계산한 활동도(0~1), 확인용
+    @Column(name = "priority", nullable = false)
+    private double priority;
+
+    // 이 캐릭터를 갱신 중인 인스턴스 (없으면 null)
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    // 이 시각이 지나면 (인스턴스가 죽었다고 보고) 다른 인스턴스가 다시 가져갈 수 있음
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+}
@@ -1,23 +1,29 @@
 package com.example.Loark.Entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.type.SqlTypes;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "character_specs")
+@EntityListeners({SpecFragmentListener.class, SpecSummaryListener.class, LatestSpecPointerListener.class})
+@Table(name = "character_specs",
+        indexes = @Index(name = "ix_character_specs_character_updated", columnList = "character_id, updated_at"))
 public class CharacterSpec {
 
     @Id
@@ -39,188 +45,357 @@ public class CharacterSpec {
     @Column(name="character_ark_passive", length=50)
     private String arkPassive;
 
+    // 이하 jsonb 슬롯은 지연 로딩 (build.gradle 의 바이트코드 향상).
+    // 아이템 레벨/전투력/아크 패시브만 쓰는 조회는 슬롯 컬럼을 읽지 않고, 슬롯 하나에 처음 접근하면 그 슬롯의 섹션(@LazyGroup = SpecSection)만 읽습니다.
+
     // 장비(Equip)
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("equipment")
     @Column(name = "equip_helmet", columnDefinition = "jsonb")
     private String equipHelmet;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("equipment")
     @Column(name = "equip_shoulders", columnDefinition = "jsonb")
     private String equipShoulders;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("equipment")
     @Column(name = "equip_chest", columnDefinition = "jsonb")
     private String equipChest;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("equipment")
     @Column(name = "equip_legs", columnDefinition = "jsonb")
     private String equipLegs;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("equipment")
     @Column(name = "equip_gloves", columnDefinition = "jsonb")
     private String equipGloves;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("equipment")
     @Column(name = "equip_weapon", columnDefinition = "jsonb")
     private String equipWeapon;
 
     // 장신구(Accessory)
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("accessory")
     @Column(name = "acc_earring1", columnDefinition = "jsonb")
     private String accEarring1;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("accessory")
     @Column(name = "acc_earring2", columnDefinition = "jsonb")
     private String accEarring2;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("accessory")
     @Column(name = "acc_ring1", columnDefinition = "jsonb")
     private String accRing1;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("accessory")
     @Column(name = "acc_ring2", columnDefinition = "jsonb")
     private String accRing2;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("accessory")
     @Column(name = "acc_necklace", columnDefinition = "jsonb")
     private String accNecklace;
 
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("accessory")
     @Column(name = "acc_bracelet", columnDefinition = "jsonb")
     private String accBracelet;
 
     // 어빌리티 스톤
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("accessory")
     @Column(name = "ability_stone", columnDefinition = "jsonb")
     private String abilityStone;
 
     // 카드
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("card")
     @Column(name = "card_1", columnDefinition = "jsonb")
     private String card1;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("card")
     @Column(name = "card_2", columnDefinition = "jsonb")
     private String card2;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("card")
     @Column(name = "card_3", columnDefinition = "jsonb")
     private String card3;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("card")
     @Column(name = "card_4", columnDefinition = "jsonb")
     private String card4;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("card")
     @Column(name = "card_5", columnDefinition = "jsonb")
     private String card5;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("card")
     @Column(name = "card_6", columnDefinition = "jsonb")
     private String card6;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("card")
     @Column(name = "card_effect", columnDefinition = "jsonb")
     private String cardEffect;
 
     // 각인
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("engraving")
     @Column(name = "engraving_1", columnDefinition = "jsonb")
     private String engraving1;
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("engraving")
     @Column(name = "engraving_2", columnDefinition = "jsonb")
     private String engraving2;
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("engraving")
     @Column(name = "engraving_3", columnDefinition = "jsonb")
     private String engraving3;
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("engraving")
     @Column(name = "engraving_4", columnDefinition = "jsonb")
     private String engraving4;
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("engraving")
     @Column(name = "engraving_5", columnDefinition = "jsonb")
     private String engraving5;
 
     // 아크 패시브(요약 + 상세)
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("ark_passive")
     @Column(name = "ark_evolution", columnDefinition = "jsonb")
     private String arkEvolution;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("ark_passive")
     @Column(name = "ark_realization", columnDefinition = "jsonb")
     private String arkRealization;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("ark_passive")
     @Column(name = "ark_leap", columnDefinition = "jsonb")
     private String arkLeap;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("ark_passive")
     @Column(name = "ark_evolution_detail", columnDefinition = "jsonb")
     private String arkEvolutionDetail;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("ark_passive")
     @Column(name = "ark_realization_detail", columnDefinition = "jsonb")
     private String arkRealizationDetail;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("ark_passive")
     @Column(name = "ark_leap_detail", columnDefinition = "jsonb")
     private String arkLeapDetail;
 
     // 보석(최대 11개)
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_1", columnDefinition = "jsonb")
     private String gem1;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_2", columnDefinition = "jsonb")
     private String gem2;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_3", columnDefinition = "jsonb")
     private String gem3;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_4", columnDefinition = "jsonb")
     private String gem4;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_5", columnDefinition = "jsonb")
     private String gem5;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_6", columnDefinition = "jsonb")
     private String gem6;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_7", columnDefinition = "jsonb")
     private String gem7;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_8", columnDefinition = "jsonb")
     private String gem8;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_9", columnDefinition = "jsonb")
     private String gem9;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_10", columnDefinition = "jsonb")
     private String gem10;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("gem")
     @Column(name = "gem_11", columnDefinition = "jsonb")
     private String gem11;
 
     // 스킬(대표 8개)
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skill")
     @Column(name = "skill_1", columnDefinition = "jsonb")
     private String skill1;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skill")
     @Column(name = "skill_2", columnDefinition = "jsonb")
     private String skill2;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skill")
     @Column(name = "skill_3", columnDefinition = "jsonb")
     private String skill3;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skill")
     @Column(name = "skill_4", columnDefinition = "jsonb")
     private String skill4;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skill")
     @Column(name = "skill_5", columnDefinition = "jsonb")
     private String skill5;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skill")
     @Column(name = "skill_6", columnDefinition = "jsonb")
     private String skill6;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skill")
     @Column(name = "skill_7", columnDefinition = "jsonb")
     private String skill7;
+    @Convert(converter = SpecFragmentConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("skill")
     @Column(name = "skill_8", columnDefinition = "jsonb")
     private String skill8;
 
+    // 변경 감지용 지문 (SpecFingerprint). 이전 스냅샷과 모든 섹션 해시가 같으면 새 행을 만들지 않음
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 섹션 이름 -> SHA-256 (hex)
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "section_hashes", columnDefinition = "jsonb")
+    private Map<String, String> sectionHashes;
+
+    // 직전 스냅샷 대비 바뀐 섹션 (SpecSection 비트마스크, 지문 도입 전 행은 null)
+    @JsonIgnore
+    @Column(name = "changed_sections")
+    private Integer changedSections;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @JsonProperty("changedSections")
+    public Set<SpecSection> getChangedSectionSet() {
+        return changedSections == null ? null : SpecSection.fromMask(changedSections);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,46 @@
+package com.example.Loark.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 캐릭터별 최신 스펙 요약 (목록 화면용 읽기 모델).
+ * 친구/공대원/내 캐릭터 목록은 jsonb 가 많은 character_specs 대신 이 테이블만 읽습니다.
+ * 스펙이 저장될 때마다 SpecSummaryListener 가 같은 트랜잭션에서 갱신합니다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "character_spec_summary")
+public class CharacterSpecSummary {
+
+    @Id
+    @Column(name = "character_id")
+    private Long characterId;
+
+    // 요약을 만든 스냅샷 (더 오래된 스냅샷으로 덮어쓰지 않도록 비교용)
+    @Column(name = "spec_id", nullable = false)
+    private Long specId;
+
+    @Column(name = "item_level", precision = 6, scale = 2)
+    private BigDecimal itemLevel;
+
+    @Column(name = "combat_power")
+    private Long combatPower;
+
+    @Column(name = "ark_passive", length = 50)
+    private String arkPassive;
+
+    @Column(name = "character_class", length = 100)
+    private String characterClass;
+
+    @Column(name = "spec_updated_at")
+    private LocalDateTime specUpdatedAt;
+}
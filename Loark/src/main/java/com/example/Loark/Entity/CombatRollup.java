@@ -0,0 +1,63 @@
+package com.example.Loark.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * 캐릭터 × 레이드 × 관문 × 난이도별 전투 기록 집계 (프로필 요약용 읽기 모델).
+ * <p>
+ * CombatRollupService 가 fact_gate_metrics 의 새 기록(커서 이후)을 모아 누적값에 더합니다.
+ * DPS 평균/분산은 Welford 누적값(mean_dps, m2_dps)으로 두어 기존 기록을 다시 읽지 않고 갱신합니다.
+ * 중앙값은 누적 계산이 안 되므로 저장하지 않고 요약 조회 때 구합니다.
+ * 기록이 삭제되면 그 묶음을 원본에서 다시 계산합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "combat_rollups")
+public class CombatRollup {
+
+    // PK 가 (character_name, ...) 순이라 캐릭터 요약은 PK 인덱스 범위 조회 한 번
+    @EmbeddedId
+    private CombatRollupId id;
+
+    @Column(name = "record_count", nullable = false)
+    private long recordCount;
+
+    // dps 가 있는 기록 수 (평균/분산의 n)
+    @Column(name = "dps_count", nullable = false)
+    private long dpsCount;
+
+    @Column(name = "mean_dps")
+    private Double meanDps;
+
+    // 평균과의 편차 제곱합 (표본 분산 = m2 / (dps_count - 1))
+    @Column(name = "m2_dps")
+    private Double m2Dps;
+
+    @Column(name = "best_dps")
+    private Double bestDps;
+
+    // 가장 짧은 클리어 시간 (초)
+    @Column(name = "best_clear_seconds")
+    private Long bestClearSeconds;
+
+    @Column(name = "last_record_at")
+    private Instant lastRecordAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CombatRollup(CombatRollupId id) {
+        this.id = id;
+    }
+}
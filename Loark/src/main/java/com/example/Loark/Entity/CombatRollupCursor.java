@@ -0,0 +1,47 @@
+package com.example.Loark.Entity;
+
+import com.example.Loark.Repository.FactGateMetricsRepository;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 집계 작업이 어디까지 반영했는지 (fact_gate_metrics 의 (tx_id, id) 위치).
+ * 집계 반영과 기록 삭제 재계산은 이 행을 잠그고 진행하므로 서로 겹치지 않습니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "combat_rollup_cursor")
+public class CombatRollupCursor {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    // 마지막으로 반영한 기록을 넣은 트랜잭션 id (xid8 값)
+    @Column(name = "last_tx_id", nullable = false)
+    private long lastTxId;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public FactGateMetricsRepository.CommitPosition position() {
+        return new FactGateMetricsRepository.CommitPosition(lastTxId, lastId);
+    }
+
+    public void moveTo(FactGateMetricsRepository.CommitPosition position) {
+        this.lastTxId = position.txId();
+        this.lastId = position.id();
+    }
+}
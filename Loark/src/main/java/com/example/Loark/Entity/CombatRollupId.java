@@ -0,0 +1,27 @@
+package com.example.Loark.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 전투 기록 집계 단위. characterName 은 statistic.fact_gate_metrics.character_id (캐릭터 이름) 와 같은 값입니다.
+ */
+@Embeddable
+@Getter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode
+public class CombatRollupId implements Serializable {
+
+    @Column(name = "character_name", length = 100)
+    private String characterName;
+
+    @Column(name = "raid_name", length = 100)
+    private String raidName;
+
+    @Column(name = "gate_number")
+    private Short gateNumber;
+
+    @Column(name = "difficulty", length = 20)
+    private String difficulty;
+}
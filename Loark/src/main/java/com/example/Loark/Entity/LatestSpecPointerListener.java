@@ -0,0 +1,28 @@
+package com.example.Loark.Entity;
+
+import com.example.Loark.Repository.LatestSpecPointerStore;
+import com.example.Loark.Service.SpecTimeIndex;
+import jakarta.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 새 CharacterSpec 이 INSERT 되면 같은 트랜잭션에서 characters.latest_spec_id 를 옮기고,
+ * 커밋 후 이 인스턴스의 스냅샷 시각 인덱스를 버립니다.
+ * <p>
+ * SpecTimeIndex 는 리포지토리(→ entityManagerFactory)에 의존하므로, EntityManagerFactory 를 만드는 중에
+ * 생성되는 이 리스너는 호출 시점에 꺼내 씁니다. (직접 주입하면 순환 참조로 컨텍스트가 뜨지 않음)
+ */
+@RequiredArgsConstructor
+public class LatestSpecPointerListener {
+
+    private final LatestSpecPointerStore store;
+    private final ObjectProvider<SpecTimeIndex> specTimeIndex;
+
+    @PostPersist
+    void advance(CharacterSpec spec) {
+        Long characterId = spec.getCharacter().getCharacterId();
+        store.advance(characterId, spec.getSpecId());
+        specTimeIndex.getObject().invalidateAfterCommit(characterId);
+    }
+}
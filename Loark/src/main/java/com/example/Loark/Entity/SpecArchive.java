@@ -0,0 +1,44 @@
+package com.example.Loark.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 보관 파일로 옮기고 떼어낸 character_specs 월 파티션 기록.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "spec_archives")
+public class SpecArchive {
+
+    @Id
+    @Column(name = "partition_name", length = 63)
+    private String partitionName;
+
+    // 스토리지 객체 키
+    @Column(name = "archive_key", nullable = false)
+    private String archiveKey;
+
+    // [periodStart, periodEnd)
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,57 @@
+package com.example.Loark.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 보관된 스냅샷 목록 (스냅샷당 한 행, jsonb 없음).
+ * 날짜별 조회가 보관된 기간을 가리키면 어느 파일을 열어야 하는지 여기서 찾습니다.
+ * 아이템 레벨/전투력/아크패시브 이름도 함께 남겨 스펙 타임라인은 파일을 열지 않고 그립니다.
+ * (이 열들을 추가하기 전에 보관된 행은 null)
+ * 파일 안 row group 위치도 남겨 스냅샷 하나를 읽을 때 그 row group 만 받습니다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "spec_archive_catalog",
+        indexes = @Index(name = "ix_spec_archive_catalog_character_updated", columnList = "character_id, updated_at"))
+public class SpecArchiveEntry {
+
+    @Id
+    @Column(name = "spec_id")
+    private Long specId;
+
+    @Column(name = "character_id", nullable = false)
+    private Long characterId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "item_level", precision = 6, scale = 2)
+    private BigDecimal itemLevel;
+
+    @Column(name = "combat_power")
+    private Long combatPower;
+
+    @Column(name = "ark_passive", length = 50)
+    private String arkPassive;
+
+    @Column(name = "partition_name", nullable = false, length = 63)
+    private String partitionName;
+
+    // 보관 파일 안에서 이 스냅샷이 든 row group 의 위치 (압축된 바이트 기준, 범위 요청으로 그 부분만 받음)
+    // 위치를 남기기 전에 보관된 행은 null 이며, 그때는 파일 전체를 훑음
+    @Column(name = "archive_offset")
+    private Long archiveOffset;
+
+    @Column(name = "archive_length")
+    private Long archiveLength;
+}
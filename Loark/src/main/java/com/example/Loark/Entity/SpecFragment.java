@@ -0,0 +1,40 @@
+package com.example.Loark.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소(SHA-256) 기반 스펙 조각 저장소.
+ * 장비/장신구/카드/보석/스킬 JSON 은 내용이 같으면 캐릭터·스냅샷에 상관없이 한 행만 둡니다.
+ * 쓰기/읽기는 SpecFragmentStore 가 하며, 이 엔티티는 테이블 정의용입니다.
+ * 본문은 body(jsonb) 또는 body_z(사전 deflate 압축, spec.fragment.compression=deflate) 중 하나에 들어 있습니다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "spec_fragments")
+public class SpecFragment {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "body", columnDefinition = "jsonb")
+    private String body;
+
+    // [형식 1바이트][dict_id 4바이트][deflate]
+    @Column(name = "body_z")
+    private byte[] bodyZ;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
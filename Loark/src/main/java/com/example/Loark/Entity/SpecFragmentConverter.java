@@ -0,0 +1,31 @@
+package com.example.Loark.Entity;
+
+import com.example.Loark.Repository.SpecFragmentStore;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 중복 제거 대상 슬롯의 jsonb 값 &lt;-&gt; spec_fragments 참조 변환.
+ * 엔티티에는 항상 원래 JSON 이 들어 있고, DB 행에는 {@code "h:<sha256>"} 만 저장됩니다.
+ * 조각 본문 저장은 {@link SpecFragmentListener} 가 INSERT 직전에 합니다.
+ * (Hibernate 가 Spring 빈 컨테이너로 만들기 때문에 생성자 주입이 됩니다)
+ */
+@Converter
+@RequiredArgsConstructor
+public class SpecFragmentConverter implements AttributeConverter<String, String> {
+
+    private final SpecFragmentStore store;
+
+    @Override
+    public String convertToDatabaseColumn(String json) {
+        if (json == null || SpecFragmentStore.isRef(json)) return json;
+        return SpecFragmentStore.ref(json);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String columnValue) {
+        if (columnValue == null || !SpecFragmentStore.isRef(columnValue)) return columnValue;
+        return store.resolve(columnValue);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.Loark.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조각 본문 압축(deflate) 사전. 압축된 본문마다 사용한 dict_id 가 기록되므로 사전은 지우지 않습니다.
+ * 쓰기/읽기는 SpecFragmentStore 가 하며, 이 엔티티는 테이블 정의용입니다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "spec_fragment_dictionaries")
+public class SpecFragmentDictionary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "dict_id")
+    private Integer dictId;
+
+    @Column(name = "body", nullable = false)
+    private byte[] body;
+
+    // 학습에 쓴 조각 수
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
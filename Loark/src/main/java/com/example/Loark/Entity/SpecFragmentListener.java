@@ -0,0 +1,31 @@
+package com.example.Loark.Entity;
+
+import com.example.Loark.Repository.SpecFragmentStore;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CharacterSpec 저장 직전에 중복 제거 대상 슬롯의 본문을 spec_fragments 에 넣어,
+ * 행에 기록되는 참조가 항상 존재하는 조각을 가리키게 합니다.
+ */
+@RequiredArgsConstructor
+public class SpecFragmentListener {
+
+    private final SpecFragmentStore store;
+
+    @PrePersist
+    @PreUpdate
+    void storeFragments(CharacterSpec spec) {
+        List<String> bodies = new ArrayList<>();
+        for (SpecSlot slot : SpecSlot.values()) {
+            if (!slot.getSection().isDeduplicated()) continue;
+            String json = slot.get(spec);
+            if (json != null && !SpecFragmentStore.isRef(json)) bodies.add(json);
+        }
+        if (!bodies.isEmpty()) store.saveAll(bodies);
+    }
+}
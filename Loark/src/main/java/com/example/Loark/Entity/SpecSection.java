@@ -0,0 +1,48 @@
+package com.example.Loark.Entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * CharacterSpec 을 변경 감지 단위로 묶은 섹션.
+ * 섹션마다 지문(해시)을 따로 두어 새 스냅샷이 어느 부분이 바뀌어서 저장됐는지 비트마스크로 남깁니다.
+ */
+public enum SpecSection {
+    PROFILE(false),      // 아이템 레벨, 전투력, 아크패시브 이름
+    EQUIPMENT(true),
+    ACCESSORY(true),     // 장신구 + 어빌리티 스톤
+    CARD(true),
+    ENGRAVING(false),
+    ARK_PASSIVE(true),   // 툴팁 HTML 이 길어 조각 저장소(압축 모드)로 보냄
+    GEM(true),
+    SKILL(true);
+
+    // true 면 슬롯 JSON 을 spec_fragments 에 한 번만 저장하고 행에는 해시 참조만 남김 (SpecFragmentConverter)
+    private final boolean deduplicated;
+
+    SpecSection(boolean deduplicated) {
+        this.deduplicated = deduplicated;
+    }
+
+    public boolean isDeduplicated() {
+        return deduplicated;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int toMask(Set<SpecSection> sections) {
+        int mask = 0;
+        for (SpecSection section : sections) mask |= section.bit();
+        return mask;
+    }
+
+    public static Set<SpecSection> fromMask(int mask) {
+        Set<SpecSection> sections = EnumSet.noneOf(SpecSection.class);
+        for (SpecSection section : values()) {
+            if ((mask & section.bit()) != 0) sections.add(section);
+        }
+        return sections;
+    }
+}
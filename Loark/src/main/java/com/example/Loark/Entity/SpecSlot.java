@@ -0,0 +1,132 @@
+package com.example.Loark.Entity;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * CharacterSpec 의 jsonb 슬롯(컬럼) 목록.
+ * 슬롯별 getter/setter 를 묶어 두어 파싱·비교 코드가 필드를 하나씩 나열하지 않아도 되게 합니다.
+ * 각 슬롯은 변경 감지 단위인 {@link SpecSection} 하나에 속합니다.
+ */
+public enum SpecSlot {
+    EQUIP_HELMET("equip_helmet", SpecSection.EQUIPMENT, CharacterSpec::getEquipHelmet, CharacterSpec::setEquipHelmet),
+    EQUIP_SHOULDERS("equip_shoulders", SpecSection.EQUIPMENT, CharacterSpec::getEquipShoulders, CharacterSpec::setEquipShoulders),
+    EQUIP_CHEST("equip_chest", SpecSection.EQUIPMENT, CharacterSpec::getEquipChest, CharacterSpec::setEquipChest),
+    EQUIP_LEGS("equip_legs", SpecSection.EQUIPMENT, CharacterSpec::getEquipLegs, CharacterSpec::setEquipLegs),
+    EQUIP_GLOVES("equip_gloves", SpecSection.EQUIPMENT, CharacterSpec::getEquipGloves, CharacterSpec::setEquipGloves),
+    EQUIP_WEAPON("equip_weapon", SpecSection.EQUIPMENT, CharacterSpec::getEquipWeapon, CharacterSpec::setEquipWeapon),
+    ACC_EARRING1("acc_earring1", SpecSection.ACCESSORY, CharacterSpec::getAccEarring1, CharacterSpec::setAccEarring1),
+    ACC_EARRING2("acc_earring2", SpecSection.ACCESSORY, CharacterSpec::getAccEarring2, CharacterSpec::setAccEarring2),
+    ACC_RING1("acc_ring1", SpecSection.ACCESSORY, CharacterSpec::getAccRing1, CharacterSpec::setAccRing1),
+    ACC_RING2("acc_ring2", SpecSection.ACCESSORY, CharacterSpec::getAccRing2, CharacterSpec::setAccRing2),
+    ACC_NECKLACE("acc_necklace", SpecSection.ACCESSORY, CharacterSpec::getAccNecklace, CharacterSpec::setAccNecklace),
+    ACC_BRACELET("acc_bracelet", SpecSection.ACCESSORY, CharacterSpec::getAccBracelet, CharacterSpec::setAccBracelet),
+    ABILITY_STONE("ability_stone", SpecSection.ACCESSORY, CharacterSpec::getAbilityStone, CharacterSpec::setAbilityStone),
+    CARD_1("card_1", SpecSection.CARD, CharacterSpec::getCard1, CharacterSpec::setCard1),
+    CARD_2("card_2", SpecSection.CARD, CharacterSpec::getCard2, CharacterSpec::setCard2),
+    CARD_3("card_3", SpecSection.CARD, CharacterSpec::getCard3, CharacterSpec::setCard3),
+    CARD_4("card_4", SpecSection.CARD, CharacterSpec::getCard4, CharacterSpec::setCard4),
+    CARD_5("card_5", SpecSection.CARD, CharacterSpec::getCard5, CharacterSpec::setCard5),
+    CARD_6("card_6", SpecSection.CARD, CharacterSpec::getCard6, CharacterSpec::setCard6),
+    CARD_EFFECT("card_effect", SpecSection.CARD, CharacterSpec::getCardEffect, CharacterSpec::setCardEffect),
+    ENGRAVING_1("engraving_1", SpecSection.ENGRAVING, CharacterSpec::getEngraving1, CharacterSpec::setEngraving1),
+    ENGRAVING_2("engraving_2", SpecSection.ENGRAVING, CharacterSpec::getEngraving2, CharacterSpec::setEngraving2),
+    ENGRAVING_3("engraving_3", SpecSection.ENGRAVING, CharacterSpec::getEngraving3, CharacterSpec::setEngraving3),
+    ENGRAVING_4("engraving_4", SpecSection.ENGRAVING, CharacterSpec::getEngraving4, CharacterSpec::setEngraving4),
+    ENGRAVING_5("engraving_5", SpecSection.ENGRAVING, CharacterSpec::getEngraving5, CharacterSpec::setEngraving5),
+    ARK_EVOLUTION("ark_evolution", SpecSection.ARK_PASSIVE, CharacterSpec::getArkEvolution, CharacterSpec::setArkEvolution),
+    ARK_REALIZATION("ark_realization", SpecSection.ARK_PASSIVE, CharacterSpec::getArkRealization, CharacterSpec::setArkRealization),
+    ARK_LEAP("ark_leap", SpecSection.ARK_PASSIVE, CharacterSpec::getArkLeap, CharacterSpec::setArkLeap),
+    ARK_EVOLUTION_DETAIL("ark_evolution_detail", SpecSection.ARK_PASSIVE, CharacterSpec::getArkEvolutionDetail, CharacterSpec::setArkEvolutionDetail),
+    ARK_REALIZATION_DETAIL("ark_realization_detail", SpecSection.ARK_PASSIVE, CharacterSpec::getArkRealizationDetail, CharacterSpec::setArkRealizationDetail),
+    ARK_LEAP_DETAIL("ark_leap_detail", SpecSection.ARK_PASSIVE, CharacterSpec::getArkLeapDetail, CharacterSpec::setArkLeapDetail),
+    GEM_1("gem_1", SpecSection.GEM, CharacterSpec::getGem1, CharacterSpec::setGem1),
+    GEM_2("gem_2", SpecSection.GEM, CharacterSpec::getGem2, CharacterSpec::setGem2),
+    GEM_3("gem_3", SpecSection.GEM, CharacterSpec::getGem3, CharacterSpec::setGem3),
+    GEM_4("gem_4", SpecSection.GEM, CharacterSpec::getGem4, CharacterSpec::setGem4),
+    GEM_5("gem_5", SpecSection.GEM, CharacterSpec::getGem5, CharacterSpec::setGem5),
+    GEM_6("gem_6", SpecSection.GEM, CharacterSpec::getGem6, CharacterSpec::setGem6),
+    GEM_7("gem_7", SpecSection.GEM, CharacterSpec::getGem7, CharacterSpec::setGem7),
+    GEM_8("gem_8", SpecSection.GEM, CharacterSpec::getGem8, CharacterSpec::setGem8),
+    GEM_9("gem_9", SpecSection.GEM, CharacterSpec::getGem9, CharacterSpec::setGem9),
+    GEM_10("gem_10", SpecSection.GEM, CharacterSpec::getGem10, CharacterSpec::setGem10),
+    GEM_11("gem_11", SpecSection.GEM, CharacterSpec::getGem11, CharacterSpec::setGem11),
+    SKILL_1("skill_1", SpecSection.SKILL, CharacterSpec::getSkill1, CharacterSpec::setSkill1),
+    SKILL_2("skill_2", SpecSection.SKILL, CharacterSpec::getSkill2, CharacterSpec::setSkill2),
+    SKILL_3("skill_3", SpecSection.SKILL, CharacterSpec::getSkill3, CharacterSpec::setSkill3),
+    SKILL_4("skill_4", SpecSection.SKILL, CharacterSpec::getSkill4, CharacterSpec::setSkill4),
+    SKILL_5("skill_5", SpecSection.SKILL, CharacterSpec::getSkill5, CharacterSpec::setSkill5),
+    SKILL_6("skill_6", SpecSection.SKILL, CharacterSpec::getSkill6, CharacterSpec::setSkill6),
+    SKILL_7("skill_7", SpecSection.SKILL, CharacterSpec::getSkill7, CharacterSpec::setSkill7),
+    SKILL_8("skill_8", SpecSection.SKILL, CharacterSpec::getSkill8, CharacterSpec::setSkill8);
+
+    private static final SpecSlot[] GEMS = {GEM_1, GEM_2, GEM_3, GEM_4, GEM_5, GEM_6, GEM_7, GEM_8, GEM_9, GEM_10, GEM_11};
+    private static final SpecSlot[] SKILLS = {SKILL_1, SKILL_2, SKILL_3, SKILL_4, SKILL_5, SKILL_6, SKILL_7, SKILL_8};
+    private static final SpecSlot[] CARDS = {CARD_1, CARD_2, CARD_3, CARD_4, CARD_5, CARD_6};
+    private static final SpecSlot[] ENGRAVINGS = {ENGRAVING_1, ENGRAVING_2, ENGRAVING_3, ENGRAVING_4, ENGRAVING_5};
+
+    private final String column;
+    private final SpecSection section;
+    private final Function<CharacterSpec, String> getter;
+    private final BiConsumer<CharacterSpec, String> setter;
+
+    SpecSlot(String column, SpecSection section,
+             Function<CharacterSpec, String> getter, BiConsumer<CharacterSpec, String> setter) {
+        this.column = column;
+        this.section = section;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public SpecSection getSection() {
+        return section;
+    }
+
+    public String get(CharacterSpec spec) {
+        return getter.apply(spec);
+    }
+
+    public void set(CharacterSpec spec, String json) {
+        setter.accept(spec, json);
+    }
+
+    /** @param index 0부터 시작 (최대 11개) */
+    public static SpecSlot gem(int index) {
+        return GEMS[index];
+    }
+
+    /** @param index 0부터 시작 (최대 8개) */
+    public static SpecSlot skill(int index) {
+        return SKILLS[index];
+    }
+
+    /** @param index 0부터 시작 (최대 6개) */
+    public static SpecSlot card(int index) {
+        return CARDS[index];
+    }
+
+    /** @param index 0부터 시작 (최대 5개) */
+    public static SpecSlot engraving(int index) {
+        return ENGRAVINGS[index];
+    }
+
+    public static int gemCount() {
+        return GEMS.length;
+    }
+
+    public static int skillCount() {
+        return SKILLS.length;
+    }
+
+    public static int cardCount() {
+        return CARDS.length;
+    }
+
+    public static int engravingCount() {
+        return ENGRAVINGS.length;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.Loark.Entity;
+
+import com.example.Loark.Repository.CharacterSpecSummaryStore;
+import jakarta.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 새 CharacterSpec 이 INSERT 되면 캐릭터의 요약(character_spec_summary)을 같은 트랜잭션에서 갱신합니다.
+ * 저장 경로(일괄 갱신, 수동 저장, 캐릭터 등록, 전투력 갱신)에 상관없이 요약이 어긋나지 않게 하기 위함입니다.
+ */
+@RequiredArgsConstructor
+public class SpecSummaryListener {
+
+    private final CharacterSpecSummaryStore store;
+
+    @PostPersist
+    void updateSummary(CharacterSpec spec) {
+        // getCharacterId() 는 프록시를 초기화하지 않음
+        store.upsert(spec.getCharacter().getCharacterId(), spec);
+    }
+}
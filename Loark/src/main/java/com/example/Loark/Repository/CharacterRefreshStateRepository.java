@@ -0,0 +1,102 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.Entity.CharacterRefreshState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CharacterRefreshStateRepository extends JpaRepository<CharacterRefreshState, Long> {
+
+    /** 일정이 없는 캐릭터(신규 등록)를 바로 갱신 대상으로 추가 */
+    @Modifying
+    @Query(value = """
+            INSERT INTO {h-schema}character_refresh_state (character_id, next_refresh_at, unchanged_polls, priority)
+            SELECT c.character_id, localtimestamp, 0, 0
+            FROM {h-schema}characters c
+            WHERE NOT EXISTS (SELECT 1 FROM {h-schema}character_refresh_state s WHERE s.character_id = c.character_id)
+            ON CONFLICT (character_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissing();
+
+    /** 삭제된 캐릭터의 일정 정리 */
+    @Modifying
+    @Query(value = """
+            DELETE FROM {h-schema}character_refresh_state s
+            WHERE NOT EXISTS (SELECT 1 FROM {h-schema}characters c WHERE c.character_id = s.character_id)
+            """, nativeQuery = true)
+    int deleteOrphans();
+
+    /** 최근 조회된 캐릭터는 마지막 갱신 + minSeconds 까지 다음 갱신을 앞당긴다 */
+    @Modifying
+    @Query(value = """
+            UPDATE {h-schema}character_refresh_state
+            SET next_refresh_at = LEAST(next_refresh_at,
+                    COALESCE(last_refreshed_at, localtimestamp) + make_interval(secs => :minSeconds))
+            WHERE character_id IN (:ids)
+            """, nativeQuery = true)
+    int pullForward(@Param("ids") Collection<Long> characterIds, @Param("minSeconds") long minSeconds);
+
+    /**
+     * 갱신 시점이 지났고 다른 인스턴스가 잡고 있지 않은(또는 lease 가 만료된) 캐릭터를 최대 limit 명 가져옵니다.
+     * 다른 트랜잭션이 잠근 행은 SKIP LOCKED 로 건너뛰므로 인스턴스끼리 같은 캐릭터를 나눠 갖지 않습니다.
+     * @return lease 를 얻은 character_id 목록 (UPDATE ... RETURNING 이라 @Modifying 없이 조회로 실행)
+     */
+    @Query(value = """
+            UPDATE {h-schema}character_refresh_state s
+            SET lease_owner = :owner,
+                lease_expires_at = localtimestamp + make_interval(secs => :leaseSeconds)
+            WHERE s.character_id IN (
+                SELECT d.character_id
+                FROM {h-schema}character_refresh_state d
+                JOIN {h-schema}characters c ON c.character_id = d.character_id
+                JOIN {h-schema}users u ON u.user_id = c.user_id
+                WHERE d.next_refresh_at <= localtimestamp
+                  AND (d.lease_expires_at IS NULL OR d.lease_expires_at < localtimestamp)
+                  AND u.user_api_key IS NOT NULL AND u.user_api_key <> ''
+                ORDER BY d.next_refresh_at
+                LIMIT :limit
+                FOR UPDATE OF d SKIP LOCKED
+            )
+            RETURNING s.character_id
+            """, nativeQuery = true)
+    List<Long> claimDue(@Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds, @Param("limit") int limit);
+
+    /** 가져갔지만 이번 tick 에 갱신하지 않은 캐릭터를 돌려놓음 */
+    @Modifying
+    @Query(value = """
+            UPDATE {h-schema}character_refresh_state
+            SET lease_owner = NULL, lease_expires_at = NULL
+            WHERE character_id IN (:ids) AND lease_owner = :owner
+            """, nativeQuery = true)
+    int releaseLeases(@Param("ids") Collection<Long> characterIds, @Param("owner") String owner);
+
+    /**
+     * 후보 캐릭터의 활동 신호(마지막 로그인/캐릭터 수정/전투 기록 업로드/파티 활동까지 경과 초).
+     * 컬럼 순서: character_id, character_name, user_api_key, unchanged_polls, last_combat_power,
+     * overdue, login_age, updated_age, upload_age, party_age
+     */
+    @Query(value = """
+            SELECT s.character_id, c.character_name, u.user_api_key, s.unchanged_polls, s.last_combat_power,
+                   EXTRACT(EPOCH FROM (localtimestamp - s.next_refresh_at)) AS overdue,
+                   EXTRACT(EPOCH FROM (localtimestamp - u.last_login_at)) AS login_age,
+                   EXTRACT(EPOCH FROM (localtimestamp - c.updated_at)) AS updated_age,
+                   (SELECT EXTRACT(EPOCH FROM (now() - MAX(f.ts)))
+                      FROM statistic.fact_gate_metrics f
+                     WHERE f.character_id = c.character_name) AS upload_age,
+                   (SELECT EXTRACT(EPOCH FROM (now() - MAX(r.created_at)))
+                      FROM {h-schema}party_run_members m
+                      JOIN {h-schema}party_runs r ON r.party_run_id = m.party_run_id
+                     WHERE m.character_id = c.character_id) AS party_age
+            FROM {h-schema}character_refresh_state s
+            JOIN {h-schema}characters c ON c.character_id = s.character_id
+            JOIN {h-schema}users u ON u.user_id = c.user_id
+            WHERE s.character_id IN (:ids)
+            """, nativeQuery = true)
+    List<Object[]> findCandidateRows(@Param("ids") Collection<Long> characterIds);
+}
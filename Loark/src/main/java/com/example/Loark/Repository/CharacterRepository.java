@@ -3,7 +3,10 @@ package com.example.Loark.Repository;
 import com.example.Loark.Entity.Character;
 import com.example.Loark.Entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -15,4 +18,11 @@ public interface CharacterRepository extends JpaRepository<Character, Long> {
     List<Character> findAllByUserOrderByMainDescUpdatedAtDesc(User user);
     boolean existsByUserAndName(User user, String name);
     List<Character> findAllByUser(User user);
+
+    /** 사용자들의 대표 캐릭터 (캐릭터명은 사용자 안에서만 고유하므로 (user_id, 이름) 으로 찾음) */
+    @Query("""
+            SELECT c FROM Character c JOIN c.user u
+            WHERE u.userId IN :userIds AND c.name = u.mainCharacter
+            """)
+    List<Character> findMainCharactersOfUsers(@Param("userIds") Collection<Long> userIds);
 }
@@ -1,10 +1,15 @@
 package com.example.Loark.Repository;
 
+import com.example.Loark.DTO.SpecFingerprintView;
+import com.example.Loark.DTO.SpecTimePoint;
 import com.example.Loark.Entity.CharacterSpec;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +23,26 @@ public interface CharacterSpecRepository extends JpaRepository<CharacterSpec, Lo
     Optional<CharacterSpec> findFirstByCharacterCharacterIdOrderByUpdatedAtAsc(Long characterId);
 
     Optional<CharacterSpec> findFirstByCharacterCharacterIdAndUpdatedAtBeforeOrderByUpdatedAtDesc(Long characterId, LocalDateTime recordedAt);
+
+    /** 최신 스펙의 섹션 지문만 조회 (characters.latest_spec_id 로 PK 조회, 포인터가 없으면 empty) */
+    @Query("""
+            SELECT s.specId AS specId, s.sectionHashes AS sectionHashes
+            FROM Character c, CharacterSpec s
+            WHERE c.characterId = :characterId
+              AND s.specId = c.latestSpecId
+            """)
+    Optional<SpecFingerprintView> findLatestFingerprint(@Param("characterId") Long characterId);
+
+    /** 스냅샷 시각만 조회 (본문은 읽지 않음, 최신 스펙 ETag 확인용) */
+    @Query("SELECT s.updatedAt FROM CharacterSpec s WHERE s.specId = :specId")
+    Optional<LocalDateTime> findUpdatedAt(@Param("specId") Long specId);
+
+    /** 캐릭터의 스냅샷 시각 목록 (오래된 순, SpecTimeIndex 로딩용) */
+    @Query("""
+            SELECT s.specId AS specId, s.updatedAt AS updatedAt
+            FROM CharacterSpec s
+            WHERE s.character.characterId = :characterId
+            ORDER BY s.updatedAt, s.specId
+            """)
+    List<SpecTimePoint> findTimeline(@Param("characterId") Long characterId);
 }
@@ -0,0 +1,33 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.Entity.CharacterSpecSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface CharacterSpecSummaryRepository extends JpaRepository<CharacterSpecSummary, Long> {
+
+    /** 전체 캐릭터 중 요약이 없는 캐릭터를 채웁니다. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO {h-schema}character_spec_summary
+                (character_id, spec_id, item_level, combat_power, ark_passive, character_class, spec_updated_at)
+            SELECT DISTINCT ON (s.character_id)
+                   s.character_id, s.spec_id, s.character_item_level, s.character_combat_power,
+                   s.character_ark_passive, c.character_class, s.updated_at
+            FROM {h-schema}character_specs s
+            JOIN {h-schema}characters c ON c.character_id = s.character_id
+            WHERE NOT EXISTS (SELECT 1 FROM {h-schema}character_spec_summary m WHERE m.character_id = s.character_id)
+            ORDER BY s.character_id, s.updated_at DESC, s.spec_id DESC
+            ON CONFLICT (character_id) DO NOTHING
+            """, nativeQuery = true)
+    int backfillAll();
+
+    /** 삭제된 캐릭터의 요약 정리 */
+    @Modifying
+    @Query(value = """
+            DELETE FROM {h-schema}character_spec_summary m
+            WHERE NOT EXISTS (SELECT 1 FROM {h-schema}characters c WHERE c.character_id = m.character_id)
+            """, nativeQuery = true)
+    int deleteOrphans();
+}
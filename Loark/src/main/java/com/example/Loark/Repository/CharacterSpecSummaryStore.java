@@ -0,0 +1,43 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.Entity.CharacterSpec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * character_spec_summary 쓰기.
+ * 엔티티 콜백(INSERT 직후) 안에서 불리므로 영속성 컨텍스트 flush 를 일으키지 않도록 JdbcTemplate 으로
+ * 현재 트랜잭션의 커넥션에 바로 씁니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CharacterSpecSummaryStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:app}")
+    private String schema;
+
+    /** spec 이 지금 요약보다 새 스냅샷이면 요약을 교체합니다. */
+    public void upsert(Long characterId, CharacterSpec spec) {
+        jdbcTemplate.update("""
+                INSERT INTO %1$s.character_spec_summary
+                    (character_id, spec_id, item_level, combat_power, ark_passive, character_class, spec_updated_at)
+                SELECT c.character_id, ?, ?, ?, ?, c.character_class, ?
+                FROM %1$s.characters c
+                WHERE c.character_id = ?
+                ON CONFLICT (character_id) DO UPDATE SET
+                    spec_id = EXCLUDED.spec_id,
+                    item_level = EXCLUDED.item_level,
+                    combat_power = EXCLUDED.combat_power,
+                    ark_passive = EXCLUDED.ark_passive,
+                    character_class = EXCLUDED.character_class,
+                    spec_updated_at = EXCLUDED.spec_updated_at
+                WHERE character_spec_summary.spec_id < EXCLUDED.spec_id
+                """.formatted(schema),
+                spec.getSpecId(), spec.getItemLevel(), spec.getCombatPower(), spec.getArkPassive(),
+                spec.getUpdatedAt(), characterId);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.Entity.CombatRollupCursor;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CombatRollupCursorRepository extends JpaRepository<CombatRollupCursor, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CombatRollupCursor c WHERE c.name = :name")
+    Optional<CombatRollupCursor> findForUpdate(@Param("name") String name);
+
+    /** 처음 한 번 (여러 인스턴스가 동시에 만들어도 한 행) */
+    @Modifying
+    @Query(value = """
+            INSERT INTO {h-schema}combat_rollup_cursor (name, last_tx_id, last_id, updated_at)
+            VALUES (:name, 0, 0, localtimestamp)
+            ON CONFLICT (name) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfMissing(@Param("name") String name);
+}
@@ -0,0 +1,14 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.Entity.CombatRollup;
+import com.example.Loark.Entity.CombatRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CombatRollupRepository extends JpaRepository<CombatRollup, CombatRollupId> {
+
+    List<CombatRollup> findAllByIdCharacterNameOrderByIdRaidNameAscIdGateNumberAscIdDifficultyAsc(String characterName);
+}
@@ -1,23 +1,43 @@
 package com.example.Loark.Repository;
 
+import com.example.Loark.DTO.CombatRecordField;
+import com.example.Loark.DTO.CombatRecordFilter;
 import com.example.Loark.DTO.FactGateMetricsDto;
+import com.example.Loark.Entity.CombatRollupId;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
 import org.postgresql.util.PGInterval;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Repository
+@RequiredArgsConstructor
 public class FactGateMetricsRepository {
 
+    private static final int FETCH_SIZE = 500;
+
+    // 페이지 키셋의 시각 (ts 가 없는 기록은 가장 오래된 것으로, 인덱스: db/fact-gate-metrics-indexes.sql)
+    private static final String PAGE_TS = "COALESCE(ts, '-infinity')";
+
+    private final JdbcTemplate jdbcTemplate;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -40,6 +60,21 @@ public class FactGateMetricsRepository {
                 .executeUpdate();
     }
 
+    /** 캐릭터 전투 기록 목록의 버전 (조건부 GET 검증용, 본문은 읽지 않음) */
+    public RecordsVersion findVersionByCharacterName(String characterName) {
+        String sql = "SELECT count(*), max(id), max(ts) FROM statistic.fact_gate_metrics WHERE character_id = :characterName";
+        Object[] row = (Object[]) entityManager.createNativeQuery(sql, Object[].class)
+                .setParameter("characterName", characterName)
+                .getSingleResult();
+        return new RecordsVersion(
+                ((Number) row[0]).longValue(),
+                row[1] != null ? ((Number) row[1]).longValue() : null,
+                row[2] instanceof Instant ? (Instant) row[2] : null);
+    }
+
+    /** 기록 수 + 가장 큰 id + 가장 최근 ts (추가/삭제가 있으면 셋 중 하나는 바뀜) */
+    public record RecordsVersion(long count, Long maxId, Instant lastTs) {}
+
     public Optional<FactGateMetricsDto> findLatestByCharacterName(String characterName) {
         String sql = """
             SELECT id, raid_name, gate_number, difficulty, play_time, ts
@@ -117,103 +152,248 @@ public class FactGateMetricsRepository {
 
     public List<FactGateMetricsDto> findAllByPartyRunId(UUID partyRunId) {
         String sql = """
-            SELECT
-                id, raid_name, gate_number, difficulty, play_time,
-                character_id, class_name, role, dps, synergy_efficiency_rate,
-                back_attack_rate, head_attack_rate, crit_rate, total_damage,
-                support_dps, support_attack_buff_effectiveness_rate,
-                support_brand_buff_effectiveness_rate, support_damage_buff2_effectiveness_rate,
-                support_damage_increase_effectiveness_rate, support_assist_total_damage,
-                counter_success, stagger_damage, party_heal_amount, ts
-            FROM
-                statistic.fact_gate_metrics
-            WHERE
-                party_run_id = :partyRunId
-            """;
-
-        List<Object[]> results = entityManager.createNativeQuery(sql, Object[].class)
-                .setParameter("partyRunId", partyRunId)
-                .getResultList();
-
-        return results.stream()
-                .map(row -> FactGateMetricsDto.builder()
-                        .id(row[0] != null ? ((Number) row[0]).longValue() : null)
-                        .raidName((String) row[1])
-                        .gateNumber(row[2] != null ? ((Number) row[2]).shortValue() : null)
-                        .difficulty((String) row[3])
-                        .playTime(toDuration(row[4]))
-                        .characterId((String) row[5])
-                        .className((String) row[6])
-                        .role((String) row[7])
-                        .dps(row[8] != null ? ((Number) row[8]).doubleValue() : null)
-                        .synergyEfficiencyRate(row[9] != null ? ((Number) row[9]).doubleValue() : null)
-                        .backAttackRate(row[10] != null ? ((Number) row[10]).doubleValue() : null)
-                        .headAttackRate(row[11] != null ? ((Number) row[11]).doubleValue() : null)
-                        .critRate(row[12] != null ? ((Number) row[12]).doubleValue() : null)
-                        .totalDamage(row[13] != null ? new BigDecimal(row[13].toString()) : null)
-                        .supportDps(row[14] != null ? ((Number) row[14]).doubleValue() : null)
-                        .supportAttackBuffEffectivenessRate(row[15] != null ? ((Number) row[15]).doubleValue() : null)
-                        .supportBrandBuffEffectivenessRate(row[16] != null ? ((Number) row[16]).doubleValue() : null)
-                        .supportDamageBuff2EffectivenessRate(row[17] != null ? ((Number) row[17]).doubleValue() : null)
-                        .supportDamageIncreaseEffectivenessRate(row[18] != null ? ((Number) row[18]).doubleValue() : null)
-                        .supportAssistTotalDamage(row[19] != null ? new BigDecimal(row[19].toString()) : null)
-                        .counterSuccess(row[20] != null ? ((Number) row[20]).intValue() : null)
-                        .staggerDamage(row[21] != null ? ((Number) row[21]).intValue() : null)
-                        .partyHealAmount(row[22] != null ? new BigDecimal(row[22].toString()) : null)
-                        .ts(row[23] instanceof Instant ? (Instant) row[23] : null)
-                        .build())
-                .collect(Collectors.toList());
+            SELECT %s
+            FROM statistic.fact_gate_metrics
+            WHERE party_run_id = ?
+            """.formatted(FactGateMetricsRowMapper.COLUMNS);
+        return jdbcTemplate.query(sql, FactGateMetricsRowMapper.INSTANCE, partyRunId);
     }
 
     public List<FactGateMetricsDto> findAllByCharacterName(String characterName) {
+        List<FactGateMetricsDto> records = new ArrayList<>();
+        forEachByCharacterName(characterName, records::add);
+        return records;
+    }
+
+    /**
+     * 캐릭터 전투 기록을 최근 순으로 하나씩 넘깁니다. (목록을 만들지 않고 fetch size 단위로 읽음)
+     * PostgreSQL 은 트랜잭션 안에서만 fetch size 를 지키므로 호출하는 쪽에서 트랜잭션을 열어야 합니다.
+     */
+    public void forEachByCharacterName(String characterName, Consumer<FactGateMetricsDto> action) {
         String sql = """
-            SELECT
-                id, raid_name, gate_number, difficulty, play_time,
-                character_id, class_name, role, dps, synergy_efficiency_rate,
-                back_attack_rate, head_attack_rate, crit_rate, total_damage,
-                support_dps, support_attack_buff_effectiveness_rate,
-                support_brand_buff_effectiveness_rate, support_damage_buff2_effectiveness_rate,
-                support_damage_increase_effectiveness_rate, support_assist_total_damage,
-                counter_success, stagger_damage, party_heal_amount, ts
-            FROM
-                statistic.fact_gate_metrics
-            WHERE
-                character_id = :characterName
+            SELECT %s
+            FROM statistic.fact_gate_metrics
+            WHERE character_id = ?
             ORDER BY ts DESC
-            """;
+            """.formatted(FactGateMetricsRowMapper.COLUMNS);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setString(1, characterName);
+            return ps;
+        }, rs -> {
+            action.accept(FactGateMetricsRowMapper.INSTANCE.mapRow(rs, 0));
+        });
+    }
 
-        List<Object[]> results = entityManager.createNativeQuery(sql, Object[].class)
-                .setParameter("characterName", characterName)
-                .getResultList();
-
-        return results.stream()
-                .map(row -> FactGateMetricsDto.builder()
-                        .id(row[0] != null ? ((Number) row[0]).longValue() : null)
-                        .raidName((String) row[1])
-                        .gateNumber(row[2] != null ? ((Number) row[2]).shortValue() : null)
-                        .difficulty((String) row[3])
-                        .playTime(toDuration(row[4]))
-                        .characterId((String) row[5])
-                        .className((String) row[6])
-                        .role((String) row[7])
-                        .dps(row[8] != null ? ((Number) row[8]).doubleValue() : null)
-                        .synergyEfficiencyRate(row[9] != null ? ((Number) row[9]).doubleValue() : null)
-                        .backAttackRate(row[10] != null ? ((Number) row[10]).doubleValue() : null)
-                        .headAttackRate(row[11] != null ? ((Number) row[11]).doubleValue() : null)
-                        .critRate(row[12] != null ? ((Number) row[12]).doubleValue() : null)
-                        .totalDamage(row[13] != null ? new BigDecimal(row[13].toString()) : null)
-                        .supportDps(row[14] != null ? ((Number) row[14]).doubleValue() : null)
-                        .supportAttackBuffEffectivenessRate(row[15] != null ? ((Number) row[15]).doubleValue() : null)
-                        .supportBrandBuffEffectivenessRate(row[16] != null ? ((Number) row[16]).doubleValue() : null)
-                        .supportDamageBuff2EffectivenessRate(row[17] != null ? ((Number) row[17]).doubleValue() : null)
-                        .supportDamageIncreaseEffectivenessRate(row[18] != null ? ((Number) row[18]).doubleValue() : null)
-                        .supportAssistTotalDamage(row[19] != null ? new BigDecimal(row[19].toString()) : null)
-                        .counterSuccess(row[20] != null ? ((Number) row[20]).intValue() : null)
-                        .staggerDamage(row[21] != null ? ((Number) row[21]).intValue() : null)
-                        .partyHealAmount(row[22] != null ? new BigDecimal(row[22].toString()) : null)
-                        .ts(row[23] instanceof Instant ? (Instant) row[23] : null)
-                        .build())
-                .collect(Collectors.toList());
+    /**
+     * 집계 작업이 어디까지 반영했는지 (기록을 넣은 트랜잭션 id, 기록 id).
+     * tx_id 는 적재 때 기본값(pg_current_xact_id)으로 채워집니다. (db/combat-rollup-commit-cursor.sql)
+     */
+    public record CommitPosition(long txId, long id) {
+        public static final CommitPosition START = new CommitPosition(0, 0);
+    }
+
+    /**
+     * after 다음 기록을 (tx_id, id) 순으로 최대 limit 개 넘깁니다. (집계 작업용, fetch size 단위로 읽음)
+     * 아직 진행 중인 트랜잭션이 있을 수 있는 구간(pg_snapshot_xmin 이상)은 읽지 않으므로,
+     * 작은 id 가 나중에 커밋되어도 그 트랜잭션이 끝난 뒤의 실행에서 순서대로 읽힙니다.
+     * @return 마지막으로 넘긴 기록의 위치 (넘긴 기록이 없으면 after)
+     */
+    public CommitPosition forEachCommittedAfter(CommitPosition after, int limit, Consumer<FactGateMetricsDto> action) {
+        String sql = """
+            SELECT %s, tx_id::text::bigint AS tx_id
+            FROM statistic.fact_gate_metrics
+            WHERE (tx_id, id) > (CAST(? AS xid8), ?)
+              AND tx_id < pg_snapshot_xmin(pg_current_snapshot())
+            ORDER BY tx_id, id
+            LIMIT ?
+            """.formatted(FactGateMetricsRowMapper.COLUMNS);
+        CommitPosition[] last = {after};
+        int[] count = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setString(1, Long.toString(after.txId()));
+            ps.setLong(2, after.id());
+            ps.setInt(3, limit);
+            return ps;
+        }, rs -> {
+            FactGateMetricsDto record = FactGateMetricsRowMapper.INSTANCE.mapRow(rs, count[0]++);
+            last[0] = new CommitPosition(rs.getLong("tx_id"), record.getId());
+            action.accept(record);
+        });
+        return last[0];
+    }
+
+    /** 기록이 속한 집계 단위 (레이드/관문/난이도가 비어 있으면 empty) */
+    public Optional<CombatRollupId> findRollupKeyById(Long id) {
+        return jdbcTemplate.query("""
+            SELECT character_id, raid_name, gate_number, difficulty::text
+            FROM statistic.fact_gate_metrics
+            WHERE id = ? AND character_id IS NOT NULL AND raid_name IS NOT NULL
+              AND gate_number IS NOT NULL AND difficulty IS NOT NULL
+            """, (rs, i) -> new CombatRollupId(rs.getString(1), rs.getString(2), rs.getShort(3), rs.getString(4)), id)
+                .stream().findFirst();
+    }
+
+    /**
+     * 캐릭터의 집계 단위별 DPS 중앙값 (upTo 까지 반영된 기록만, 요약 조회 때 계산).
+     * 중앙값은 누적 계산이 안 되어 집계 작업에서 빼고, 캐릭터 인덱스로 그 캐릭터 기록만 읽어 구합니다.
+     */
+    public Map<CombatRollupId, Double> findMedianDps(String characterName, CommitPosition upTo) {
+        Map<CombatRollupId, Double> medians = new HashMap<>();
+        jdbcTemplate.query("""
+            SELECT character_id, raid_name, gate_number, difficulty::text,
+                   percentile_cont(0.5) WITHIN GROUP (ORDER BY dps) AS median_dps
+            FROM statistic.fact_gate_metrics
+            WHERE character_id = ? AND (tx_id, id) <= (CAST(? AS xid8), ?)
+              AND raid_name IS NOT NULL AND gate_number IS NOT NULL AND difficulty IS NOT NULL
+            GROUP BY 1, 2, 3, 4
+            """, rs -> {
+            double median = rs.getDouble("median_dps");
+            medians.put(new CombatRollupId(rs.getString(1), rs.getString(2), rs.getShort(3), rs.getString(4)),
+                    rs.wasNull() ? null : median);
+        }, characterName, Long.toString(upTo.txId()), upTo.id());
+        return medians;
+    }
+
+    /** 집계 단위 하나를 원본에서 다시 계산 (upTo 까지 반영된 기록만, 기록이 없으면 recordCount = 0) */
+    public GroupAggregate aggregate(CombatRollupId key, CommitPosition upTo) {
+        return jdbcTemplate.queryForObject("""
+            SELECT count(*), count(dps), avg(dps), var_pop(dps) * count(dps), max(dps),
+                   floor(min(EXTRACT(EPOCH FROM play_time)))::bigint, max(ts)
+            FROM statistic.fact_gate_metrics
+            WHERE character_id = ? AND raid_name = ? AND gate_number = ? AND difficulty::text = ?
+              AND (tx_id, id) <= (CAST(? AS xid8), ?)
+            """, (rs, i) -> new GroupAggregate(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getObject(3) == null ? null : rs.getDouble(3),
+                rs.getObject(4) == null ? null : rs.getDouble(4),
+                rs.getObject(5) == null ? null : rs.getDouble(5),
+                rs.getObject(6) == null ? null : rs.getLong(6),
+                rs.getObject(7, OffsetDateTime.class) == null ? null : rs.getObject(7, OffsetDateTime.class).toInstant()),
+                key.getCharacterName(), key.getRaidName(), key.getGateNumber(), key.getDifficulty(),
+                Long.toString(upTo.txId()), upTo.id());
+    }
+
+    /** 집계 단위 하나의 원본 기준 값 (m2Dps = 편차 제곱합) */
+    public record GroupAggregate(long recordCount, long dpsCount, Double meanDps, Double m2Dps, Double bestDps,
+                                 Long bestClearSeconds, Instant lastRecordAt) {}
+
+    /**
+     * 캐릭터 전투 기록 한 페이지 (최근 순). 요청한 필드의 열만 읽고, 조건은 모두 WHERE 로 넘깁니다.
+     * (ts, id) 키셋으로 넘기므로 기록이 늘어도 페이지 비용이 같습니다. (인덱스: db/fact-gate-metrics-indexes.sql)
+     * ts 가 없는 기록은 맨 뒤에 id 역순으로 옵니다.
+     * @param after null 이면 가장 최근부터
+     */
+    public CombatRecordPage findPageByCharacterName(String characterName, CombatRecordFilter filter,
+                                                    Set<CombatRecordField> fields, Cursor after, int limit) {
+        List<CombatRecordField> selected = List.copyOf(fields);
+        StringBuilder sql = new StringBuilder("SELECT id, ts");
+        for (CombatRecordField field : selected) sql.append(", ").append(field.getColumn());
+        sql.append("\nFROM statistic.fact_gate_metrics\nWHERE character_id = :characterName");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("characterName", characterName);
+        if (filter.raidName() != null) {
+            sql.append(" AND raid_name = :raidName");
+            params.put("raidName", filter.raidName());
+        }
+        if (filter.gateNumber() != null) {
+            sql.append(" AND gate_number = :gateNumber");
+            params.put("gateNumber", filter.gateNumber());
+        }
+        if (filter.difficulty() != null) {
+            sql.append(" AND difficulty = CAST(:difficulty AS statistic.raid_difficulty)");
+            params.put("difficulty", filter.difficulty());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND ts >= :from");
+            params.put("from", filter.from());
+        }
+        if (filter.to() != null) {
+            sql.append(" AND ts < :to");
+            params.put("to", filter.to());
+        }
+        if (after != null && after.ts() != null) {
+            sql.append(" AND (" + PAGE_TS + ", id) < (:afterTs, :afterId)");
+            params.put("afterTs", after.ts());
+            params.put("afterId", after.id());
+        } else if (after != null) {
+            // ts 가 없는 기록에서 끝난 페이지 (같은 식으로 비교해야 인덱스 순서대로 이어 읽음)
+            sql.append(" AND (" + PAGE_TS + ", id) < ('-infinity', :afterId)");
+            params.put("afterId", after.id());
+        }
+        sql.append("\nORDER BY " + PAGE_TS + " DESC, id DESC\nLIMIT :limit");
+        params.put("limit", limit + 1);
+
+        var query = entityManager.createNativeQuery(sql.toString(), Object[].class);
+        params.forEach(query::setParameter);
+        List<Object[]> rows = query.getResultList();
+
+        List<Map<String, Object>> records = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int r = 0; r < rows.size() && r < limit; r++) {
+            Object[] row = rows.get(r);
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("id", ((Number) row[0]).longValue());
+            record.put("ts", row[1] instanceof Instant ? (Instant) row[1] : null);
+            for (int i = 0; i < selected.size(); i++) {
+                CombatRecordField field = selected.get(i);
+                record.put(field.getName(), convert(field.getType(), row[i + 2]));
+            }
+            records.add(record);
+        }
+
+        String next = null;
+        if (rows.size() > limit) {
+            Map<String, Object> last = records.get(limit - 1);
+            next = new Cursor((Instant) last.get("ts"), (Long) last.get("id")).encode();
+        }
+        return new CombatRecordPage(records, next);
+    }
+
+    /**
+     * 다음 페이지는 마지막 기록 (ts, id) 보다 오래된 것부터. 문자열로는 "ts_id"
+     * ts 가 없는 기록은 가장 오래된 것으로 치며(목록 맨 뒤), 그 기록에서 끝난 페이지의 cursor 는 "null_id"
+     */
+    public record Cursor(Instant ts, long id) {
+
+        private static final String NO_TS = "null";
+
+        public String encode() {
+            return (ts == null ? NO_TS : ts.toString()) + "_" + id;
+        }
+
+        /** @throws IllegalArgumentException 형식이 맞지 않는 경우 */
+        public static Cursor parse(String value) {
+            int sep = value.lastIndexOf('_');
+            try {
+                String ts = value.substring(0, sep);
+                return new Cursor(ts.equals(NO_TS) ? null : Instant.parse(ts), Long.parseLong(value.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 cursor 입니다: " + value);
+            }
+        }
+    }
+
+    /**
+     * @param records 기록마다 id, ts 와 요청한 필드만 (필드 이름 -> 값)
+     * @param next    다음 페이지 cursor (마지막 페이지면 null)
+     */
+    public record CombatRecordPage(List<Map<String, Object>> records, String next) {}
+
+    private Object convert(CombatRecordField.Type type, Object value) {
+        if (value == null) return null;
+        return switch (type) {
+            case TEXT -> value.toString();
+            case SHORT -> ((Number) value).shortValue();
+            case INT -> ((Number) value).intValue();
+            case DOUBLE -> ((Number) value).doubleValue();
+            case DECIMAL -> new BigDecimal(value.toString());
+            case DURATION -> toDuration(value);
+        };
     }
 
     private Duration toDuration(Object obj) {
@@ -0,0 +1,96 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.DTO.FactGateMetricsDto;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * statistic.fact_gate_metrics 한 행 → FactGateMetricsDto.
+ * <p>
+ * {@link #COLUMNS} 를 SELECT 목록으로 쓰고, 열 이름을 찾지 않고 위치로 바로 읽습니다.
+ * 숫자는 getDouble/getLong 으로 읽어 Object[] 나 toString 을 거치지 않고,
+ * play_time 은 SQL 에서 초 단위로 바꿔 PGInterval 을 만들지 않습니다.
+ * 상태가 없으므로 {@link #INSTANCE} 하나를 공유합니다.
+ */
+public final class FactGateMetricsRowMapper implements RowMapper<FactGateMetricsDto> {
+
+    public static final FactGateMetricsRowMapper INSTANCE = new FactGateMetricsRowMapper();
+
+    /** FactGateMetricsDto 필드 순서와 같음 (mapRow 의 위치와 맞춰야 함) */
+    public static final String COLUMNS = """
+            id, raid_name, gate_number, difficulty, EXTRACT(EPOCH FROM play_time) AS play_time_seconds, ts,
+            character_id, class_name, role, dps, synergy_efficiency_rate,
+            back_attack_rate, head_attack_rate, crit_rate, total_damage,
+            support_dps, support_attack_buff_effectiveness_rate,
+            support_brand_buff_effectiveness_rate, support_damage_buff2_effectiveness_rate,
+            support_damage_increase_effectiveness_rate, support_assist_total_damage,
+            counter_success, stagger_damage, party_heal_amount""";
+
+    private FactGateMetricsRowMapper() {
+    }
+
+    @Override
+    public FactGateMetricsDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new FactGateMetricsDto(
+                getLong(rs, 1),
+                rs.getString(2),
+                getShort(rs, 3),
+                rs.getString(4),
+                getDuration(rs, 5),
+                getInstant(rs, 6),
+                rs.getString(7),
+                rs.getString(8),
+                rs.getString(9),
+                getDouble(rs, 10),
+                getDouble(rs, 11),
+                getDouble(rs, 12),
+                getDouble(rs, 13),
+                getDouble(rs, 14),
+                rs.getBigDecimal(15),
+                getDouble(rs, 16),
+                getDouble(rs, 17),
+                getDouble(rs, 18),
+                getDouble(rs, 19),
+                getDouble(rs, 20),
+                rs.getBigDecimal(21),
+                getInt(rs, 22),
+                getInt(rs, 23),
+                rs.getBigDecimal(24));
+    }
+
+    private static Long getLong(ResultSet rs, int i) throws SQLException {
+        long v = rs.getLong(i);
+        return rs.wasNull() ? null : v;
+    }
+
+    private static Short getShort(ResultSet rs, int i) throws SQLException {
+        short v = rs.getShort(i);
+        return rs.wasNull() ? null : v;
+    }
+
+    private static Integer getInt(ResultSet rs, int i) throws SQLException {
+        int v = rs.getInt(i);
+        return rs.wasNull() ? null : v;
+    }
+
+    private static Double getDouble(ResultSet rs, int i) throws SQLException {
+        double v = rs.getDouble(i);
+        return rs.wasNull() ? null : v;
+    }
+
+    /** 초 미만은 버림 (기존 PGInterval 변환과 같음) */
+    private static Duration getDuration(ResultSet rs, int i) throws SQLException {
+        double seconds = rs.getDouble(i);
+        return rs.wasNull() ? null : Duration.ofSeconds((long) seconds);
+    }
+
+    private static Instant getInstant(ResultSet rs, int i) throws SQLException {
+        OffsetDateTime v = rs.getObject(i, OffsetDateTime.class);
+        return v == null ? null : v.toInstant();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Loark.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * characters.latest_spec_id 유지.
+ * "최신" 은 spec_id 가 가장 큰 스냅샷입니다. (스냅샷은 추가만 되고 id 는 증가하므로 updated_at 순서와 같음)
+ * 보관 파일로 옮겨진 스냅샷(spec_archive_catalog)도 후보에 포함합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LatestSpecPointerStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:app}")
+    private String schema;
+
+    /** 새 스냅샷이 지금 가리키는 것보다 새 것이면 포인터를 옮깁니다. (스펙 INSERT 와 같은 트랜잭션) */
+    public void advance(Long characterId, Long specId) {
+        jdbcTemplate.update("""
+                UPDATE %s.characters
+                SET latest_spec_id = ?
+                WHERE character_id = ? AND (latest_spec_id IS NULL OR latest_spec_id < ?)
+                """.formatted(schema), specId, characterId, specId);
+    }
+
+    /**
+     * 포인터가 비어 있는(도입 전) 캐릭터를 최대 limit 명 채웁니다.
+     * @return 채운 캐릭터 수 (0 이면 끝)
+     */
+    public int backfill(int limit) {
+        return jdbcTemplate.update("""
+                UPDATE %1$s.characters c
+                SET latest_spec_id = GREATEST(
+                        (SELECT MAX(s.spec_id) FROM %1$s.character_specs s WHERE s.character_id = c.character_id),
+                        (SELECT MAX(a.spec_id) FROM %1$s.spec_archive_catalog a WHERE a.character_id = c.character_id))
+                WHERE c.character_id IN (
+                    SELECT m.character_id FROM %1$s.characters m
+                    WHERE m.latest_spec_id IS NULL
+                      AND (EXISTS (SELECT 1 FROM %1$s.character_specs s WHERE s.character_id = m.character_id)
+                        OR EXISTS (SELECT 1 FROM %1$s.spec_archive_catalog a WHERE a.character_id = m.character_id))
+                    LIMIT ?
+                )
+                """.formatted(schema), limit);
+    }
+
+    /**
+     * 포인터가 실제 최신 스냅샷과 다른 캐릭터를 고치고 그 id 를 반환합니다.
+     * (스냅샷이 없는데 포인터가 남은 경우 포함)
+     */
+    public List<Long> repairInconsistent() {
+        return jdbcTemplate.queryForList("""
+                WITH actual AS (
+                    SELECT c.character_id,
+                           GREATEST(
+                               (SELECT MAX(s.spec_id) FROM %1$s.character_specs s WHERE s.character_id = c.character_id),
+                               (SELECT MAX(a.spec_id) FROM %1$s.spec_archive_catalog a WHERE a.character_id = c.character_id)
+                           ) AS spec_id
+                    FROM %1$s.characters c
+                    WHERE c.latest_spec_id IS NOT NULL
+                )
+                UPDATE %1$s.characters c
+                SET latest_spec_id = a.spec_id
+                FROM actual a
+                WHERE c.character_id = a.character_id
+                  AND c.latest_spec_id IS DISTINCT FROM a.spec_id
+                RETURNING c.character_id
+                """.formatted(schema), Long.class);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.DTO.SpecTimePoint;
+import com.example.Loark.Entity.SpecArchiveEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SpecArchiveEntryRepository extends JpaRepository<SpecArchiveEntry, Long> {
+
+    /** 보관된 스냅샷 시각 목록 (오래된 순, SpecTimeIndex 로딩용) */
+    @Query("""
+            SELECT e.specId AS specId, e.updatedAt AS updatedAt
+            FROM SpecArchiveEntry e
+            WHERE e.characterId = :characterId
+            ORDER BY e.updatedAt, e.specId
+            """)
+    List<SpecTimePoint> findTimeline(@Param("characterId") Long characterId);
+}
@@ -0,0 +1,7 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.Entity.SpecArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SpecArchiveRepository extends JpaRepository<SpecArchive, String> {
+}
@@ -0,0 +1,347 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.Entity.SpecSlot;
+import com.example.Loark.Util.CanonicalJson;
+import com.example.Loark.Util.DeflateDictionary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * spec_fragments 읽기/쓰기와 자주 쓰이는 조각의 메모리 캐시.
+ * <p>
+ * 스냅샷 행에는 조각 본문 대신 {@code "h:<sha256>"} 형태의 jsonb 문자열만 저장됩니다.
+ * 조각은 한 번 저장되면 바뀌지 않으므로 캐시는 무효화 없이 크기 제한만 둡니다.
+ * 해시와 본문은 정규형(CanonicalJson) 기준이라 새로 쓰는 조각과 이전 행에서 옮긴 조각이 같은 해시로 합쳐집니다.
+ * 캐시에 없는 조각은 행(또는 페이지) 단위로 모아 {@code hash = ANY(?)} 한 번으로 읽습니다.
+ * <p>
+ * spec.fragment.compression=deflate 면 새 조각 본문을 최신 사전으로 압축해 body_z 에 씁니다.
+ * 읽을 때는 body / body_z 중 채워진 쪽을 쓰므로 압축 모드를 켜거나 꺼도 기존 조각은 그대로 읽힙니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SpecFragmentStore {
+
+    private static final String REF_PREFIX = "\"h:";
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte FORMAT_DEFLATE = 1;
+    private static final int NO_DICTIONARY = 0;
+
+    // 조각으로 저장하는 슬롯 컬럼
+    private static final List<String> DEDUPLICATED_COLUMNS = Arrays.stream(SpecSlot.values())
+            .filter(slot -> slot.getSection().isDeduplicated())
+            .map(SpecSlot::getColumn)
+            .toList();
+
+    // 참조가 들어 있는 컬럼의 참조 문자열만 꺼내는 식 (객체/배열이 그대로 남은 이전 행은 NULL)
+    private static final String REF_COLUMNS = DEDUPLICATED_COLUMNS.stream()
+            .map(column -> "CASE WHEN jsonb_typeof(s.%1$s) = 'string' THEN s.%1$s::text END".formatted(column))
+            .collect(Collectors.joining(", "));
+
+    // 반대로 아직 참조로 바뀌지 않은 값만 꺼내는 식 (이미 참조거나 NULL 이면 NULL)
+    private static final String INLINE_COLUMNS = DEDUPLICATED_COLUMNS.stream()
+            .map(column -> "CASE WHEN jsonb_typeof(%1$s) <> 'string' THEN %1$s::text END".formatted(column))
+            .collect(Collectors.joining(", "));
+
+    private static final String HAS_INLINE = DEDUPLICATED_COLUMNS.stream()
+            .map(column -> "jsonb_typeof(%s) <> 'string'".formatted(column))
+            .collect(Collectors.joining(" OR "));
+
+    // 행 하나의 조각 컬럼을 한 번에 바꿈 (NULL 을 넘긴 컬럼은 그대로)
+    private static final String SET_REFS = DEDUPLICATED_COLUMNS.stream()
+            .map(column -> "%1$s = COALESCE(to_jsonb(CAST(? AS text)), %1$s)".formatted(column))
+            .collect(Collectors.joining(", "));
+
+    /** 이전 배치 결과. rows 가 0 이면 더 옮길 행이 없음 */
+    public record MigrationBatch(int rows, int slots, long lastSpecId) {}
+
+    public enum Compression { NONE, DEFLATE }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:app}")
+    private String schema;
+
+    // 캐시에 담는 조각 본문의 총 글자 수 상한
+    @Value("${spec.fragment.cache-max-chars:32000000}")
+    private long cacheMaxChars;
+
+    @Value("${spec.fragment.compression:none}")
+    private Compression compression;
+
+    private Cache<String, String> bodies;
+
+    // dict_id -> 사전 (사전은 바뀌지 않음)
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+    // 새로 압축할 때 쓰는 사전 (null 이면 아직 읽지 않음)
+    private volatile Integer activeDictionaryId;
+
+    @PostConstruct
+    void init() {
+        bodies = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxChars)
+                .weigher((String hash, String body) -> body.length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "spec.fragments");
+    }
+
+    /** 정규형 기준 해시 */
+    public static String hash(String json) {
+        return sha256(CanonicalJson.canonicalize(json));
+    }
+
+    /** 행에 저장하는 참조 값 (jsonb 문자열) */
+    public static String ref(String json) {
+        return REF_PREFIX + hash(json) + "\"";
+    }
+
+    /** 컬럼 값이 조각 참조인지 (이전 행은 객체/배열이 그대로 들어 있음) */
+    public static boolean isRef(String columnValue) {
+        return columnValue.startsWith(REF_PREFIX);
+    }
+
+    /**
+     * 아직 저장되지 않은 조각을 저장합니다. 이미 있는 해시는 ON CONFLICT 로 건너뜁니다.
+     * 현재 트랜잭션에 참여하며, 캐시에는 커밋된 뒤에만 올립니다. (롤백된 조각을 저장된 것으로 착각하지 않도록)
+     */
+    public void saveAll(Collection<String> jsons) {
+        Map<String, String> pending = new LinkedHashMap<>();
+        for (String json : jsons) {
+            String canonical = CanonicalJson.canonicalize(json);
+            String hash = sha256(canonical);
+            if (bodies.getIfPresent(hash) == null) pending.putIfAbsent(hash, canonical);
+        }
+        if (pending.isEmpty()) return;
+        insert(pending);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bodies.putAll(pending);
+                }
+            });
+        } else {
+            bodies.putAll(pending);
+        }
+    }
+
+    /** @param pending hash -> 정규형 본문 */
+    private void insert(Map<String, String> pending) {
+        List<Object[]> args = new ArrayList<>(pending.size());
+        if (compression == Compression.DEFLATE) {
+            pending.forEach((hash, json) -> args.add(new Object[]{hash, encode(json)}));
+            jdbcTemplate.batchUpdate("INSERT INTO " + schema + ".spec_fragments (hash, body_z, created_at) "
+                    + "VALUES (?, ?, localtimestamp) ON CONFLICT (hash) DO NOTHING", args);
+        } else {
+            pending.forEach((hash, json) -> args.add(new Object[]{hash, json}));
+            jdbcTemplate.batchUpdate("INSERT INTO " + schema + ".spec_fragments (hash, body, created_at) "
+                    + "VALUES (?, CAST(? AS jsonb), localtimestamp) ON CONFLICT (hash) DO NOTHING", args);
+        }
+    }
+
+    /** 참조 값을 조각 본문으로 바꿉니다. */
+    public String resolve(String ref) {
+        return bodies.get(hashOf(ref), hash -> load(Set.of(hash)).get(hash));
+    }
+
+    /**
+     * 여러 컬럼 값의 참조를 한 번에 풉니다. 캐시에 없는 조각만 모아 한 번 조회합니다.
+     * @return 참조 -> 본문 (참조가 아닌 값은 결과에 없음)
+     */
+    public Map<String, String> resolveAll(Collection<String> columnValues) {
+        Map<String, String> hashes = new HashMap<>();
+        for (String value : columnValues) {
+            if (value != null && isRef(value)) hashes.put(value, hashOf(value));
+        }
+        if (hashes.isEmpty()) return Map.of();
+
+        Map<String, String> found = bodies.getAll(new LinkedHashSet<>(hashes.values()), this::load);
+        Map<String, String> result = new HashMap<>(hashes.size());
+        hashes.forEach((ref, hash) -> result.put(ref, found.get(hash)));
+        return result;
+    }
+
+    /**
+     * 스냅샷들의 조각을 미리 캐시에 올립니다. (참조 목록 1번 + 캐시에 없는 조각 1번)
+     * 스펙 전체를 내려주는 경로에서 엔티티를 읽기 전에 불러, 컨버터가 슬롯마다 따로 조회하지 않게 합니다.
+     */
+    public void prefetch(Collection<Long> specIds) {
+        if (specIds.isEmpty()) return;
+        List<String> refs = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT DISTINCT r FROM " + schema + ".character_specs s, "
+                    + "unnest(ARRAY[" + REF_COLUMNS + "]) AS r WHERE s.spec_id = ANY(?) AND r IS NOT NULL");
+            ps.setArray(1, con.createArrayOf("bigint", specIds.toArray()));
+            return ps;
+        }, (rs, i) -> rs.getString(1));
+        resolveAll(refs);
+    }
+
+    /** hash -> 본문 (하나라도 없으면 예외) */
+    private Map<String, String> load(Set<? extends String> hashes) {
+        Map<String, String> found = new HashMap<>(hashes.size());
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT hash, body::text, body_z FROM " + schema
+                    + ".spec_fragments WHERE hash = ANY(?)");
+            ps.setArray(1, con.createArrayOf("text", hashes.toArray()));
+            return ps;
+        }, rs -> {
+            found.put(rs.getString(1), bodyOf(rs.getString(2), rs.getBytes(3)));
+        });
+        for (String hash : hashes) {
+            if (!found.containsKey(hash)) throw new IllegalStateException("스펙 조각을 찾을 수 없습니다: " + hash);
+        }
+        return found;
+    }
+
+    /**
+     * 조각 저장 이전에 만들어진 행을 spec_id 순으로 afterSpecId 다음부터 최대 limit 행 읽어,
+     * 조각 컬럼 값을 spec_fragments 로 옮기고 행마다 UPDATE 한 번으로 모든 컬럼을 참조로 바꿉니다.
+     * (컬럼마다 따로 바꾸면 넓은 행의 새 버전이 컬럼 수만큼 생김)
+     * 새로 쓰는 조각과 같은 정규형으로 해시하므로 같은 내용은 같은 조각을 가리킵니다.
+     * 조각을 먼저 넣고 행을 바꾸므로 중간에 멈춰도 참조는 항상 유효합니다. (옮긴 조각은 캐시에 올리지 않음)
+     */
+    public MigrationBatch migrateInline(long afterSpecId, int limit) {
+        Map<String, String> pending = new LinkedHashMap<>();
+        List<Object[]> updates = new ArrayList<>();
+        long[] last = {afterSpecId};
+        int[] slots = {0};
+        jdbcTemplate.query("SELECT spec_id, " + INLINE_COLUMNS + " FROM " + schema + ".character_specs "
+                + "WHERE spec_id > ? AND (" + HAS_INLINE + ") ORDER BY spec_id LIMIT ?", rs -> {
+            Object[] args = new Object[DEDUPLICATED_COLUMNS.size() + 1];
+            for (int i = 0; i < DEDUPLICATED_COLUMNS.size(); i++) {
+                String inline = rs.getString(i + 2);
+                if (inline == null) continue;
+                String canonical = CanonicalJson.canonicalize(inline);
+                String hash = sha256(canonical);
+                pending.putIfAbsent(hash, canonical);
+                args[i] = "h:" + hash;
+                slots[0]++;
+            }
+            last[0] = rs.getLong(1);
+            args[DEDUPLICATED_COLUMNS.size()] = last[0];
+            updates.add(args);
+        }, afterSpecId, limit);
+        if (updates.isEmpty()) return new MigrationBatch(0, 0, afterSpecId);
+
+        insert(pending);
+        jdbcTemplate.batchUpdate("UPDATE " + schema + ".character_specs SET " + SET_REFS + " WHERE spec_id = ?", updates);
+        return new MigrationBatch(updates.size(), slots[0], last[0]);
+    }
+
+    private static String hashOf(String ref) {
+        return ref.substring(REF_PREFIX.length(), ref.length() - 1);
+    }
+
+    private static String sha256(String canonical) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean compressionEnabled() {
+        return compression == Compression.DEFLATE;
+    }
+
+    /**
+     * 압축되지 않은 조각을 최대 limit 개 압축해 body_z 로 옮깁니다.
+     * @return 옮긴 조각 수 (0 이면 끝)
+     */
+    public int compressExisting(int limit) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT hash, body::text FROM " + schema + ".spec_fragments WHERE body_z IS NULL LIMIT ?",
+                (rs, i) -> new Object[]{encode(rs.getString(2)), rs.getString(1)}, limit);
+        if (rows.isEmpty()) return 0;
+        jdbcTemplate.batchUpdate("UPDATE " + schema + ".spec_fragments SET body_z = ?, body = NULL WHERE hash = ?", rows);
+        return rows.size();
+    }
+
+    /** 사전 학습용 조각 본문 (임의 추출) */
+    public List<String> sampleBodies(int limit) {
+        return jdbcTemplate.query(
+                "SELECT body::text, body_z FROM " + schema + ".spec_fragments ORDER BY random() LIMIT ?",
+                (rs, i) -> bodyOf(rs.getString(1), rs.getBytes(2)), limit);
+    }
+
+    /** 새 사전을 저장하고 이후 압축에 씁니다. */
+    public int saveDictionary(byte[] dictionary, int sampleCount) {
+        Integer id = jdbcTemplate.queryForObject("INSERT INTO " + schema + ".spec_fragment_dictionaries "
+                + "(body, sample_count, created_at) VALUES (?, ?, localtimestamp) RETURNING dict_id",
+                Integer.class, dictionary, sampleCount);
+        dictionaries.put(id, dictionary);
+        activeDictionaryId = id;
+        return id;
+    }
+
+    /** 최신 사전 id (사전이 없으면 0) */
+    public int activeDictionaryId() {
+        Integer id = activeDictionaryId;
+        if (id == null) {
+            List<Integer> latest = jdbcTemplate.queryForList("SELECT MAX(dict_id) FROM " + schema
+                    + ".spec_fragment_dictionaries", Integer.class);
+            id = latest.isEmpty() || latest.get(0) == null ? NO_DICTIONARY : latest.get(0);
+            activeDictionaryId = id;
+        }
+        return id;
+    }
+
+    private String bodyOf(String body, byte[] compressed) {
+        return compressed != null ? decode(compressed) : body;
+    }
+
+    /** [형식][dict_id][deflate] */
+    private byte[] encode(String json) {
+        int dictId = activeDictionaryId();
+        byte[] z = DeflateDictionary.compress(json.getBytes(StandardCharsets.UTF_8), dictionary(dictId));
+        return ByteBuffer.allocate(5 + z.length).put(FORMAT_DEFLATE).putInt(dictId).put(z).array();
+    }
+
+    private String decode(byte[] stored) {
+        ByteBuffer buf = ByteBuffer.wrap(stored);
+        byte format = buf.get();
+        if (format != FORMAT_DEFLATE) {
+            throw new IllegalStateException("알 수 없는 조각 압축 형식입니다: " + format);
+        }
+        byte[] dictionary = dictionary(buf.getInt());
+        byte[] z = new byte[buf.remaining()];
+        buf.get(z);
+        return new String(DeflateDictionary.decompress(z, dictionary), StandardCharsets.UTF_8);
+    }
+
+    private byte[] dictionary(int dictId) {
+        if (dictId == NO_DICTIONARY) return null;
+        return dictionaries.computeIfAbsent(dictId, id -> jdbcTemplate.queryForObject(
+                "SELECT body FROM " + schema + ".spec_fragment_dictionaries WHERE dict_id = ?", byte[].class, id));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.Loark.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스펙 타임라인 (아이템 레벨/전투력/아크패시브 이름의 시간 흐름).
+ * <p>
+ * 스칼라 열만 읽고 jsonb 슬롯은 건드리지 않습니다. 현재 테이블과 보관 목록(spec_archive_catalog)을 합쳐 읽으며,
+ * 둘 다 (character_id, updated_at) 인덱스를 탑니다.
+ * 페이지는 (updated_at, spec_id) 키셋으로 넘기므로 뒤쪽 페이지도 OFFSET 없이 같은 비용입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SpecTimelineStore {
+
+    /** 구간 단위로 줄일 때 구간마다 마지막 스냅샷 하나만 남깁니다. (date_trunc 단위) */
+    public enum Resolution {
+        HOUR, DAY, WEEK;
+
+        String unit() {
+            return name().toLowerCase();
+        }
+    }
+
+    /** @param bucket 줄인 경우 구간 시작 시각 (원본 그대로면 null) */
+    public record Point(Long specId, LocalDateTime updatedAt, LocalDateTime bucket,
+                        BigDecimal itemLevel, Long combatPower, String arkPassive) {
+    }
+
+    /** 다음 페이지는 이 페이지 마지막 점 (updatedAt, specId) 이후부터. 문자열로는 "updatedAt_specId" */
+    public record Cursor(LocalDateTime updatedAt, Long specId) {
+
+        public String encode() {
+            return updatedAt + "_" + specId;
+        }
+
+        /** @throws IllegalArgumentException 형식이 맞지 않는 경우 */
+        public static Cursor parse(String value) {
+            int sep = value.lastIndexOf('_');
+            try {
+                return new Cursor(LocalDateTime.parse(value.substring(0, sep)), Long.parseLong(value.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 cursor 입니다: " + value);
+            }
+        }
+    }
+
+    /** @param next 다음 페이지 cursor (마지막 페이지면 null) */
+    public record Page(List<Point> points, String next) {
+    }
+
+    private static final RowMapper<Point> POINT = (rs, i) -> new Point(
+            rs.getLong("spec_id"),
+            rs.getTimestamp("updated_at").toLocalDateTime(),
+            rs.getTimestamp("bucket") == null ? null : rs.getTimestamp("bucket").toLocalDateTime(),
+            rs.getBigDecimal("item_level"),
+            rs.getObject("combat_power", Long.class),
+            rs.getString("ark_passive"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:app}")
+    private String schema;
+
+    /**
+     * @param from       포함, to 는 제외 (둘 다 null 이면 전체)
+     * @param resolution null 이면 모든 스냅샷
+     * @param after      null 이면 처음부터
+     */
+    public Page find(Long characterId, LocalDateTime from, LocalDateTime to,
+                     Resolution resolution, Cursor after, int limit) {
+        LocalDateTime lower = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime upper = to != null ? to : LocalDateTime.of(9999, 1, 1, 0, 0);
+        LocalDateTime afterTime = after != null ? after.updatedAt() : LocalDateTime.of(1970, 1, 1, 0, 0);
+        long afterId = after != null ? after.specId() : 0L;
+
+        // 각 가지에 같은 조건을 넣어 인덱스 범위 스캔으로 읽고, 키셋 조건으로 이전 페이지를 건너뜀
+        String points = """
+                SELECT spec_id, updated_at, character_item_level AS item_level,
+                       character_combat_power AS combat_power, character_ark_passive AS ark_passive
+                FROM %1$s.character_specs
+                WHERE character_id = ? AND updated_at >= ? AND updated_at < ? AND (updated_at, spec_id) > (?, ?)
+                UNION ALL
+                SELECT spec_id, updated_at, item_level, combat_power, ark_passive
+                FROM %1$s.spec_archive_catalog
+                WHERE character_id = ? AND updated_at >= ? AND updated_at < ? AND (updated_at, spec_id) > (?, ?)
+                  AND (item_level IS NOT NULL OR combat_power IS NOT NULL)
+                """.formatted(schema);
+        Object[] branch = {characterId, lower, upper, afterTime, afterId};
+
+        // 구간의 마지막 스냅샷이 커서가 되므로, 커서 이후 행은 항상 다음 구간부터 시작함
+        String sql = resolution == null
+                ? """
+                  SELECT p.*, NULL::timestamp AS bucket FROM (%s) p
+                  ORDER BY updated_at, spec_id
+                  LIMIT ?
+                  """.formatted(points)
+                : """
+                  SELECT b.* FROM (
+                      SELECT DISTINCT ON (bucket) p.*, date_trunc('%s', p.updated_at) AS bucket
+                      FROM (%s) p
+                      ORDER BY bucket, updated_at DESC, spec_id DESC
+                  ) b
+                  ORDER BY bucket
+                  LIMIT ?
+                  """.formatted(resolution.unit(), points);
+
+        List<Object> args = new ArrayList<>(List.of(branch));
+        args.addAll(List.of(branch));
+        args.add(limit + 1);
+        List<Point> rows = jdbcTemplate.query(sql, POINT, args.toArray());
+
+        if (rows.size() <= limit) return new Page(rows, null);
+        List<Point> page = rows.subList(0, limit);
+        Point last = page.get(limit - 1);
+        return new Page(List.copyOf(page), new Cursor(last.updatedAt(), last.specId()).encode());
+    }
+}
@@ -1,18 +1,77 @@
 package com.example.Loark.Scheduler;
 
-import com.example.Loark.Service.CharacterService;
+import com.example.Loark.Service.CharacterRefreshPlanner;
+import com.example.Loark.Service.CharacterSummaryService;
+import com.example.Loark.Service.CombatRollupService;
+import com.example.Loark.Service.LatestSpecService;
+import com.example.Loark.Service.SpecFragmentMigrator;
+import com.example.Loark.Service.SpecPartitionMaintainer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class CharacterSpecScheduler {
 
-    private final CharacterService characterService;
+    private final CharacterRefreshPlanner refreshPlanner;
+    private final SpecFragmentMigrator fragmentMigrator;
+    private final CharacterSummaryService summaryService;
+    private final LatestSpecService latestSpecService;
+    private final SpecPartitionMaintainer partitionMaintainer;
+    private final CombatRollupService combatRollupService;
 
-    @Scheduled(cron = "0 0 * * * *") // 매 정각에 실행
+    // 매시 전체 갱신 대신, 짧은 주기로 갱신 시점이 된 캐릭터를 우선순위대로 조금씩 갱신
+    @Scheduled(fixedDelayString = "${lostark.refresh.tick-ms:60000}", initialDelayString = "${lostark.refresh.tick-ms:60000}")
     public void updateCharacterSpecs() {
-        characterService.updateAllCharacterSpecs();
+        refreshPlanner.tick();
+    }
+
+    // 새 전투 기록을 캐릭터별 집계(combat_rollups)에 반영 (첫 실행 때 기존 기록 전체를 채움)
+    @Scheduled(fixedDelayString = "${combat.rollup.tick-ms:60000}", initialDelayString = "${combat.rollup.tick-ms:60000}")
+    public void rollUpCombatRecords() {
+        combatRollupService.catchUp();
+    }
+
+    @Scheduled(cron = "0 30 4 * * *") // 매일 04:30 삭제된 캐릭터의 갱신 일정 정리
+    public void cleanUpRefreshStates() {
+        refreshPlanner.cleanUp();
+    }
+
+    @Scheduled(cron = "0 40 4 * * *") // 매일 04:40 스펙 요약 누락/잔여분 정리
+    public void reconcileSpecSummaries() {
+        summaryService.reconcile();
+    }
+
+    // 배포 직후 다음 04:40 까지 요약이 없는 기존 캐릭터가 목록에서 빈 값으로 보이지 않도록 시작할 때 한 번 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileSpecSummariesOnStartup() {
+        try {
+            int filled = summaryService.reconcile();
+            if (filled > 0) log.info("시작 시 스펙 요약 채움 - {}명", filled);
+        } catch (RuntimeException e) {
+            // 실패해도 기동은 계속하고, 04:40 정리가 다시 채움
+            log.warn("시작 시 스펙 요약 정리 실패", e);
+        }
+    }
+
+    @Scheduled(cron = "0 50 4 * * *") // 매일 04:50 최신 스펙 포인터 채움 + 불일치 점검
+    public void reconcileLatestSpecPointers() {
+        latestSpecService.reconcile();
+    }
+
+    @Scheduled(cron = "0 10 5 * * *") // 매일 05:10 다음 달 파티션 생성 + 오래된 파티션 보관
+    public void maintainSpecPartitions() {
+        partitionMaintainer.maintain();
+    }
+
+    // 기존 행의 슬롯 JSON 을 spec_fragments 로 이전 (기본값 "-" 은 비활성, 필요할 때만 cron 지정)
+    @Scheduled(cron = "${spec.fragment.migrate-cron:-}")
+    public void migrateSpecFragments() {
+        fragmentMigrator.migrateAll();
     }
 }
@@ -0,0 +1,465 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.SpecSlot;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * armories 응답을 JsonNode 트리 없이 한 번에 읽어 CharacterSpec 슬롯을 채웁니다.
+ * <p>
+ * 장비/보석/카드/스킬 등 각 하위 객체는 파서 토큰을 그대로 JsonGenerator 로 복사해 jsonb 문자열로 만들고,
+ * 분류에 필요한 값(Type, SkillType, Name 등)만 복사하면서 함께 읽습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArmorySpecReader {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final int MAX_ENGRAVINGS = SpecSlot.engravingCount();
+    private static final int MAX_GEMS = SpecSlot.gemCount();
+    private static final int MAX_SKILLS = SpecSlot.skillCount();
+    private static final int MAX_CARDS = SpecSlot.cardCount();
+
+    private final ObjectMapper mapper;
+
+    /** armories 응답의 기본 프로필 정보 */
+    public record ProfileInfo(String characterName, String className, String serverName) {}
+
+    /**
+     * @return ArmoryProfile 이 있으면 그 기본 정보, 없으면 null
+     * @throws IllegalStateException 응답이 비어 있는 경우 (빈 배열, null)
+     */
+    public ProfileInfo read(String armoryJson, CharacterSpec spec) throws JsonProcessingException {
+        JsonFactory factory = mapper.getFactory();
+        try (JsonParser p = factory.createParser(armoryJson)) {
+            JsonToken t = p.nextToken();
+            if (t == JsonToken.START_ARRAY) t = p.nextToken();
+            if (t != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("API에서 비어있는 정보를 반환했습니다.");
+            }
+
+            for (SpecSlot slot : SpecSlot.values()) slot.set(spec, null);
+            spec.setItemLevel(parseItemLevel(null));
+            spec.setCombatPower(null);
+            spec.setArkPassive(null);
+
+            Buffer buf = new Buffer(factory);
+            ProfileInfo profile = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "ArmoryProfile": profile = readProfile(p, spec); break;
+                    case "ArmoryEquipment": readEquipment(p, spec, buf); break;
+                    case "ArmoryEngraving": readEngravings(p, spec, buf); break;
+                    case "ArmoryGem": readGems(p, spec, buf); break;
+                    case "ArmorySkills": readSkills(p, spec, buf); break;
+                    case "ArmoryCard": readCards(p, spec, buf); break;
+                    case "ArkPassive": readArkPassive(p, spec, buf); break;
+                    default: p.skipChildren();
+                }
+            }
+            return profile;
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProfileInfo readProfile(JsonParser p, CharacterSpec spec) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        Probe probe = new Probe("ItemAvgLevel", "CombatPower", "CharacterName", "CharacterClassName", "ServerName");
+        readScalars(p, probe);
+        spec.setItemLevel(parseItemLevel(probe.scalar(0)));
+        spec.setCombatPower(parseCombatPowerToLong(probe.scalar(1)));
+        return new ProfileInfo(probe.text(2), probe.text(3), probe.text(4));
+    }
+
+    private void readEquipment(JsonParser p, CharacterSpec spec, Buffer buf) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            Probe probe = new Probe("Type");
+            String json = copyObject(p, buf, probe);
+            String type = probe.text(0);
+
+            switch (type) {
+                case "투구": spec.setEquipHelmet(json); break;
+                case "어깨": spec.setEquipShoulders(json); break;
+                case "상의": spec.setEquipChest(json); break;
+                case "하의": spec.setEquipLegs(json); break;
+                case "장갑": spec.setEquipGloves(json); break;
+                case "무기": spec.setEquipWeapon(json); break;
+                case "목걸이": spec.setAccNecklace(json); break;
+                case "귀걸이":
+                    if (spec.getAccEarring1() == null) spec.setAccEarring1(json);
+                    else spec.setAccEarring2(json);
+                    break;
+                case "반지":
+                    if (spec.getAccRing1() == null) spec.setAccRing1(json);
+                    else spec.setAccRing2(json);
+                    break;
+                case "팔찌": spec.setAccBracelet(json); break;
+                case "어빌리티 스톤": spec.setAbilityStone(json); break;
+            }
+        }
+    }
+
+    private void readEngravings(JsonParser p, CharacterSpec spec, Buffer buf) throws IOException {
+        readObjectArrayField(p, "ArkPassiveEffects", (index, json) -> {
+            if (index < MAX_ENGRAVINGS) SpecSlot.engraving(index).set(spec, json);
+        }, MAX_ENGRAVINGS, buf);
+    }
+
+    private void readGems(JsonParser p, CharacterSpec spec, Buffer buf) throws IOException {
+        readObjectArrayField(p, "Gems", (index, json) -> {
+            if (index < MAX_GEMS) SpecSlot.gem(index).set(spec, json);
+        }, MAX_GEMS, buf);
+    }
+
+    private void readSkills(JsonParser p, CharacterSpec spec, Buffer buf) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        int kept = 0;
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.START_OBJECT || kept >= MAX_SKILLS) {
+                p.skipChildren();
+                continue;
+            }
+            Probe probe = new Probe("SkillType", "Tripods");
+            String json = copyObject(p, buf, probe);
+            if (parseIntOrZero(probe.scalar(0)) >= 100) continue;
+            if (probe.arraySize(1) <= 0) continue;
+            SpecSlot.skill(kept++).set(spec, json);
+        }
+    }
+
+    private void readCards(JsonParser p, CharacterSpec spec, Buffer buf) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("Cards".equals(field)) {
+                readArray(p, (index, json) -> SpecSlot.card(index).set(spec, json), MAX_CARDS, buf);
+            } else if ("Effects".equals(field)) {
+                spec.setCardEffect(copyValue(p, buf));
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private void readArkPassive(JsonParser p, CharacterSpec spec, Buffer buf) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "Title": spec.setArkPassive(scalar(p)); break;
+                case "Points": readArkPoints(p, spec, buf); break;
+                case "Effects": readArkEffects(p, spec); break;
+                default: p.skipChildren();
+            }
+        }
+    }
+
+    private void readArkPoints(JsonParser p, CharacterSpec spec, Buffer buf) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            Probe probe = new Probe("Name");
+            String json = copyObject(p, buf, probe);
+            switch (probe.text(0)) {
+                case "진화": spec.setArkEvolution(json); break;
+                case "깨달음": spec.setArkRealization(json); break;
+                case "도약": spec.setArkLeap(json); break;
+            }
+        }
+    }
+
+    private void readArkEffects(JsonParser p, CharacterSpec spec) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        List<String> evolutionDetails = new ArrayList<>();
+        List<String> realizationDetails = new ArrayList<>();
+        List<String> leapDetails = new ArrayList<>();
+
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            Probe probe = new Probe("Name", "ToolTip", "Description");
+            readScalars(p, probe);
+            String tooltipJsonString = probe.text(1);
+            if (tooltipJsonString.isEmpty()) continue;
+
+            String description;
+            try {
+                description = findDescriptionInTooltip(tooltipJsonString);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to parse tooltip JSON in ArmorySpecReader", e);
+            }
+            if (description == null || description.isEmpty()) continue;
+
+            String cleanedDescription = HTML_TAG.matcher(description).replaceAll("").replace("||<BR>", " ").trim();
+            if (cleanedDescription.isEmpty()) continue;
+
+            String effectTitle = HTML_TAG.matcher(probe.text(2)).replaceAll("").trim();
+            String finalDetail = effectTitle + ": " + cleanedDescription;
+
+            switch (probe.text(0)) {
+                case "진화": evolutionDetails.add(finalDetail); break;
+                case "깨달음": realizationDetails.add(finalDetail); break;
+                case "도약": leapDetails.add(finalDetail); break;
+            }
+        }
+
+        if (!evolutionDetails.isEmpty()) spec.setArkEvolutionDetail(mapper.writeValueAsString(evolutionDetails));
+        if (!realizationDetails.isEmpty()) spec.setArkRealizationDetail(mapper.writeValueAsString(realizationDetails));
+        if (!leapDetails.isEmpty()) spec.setArkLeapDetail(mapper.writeValueAsString(leapDetails));
+    }
+
+    /** 툴팁(JSON 문자열)에서 Element_001.value.Element_000.value, 없으면 Element_002.value 를 찾습니다. */
+    private String findDescriptionInTooltip(String tooltip) throws IOException {
+        try (JsonParser p = mapper.getFactory().createParser(tooltip)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+            String primary = null;
+            String fallback = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("Element_001".equals(field)) primary = textAt(p, 0, "value", "Element_000", "value");
+                else if ("Element_002".equals(field)) fallback = textAt(p, 0, "value");
+                else p.skipChildren();
+            }
+            return primary != null ? primary : fallback;
+        }
+    }
+
+    /** 현재 값에서 path 를 따라 내려가 문자열 값이면 반환합니다. 현재 값은 끝까지 소비합니다. */
+    private static String textAt(JsonParser p, int depth, String... path) throws IOException {
+        if (depth == path.length) {
+            String text = p.currentToken() == JsonToken.VALUE_STRING ? p.getText() : null;
+            p.skipChildren();
+            return text;
+        }
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        String found = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (found == null && path[depth].equals(field)) found = textAt(p, depth + 1, path);
+            else p.skipChildren();
+        }
+        return found;
+    }
+
+    private interface SlotSink {
+        void accept(int index, String json);
+    }
+
+    /** { field: [ ... ] } 형태에서 field 배열의 앞 limit 개를 복사합니다. */
+    private void readObjectArrayField(JsonParser p, String arrayField, SlotSink sink, int limit, Buffer buf) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (arrayField.equals(field)) readArray(p, sink, limit, buf);
+            else p.skipChildren();
+        }
+    }
+
+    private void readArray(JsonParser p, SlotSink sink, int limit, Buffer buf) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        int index = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (index < limit) sink.accept(index, copyValue(p, buf));
+            else p.skipChildren();
+            index++;
+        }
+    }
+
+    /** 현재 값을 JSON 문자열로 복사 (null 이면 null) */
+    private static String copyValue(JsonParser p, Buffer buf) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        JsonGenerator g = buf.start();
+        g.copyCurrentStructure(p);
+        return buf.finish();
+    }
+
+    /** 현재 객체를 복사하면서 probe 에 지정된 최상위 필드의 값(스칼라) 또는 배열 길이를 기록합니다. */
+    private static String copyObject(JsonParser p, Buffer buf, Probe probe) throws IOException {
+        JsonGenerator g = buf.start();
+        g.writeStartObject();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            g.writeFieldName(field);
+            JsonToken v = p.nextToken();
+            int i = probe.indexOf(field);
+            if (i >= 0 && v == JsonToken.START_ARRAY) {
+                g.writeStartArray();
+                int size = 0;
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    g.copyCurrentStructure(p);
+                    size++;
+                }
+                g.writeEndArray();
+                probe.arraySizes[i] = size;
+                continue;
+            }
+            if (i >= 0 && v.isScalarValue()) probe.scalars[i] = p.getValueAsString();
+            g.copyCurrentStructure(p);
+        }
+        g.writeEndObject();
+        return buf.finish();
+    }
+
+    /** 현재 객체의 최상위 스칼라 필드 중 probe 에 지정된 것만 읽고 나머지는 건너뜁니다. */
+    private static void readScalars(JsonParser p, Probe probe) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            int i = probe.indexOf(p.currentName());
+            p.nextToken();
+            if (i >= 0) probe.scalars[i] = scalar(p);
+            else p.skipChildren();
+        }
+    }
+
+    private static String scalar(JsonParser p) throws IOException {
+        if (p.currentToken().isScalarValue()) return p.getValueAsString();
+        p.skipChildren();
+        return null;
+    }
+
+    /** 객체 하나를 읽는 동안 관심 있는 최상위 필드 값을 담아 둡니다. */
+    private static final class Probe {
+        final String[] names;
+        final String[] scalars;
+        final int[] arraySizes;
+
+        Probe(String... names) {
+            this.names = names;
+            this.scalars = new String[names.length];
+            this.arraySizes = new int[names.length];
+            Arrays.fill(arraySizes, -1);
+        }
+
+        int indexOf(String field) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(field)) return i;
+            }
+            return -1;
+        }
+
+        String scalar(int i) {
+            return scalars[i];
+        }
+
+        /** JsonNode.asText() 처럼 값이 없으면 빈 문자열 */
+        String text(int i) {
+            return scalars[i] == null ? "" : scalars[i];
+        }
+
+        int arraySize(int i) {
+            return arraySizes[i];
+        }
+    }
+
+    /** 슬롯 하나를 문자열로 복사할 때마다 재사용하는 출력 버퍼 */
+    private static final class Buffer {
+        private final JsonFactory factory;
+        private final StringWriter out = new StringWriter(4096);
+        private JsonGenerator generator;
+
+        Buffer(JsonFactory factory) {
+            this.factory = factory;
+        }
+
+        JsonGenerator start() throws IOException {
+            out.getBuffer().setLength(0);
+            generator = factory.createGenerator(out);
+            return generator;
+        }
+
+        String finish() throws IOException {
+            generator.close();
+            return out.toString();
+        }
+    }
+
+    private static int parseIntOrZero(String raw) {
+        if (raw == null) return 0;
+        try {
+            return Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public static BigDecimal parseItemLevel(String raw) {
+        if (raw == null || raw.isBlank()) return new BigDecimal("0.00");
+        return new BigDecimal(raw.replace(",", ""));
+    }
+
+    public static Long parseCombatPowerToLong(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        var bd = new BigDecimal(raw.replace(",", ""));
+        return bd.setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.SpecSlot;
+import com.example.Loark.Entity.User;
+import com.example.Loark.Repository.SpecFragmentStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.util.PGInterval;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 캐릭터의 스펙 스냅샷 전체와 전투 기록 전체를 gzip NDJSON 으로 내보냅니다. (한 줄에 한 행)
+ * <pre>
+ * {"kind":"spec","spec_id":1,...,"equip_weapon":{...}}
+ * {"kind":"combat_record","id":10,"raid_name":"...",...}
+ * </pre>
+ * 정렬 키 기준 키셋으로 chunk-size 행씩 읽고, 읽은 묶음을 커넥션을 돌려준 뒤에 응답에 씁니다.
+ * 내려받는 쪽이 느려도 DB 커넥션이나 트랜잭션을 내보내기 내내 잡고 있지 않고, 메모리에는 한 묶음만 올라갑니다.
+ * (묶음마다 따로 읽으므로 내보내는 도중 추가된 기록이 포함될 수 있음)
+ * 보관 파일로 옮겨진 스냅샷도 파일을 row group 단위로 읽어 먼저 내보냅니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CharacterExportService {
+
+    // 값을 문자열이 아니라 JSON 그대로 넣는 열
+    private static final Set<String> JSON_COLUMNS = jsonColumns();
+
+    private final CharacterService characterService;
+    private final JdbcTemplate jdbcTemplate;
+    private final S3UploadService s3UploadService;
+    private final SpecFragmentStore fragmentStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:app}")
+    private String schema;
+
+    // 한 번에 읽는 행 수 (스펙 행은 슬롯 jsonb 가 있어 큼)
+    @Value("${character.export.chunk-size:200}")
+    private int chunkSize;
+
+    /**
+     * 권한을 확인하고 응답 본문을 만듭니다. 실제 조회는 본문을 쓸 때(요청 스레드 밖) 합니다.
+     * @throws IllegalStateException 권한이 없거나 캐릭터가 존재하지 않을 경우
+     */
+    public StreamingResponseBody export(String characterName, User currentUser) {
+        Character character = characterService.requireCombatRecordAccess(characterName, currentUser);
+        Long characterId = character.getCharacterId();
+        String name = character.getName();
+        return out -> write(characterId, name, out);
+    }
+
+    private void write(Long characterId, String characterName, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(gzip)) {
+            // 응답 스트림은 컨테이너가 닫음
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            long archived = writeArchivedSpecs(gen, characterId);
+            long specs = writeChunks(gen, "spec", """
+                    SELECT * FROM %s.character_specs WHERE character_id = ?
+                    """.formatted(schema), characterId, "updated_at", "spec_id");
+            // ts 는 비어 있을 수 있어 키셋은 id 로만
+            long records = writeChunks(gen, "combat_record", """
+                    SELECT * FROM statistic.fact_gate_metrics WHERE character_id = ?
+                    """, characterName, "id");
+            gen.flush();
+            gzip.finish();
+            log.info("캐릭터 내보내기 - {}: 보관 스펙 {}행, 스펙 {}행, 전투 기록 {}행",
+                    characterName, archived, specs, records);
+        }
+    }
+
+    /**
+     * keyColumns 순 키셋으로 chunk-size 행씩 읽어 씁니다. (keyColumns 는 NULL 이 없고 합쳐서 유일해야 함)
+     * 묶음 하나는 쿼리 하나(자동 커밋)로 읽어 목록에 담은 뒤 쓰므로, 쓰는 동안에는 커넥션을 잡고 있지 않습니다.
+     */
+    private long writeChunks(JsonGenerator gen, String kind, String select, Object key, String... keyColumns)
+            throws IOException {
+        String columns = String.join(", ", keyColumns);
+        String placeholders = String.join(", ", Collections.nCopies(keyColumns.length, "?"));
+        String first = select + " ORDER BY " + columns + " LIMIT ?";
+        String next = select + " AND (" + columns + ") > (" + placeholders + ") ORDER BY " + columns + " LIMIT ?";
+        long count = 0;
+        Object[] after = null;
+        while (true) {
+            List<Object> args = new ArrayList<>();
+            args.add(key);
+            if (after != null) args.addAll(Arrays.asList(after));
+            args.add(chunkSize);
+            List<Row> chunk = jdbcTemplate.query(after == null ? first : next,
+                    (rs, i) -> Row.of(rs, keyColumns), args.toArray());
+            for (Row row : chunk) writeRow(gen, kind, row.values());
+            count += chunk.size();
+            if (chunk.size() < chunkSize) return count;
+            after = chunk.get(chunk.size() - 1).keys();
+        }
+    }
+
+    /** 한 행의 열 값 (JSON 열은 텍스트 그대로) 과 다음 묶음을 찾을 키 값 */
+    private record Row(Map<String, Object> values, Object[] keys) {
+
+        static Row of(ResultSet rs, String... keyColumns) throws SQLException {
+            ResultSetMetaData meta = rs.getMetaData();
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                String column = meta.getColumnName(i);
+                values.put(column, JSON_COLUMNS.contains(column) ? rs.getString(i) : value(rs.getObject(i)));
+            }
+            Object[] keys = new Object[keyColumns.length];
+            for (int i = 0; i < keyColumns.length; i++) keys[i] = rs.getObject(keyColumns[i]);
+            return new Row(values, keys);
+        }
+    }
+
+    /** 보관 파일 순서(기간 순)대로, 파일마다 이 캐릭터의 행만 */
+    private long writeArchivedSpecs(JsonGenerator gen, Long characterId) {
+        List<String> keys = jdbcTemplate.queryForList("""
+                SELECT a.archive_key
+                FROM %1$s.spec_archives a
+                WHERE a.partition_name IN (
+                    SELECT DISTINCT e.partition_name FROM %1$s.spec_archive_catalog e WHERE e.character_id = ?)
+                ORDER BY a.period_start
+                """.formatted(schema), String.class, characterId);
+
+        long[] count = {0};
+        for (String key : keys) {
+            try (InputStream in = s3UploadService.openArchive(key)) {
+                SpecArchiveCodec.forEachMatching(in, objectMapper, "character_id", characterId, row -> {
+                    try {
+                        writeRow(gen, "spec", row);
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("보관 파일을 읽을 수 없습니다: " + key, e);
+            }
+        }
+        return count[0];
+    }
+
+    private void writeRow(JsonGenerator gen, String kind, Map<String, Object> row) throws IOException {
+        // 행의 조각 참조를 한 번에 풂 (캐시에 없는 조각만 한 번 조회)
+        List<String> jsonValues = new ArrayList<>();
+        row.forEach((column, value) -> {
+            if (JSON_COLUMNS.contains(column)) jsonValues.add((String) value);
+        });
+        Map<String, String> fragments = fragmentStore.resolveAll(jsonValues);
+
+        gen.writeStartObject();
+        gen.writeStringField("kind", kind);
+        for (Map.Entry<String, Object> e : row.entrySet()) {
+            if (JSON_COLUMNS.contains(e.getKey())) {
+                writeJson(gen, e.getKey(), (String) e.getValue(), fragments);
+            } else {
+                gen.writeFieldName(e.getKey());
+                gen.writeObject(e.getValue());
+            }
+        }
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+
+    /** jsonb 텍스트를 다시 파싱하지 않고 그대로 씀 (조각 참조는 풀어 둔 본문으로) */
+    private static void writeJson(JsonGenerator gen, String column, String json, Map<String, String> fragments)
+            throws IOException {
+        gen.writeFieldName(column);
+        if (json == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeRawValue(fragments.getOrDefault(json, json));
+    }
+
+    private static Object value(Object jdbcValue) {
+        if (jdbcValue instanceof PGInterval interval) {
+            return Duration.ofDays(interval.getDays())
+                    .plusHours(interval.getHours())
+                    .plusMinutes(interval.getMinutes())
+                    .plusMillis(Math.round(interval.getSeconds() * 1000))
+                    .toString();
+        }
+        return SpecArchiveCodec.normalize(jdbcValue);
+    }
+
+    private static Set<String> jsonColumns() {
+        Set<String> columns = new HashSet<>();
+        for (SpecSlot slot : SpecSlot.values()) columns.add(slot.getColumn());
+        columns.add("section_hashes");
+        return Set.copyOf(columns);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.Loark.Service;
 
 import com.example.Loark.DTO.CharacterResponse;
 import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.CharacterSpecSummary;
 
 import java.util.function.Function;
 
@@ -14,4 +15,16 @@ public class CharacterMapper {
                     .main(entity.isMain())
                     .updatedAt(entity.getUpdatedAt())
                     .build();
-}
\ No newline at end of file
+
+    /** 목록용: 캐릭터 + 최신 스펙 요약 (요약이 없으면 스펙 필드는 null) */
+    public static CharacterResponse toDto(Character entity, CharacterSpecSummary summary) {
+        CharacterResponse dto = toDto.apply(entity);
+        dto.setClazz(entity.getClazz());
+        if (summary != null) {
+            dto.setItemLevel(summary.getItemLevel());
+            dto.setCombatPower(summary.getCombatPower());
+            dto.setArkPassive(summary.getArkPassive());
+        }
+        return dto;
+    }
+}
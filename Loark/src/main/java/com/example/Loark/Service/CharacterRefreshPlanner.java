@@ -0,0 +1,211 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.RefreshCandidate;
+import com.example.Loark.Entity.CharacterRefreshState;
+import com.example.Loark.Repository.CharacterRefreshStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 활동도 기반 스펙 갱신 스케줄링.
+ * <p>
+ * 매 tick 마다 갱신 시점이 지난 캐릭터를 후보로 읽고, 활동 신호로 점수를 매겨 우선순위 큐에서
+ * tick-budget 만큼만 꺼내 갱신합니다. 갱신 후에는 활동도와 전투력 변화 여부로 다음 갱신 시점을 정합니다.
+ * 조회가 잦은 캐릭터는 분 단위로, 아무도 보지 않고 전투력도 그대로인 캐릭터는 최대 max-interval 간격으로 갱신됩니다.
+ * <p>
+ * 후보는 character_refresh_state 의 lease 로 가져오므로(FOR UPDATE SKIP LOCKED) 인스턴스를 여러 개 띄워도
+ * 같은 캐릭터를 두 번 갱신하지 않고, 죽은 인스턴스가 잡고 있던 캐릭터는 lease-duration 뒤에 다른 인스턴스가 가져갑니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CharacterRefreshPlanner {
+
+    // 실패한 캐릭터는 활동도와 상관없이 이 시간 안에 다시 시도
+    private static final Duration RETRY_AFTER_FAILURE = Duration.ofMinutes(15);
+
+    private final CharacterRefreshStateRepository stateRepo;
+    private final CharacterSpecRefreshPipeline pipeline;
+    private final CharacterViewTracker viewTracker;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${lostark.refresh.min-interval:5m}")
+    private Duration minInterval;
+
+    @Value("${lostark.refresh.max-interval:24h}")
+    private Duration maxInterval;
+
+    // 전투력이 이 횟수만큼 연속으로 그대로면 그 다음부터 간격을 2배씩 늘림
+    @Value("${lostark.refresh.backoff-after:3}")
+    private int backoffAfter;
+
+    // tick 한 번에 갱신하는 최대 캐릭터 수 (API 한도 안에서 나눠 쓰도록)
+    @Value("${lostark.refresh.tick-budget:60}")
+    private int tickBudget;
+
+    // 큐에 올리는 후보 수 = tick-budget * candidate-factor
+    @Value("${lostark.refresh.candidate-factor:4}")
+    private int candidateFactor;
+
+    // tick 한 번(조회 + 저장)이 끝나기에 충분히 길게
+    @Value("${lostark.refresh.lease-duration:10m}")
+    private Duration leaseDuration;
+
+    private RefreshPriority priority;
+
+    // 이 인스턴스의 lease 소유자 이름 (pid@host + 임의값)
+    private final String leaseOwner = ManagementFactory.getRuntimeMXBean().getName()
+            + "/" + UUID.randomUUID().toString().substring(0, 8);
+
+    @PostConstruct
+    void init() {
+        priority = new RefreshPriority(minInterval, maxInterval, backoffAfter);
+    }
+
+    /**
+     * 한 번의 스케줄링 주기. 갱신한 캐릭터 수를 반환합니다.
+     */
+    public int tick() {
+        Set<Long> viewed = viewTracker.drainRecentlyViewed();
+        transactionTemplate.executeWithoutResult(status -> {
+            stateRepo.insertMissing();
+            if (!viewed.isEmpty()) stateRepo.pullForward(viewed, minInterval.toSeconds());
+        });
+
+        List<RefreshCandidate> candidates = claimCandidates();
+        if (candidates.isEmpty()) return 0;
+
+        List<RefreshCandidate> picked = pick(candidates);
+        releaseUnpicked(candidates, picked);
+
+        long startedAt = System.nanoTime();
+        List<CharacterSpecRefreshPipeline.RefreshResult> results = pipeline.refresh(picked);
+        CharacterSpecRefreshPipeline.RunReport report =
+                pipeline.record(results, Duration.ofNanos(System.nanoTime() - startedAt));
+        reschedule(picked, results);
+
+        log.info("스펙 우선순위 갱신 - 후보 {}명 중 {}", candidates.size(), report);
+        return results.size();
+    }
+
+    /** 삭제된 캐릭터의 일정 정리 (하루 한 번이면 충분) */
+    public int cleanUp() {
+        Integer deleted = transactionTemplate.execute(status -> stateRepo.deleteOrphans());
+        return deleted == null ? 0 : deleted;
+    }
+
+    /** 후보에 lease 를 걸고 활동 신호를 읽어옵니다. */
+    private List<RefreshCandidate> claimCandidates() {
+        List<Long> claimed = transactionTemplate.execute(status ->
+                stateRepo.claimDue(leaseOwner, leaseDuration.toSeconds(), tickBudget * candidateFactor));
+        if (claimed == null || claimed.isEmpty()) return List.of();
+
+        List<Object[]> rows = stateRepo.findCandidateRows(claimed);
+        List<RefreshCandidate> candidates = new ArrayList<>(rows.size());
+        for (Object[] r : rows) {
+            Long characterId = ((Number) r[0]).longValue();
+            candidates.add(new RefreshCandidate(
+                    characterId,
+                    (String) r[1],
+                    (String) r[2],
+                    ((Number) r[3]).intValue(),
+                    r[4] == null ? null : ((Number) r[4]).longValue(),
+                    r[5] == null ? 0 : ((Number) r[5]).doubleValue(),
+                    viewTracker.viewAgeSeconds(characterId),
+                    toDouble(r[6]),
+                    toDouble(r[8]),
+                    toDouble(r[9]),
+                    toDouble(r[7])));
+        }
+        return candidates;
+    }
+
+    /** 점수가 높은 순으로 tick-budget 명 */
+    List<RefreshCandidate> pick(List<RefreshCandidate> candidates) {
+        record Scored(RefreshCandidate candidate, double score) {}
+
+        PriorityQueue<Scored> queue = new PriorityQueue<>(Comparator.comparingDouble(Scored::score).reversed());
+        for (RefreshCandidate c : candidates) {
+            queue.add(new Scored(c, priority.score(c, priority.hotness(c))));
+        }
+        List<RefreshCandidate> picked = new ArrayList<>(Math.min(tickBudget, queue.size()));
+        while (!queue.isEmpty() && picked.size() < tickBudget) {
+            picked.add(queue.poll().candidate());
+        }
+        return picked;
+    }
+
+    private void releaseUnpicked(List<RefreshCandidate> candidates, List<RefreshCandidate> picked) {
+        if (picked.size() == candidates.size()) return;
+        Set<Long> pickedIds = picked.stream().map(RefreshCandidate::characterId).collect(Collectors.toSet());
+        List<Long> unpicked = candidates.stream()
+                .map(RefreshCandidate::characterId)
+                .filter(id -> !pickedIds.contains(id))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> stateRepo.releaseLeases(unpicked, leaseOwner));
+    }
+
+    private void reschedule(List<RefreshCandidate> picked, List<CharacterSpecRefreshPipeline.RefreshResult> results) {
+        Map<Long, RefreshCandidate> byId = picked.stream()
+                .collect(Collectors.toMap(RefreshCandidate::characterId, Function.identity()));
+        Map<Long, CharacterSpecRefreshPipeline.RefreshResult> resultById = new HashMap<>();
+        for (var result : results) resultById.put(result.characterId(), result);
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (CharacterRefreshState state : stateRepo.findAllById(byId.keySet())) {
+                // lease 가 만료되어 다른 인스턴스가 이미 가져갔으면 건드리지 않음
+                if (!leaseOwner.equals(state.getLeaseOwner())) continue;
+                state.setLeaseOwner(null);
+                state.setLeaseExpiresAt(null);
+
+                var result = resultById.get(state.getCharacterId());
+                if (result == null) continue;
+                double hotness = priority.hotness(byId.get(state.getCharacterId()));
+                state.setPriority(hotness);
+
+                switch (result.outcome()) {
+                    case FAILED -> {
+                        Duration interval = priority.interval(hotness, state.getUnchangedPolls());
+                        state.setNextRefreshAt(now.plus(interval.compareTo(RETRY_AFTER_FAILURE) < 0 ? interval : RETRY_AFTER_FAILURE));
+                        continue;
+                    }
+                    case UPDATED -> state.setUnchangedPolls(0);
+                    case UNCHANGED -> {
+                        boolean changed = result.combatPower() != null
+                                && !Objects.equals(result.combatPower(), state.getLastCombatPower());
+                        state.setUnchangedPolls(changed ? 0 : state.getUnchangedPolls() + 1);
+                    }
+                    // 404/빈 응답은 전투력 변화 여부를 알 수 없으므로 백오프 횟수를 그대로 둠
+                    case EMPTY -> { }
+                }
+                if (result.combatPower() != null) state.setLastCombatPower(result.combatPower());
+                state.setLastRefreshedAt(now);
+                state.setNextRefreshAt(now.plus(priority.interval(hotness, state.getUnchangedPolls())));
+            }
+        });
+    }
+
+    private static Double toDouble(Object value) {
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+}
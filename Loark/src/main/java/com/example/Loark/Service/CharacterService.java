@@ -1,13 +1,23 @@
 package com.example.Loark.Service;
 
+import com.example.Loark.DTO.ArmorySection;
+import com.example.Loark.DTO.Character_Profile;
+import com.example.Loark.DTO.CombatRecordField;
+import com.example.Loark.DTO.CombatRecordFilter;
+import com.example.Loark.DTO.CombatSummaryDto;
 import com.example.Loark.DTO.FactGateMetricsDto;
 import com.example.Loark.Entity.Character;
 import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.CombatRollup;
+import com.example.Loark.Entity.CombatRollupId;
 import com.example.Loark.Entity.User;
 import com.example.Loark.Repository.CharacterRepository;
 import com.example.Loark.Repository.CharacterSpecRepository;
+import com.example.Loark.Repository.CombatRollupRepository;
 import com.example.Loark.Repository.FactGateMetricsRepository;
 import com.example.Loark.Repository.FriendRepository;
+import com.example.Loark.Repository.SpecFragmentStore;
+import com.example.Loark.Repository.SpecTimelineStore;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,14 +33,19 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CharacterService {
+    private static final int MAX_TIMELINE_LIMIT = 1000;
+    private static final int MAX_RECORD_PAGE_LIMIT = 500;
+
     private final LostarkApiClient loa;
     private final CharacterRepository characterRepo;
     private final CharacterSpecRepository characterSpecRepo;
@@ -39,6 +54,16 @@ public class CharacterService {
     private final ObjectMapper mapper;
     private final ClovaOcrService clovaOcrService;
     private final S3UploadService s3UploadService;
+    private final ArmorySpecReader armorySpecReader;
+    private final CharacterViewTracker viewTracker;
+    private final CharacterSpecWriter specWriter;
+    private final LatestSpecService latestSpecService;
+    private final SpecTimeIndex specTimeIndex;
+    private final SpecArchiveReader specArchiveReader;
+    private final SpecTimelineStore specTimelineStore;
+    private final CombatRollupRepository combatRollupRepo;
+    private final CombatRollupService combatRollupService;
+    private final SpecFragmentStore specFragmentStore;
 
     /**
      * 특정 캐릭터의 모든 전투 기록을 조회합니다. (본인 또는 친구만 가능)
@@ -49,6 +74,61 @@ public class CharacterService {
      */
     @Transactional(readOnly = true)
     public List<FactGateMetricsDto> getCharacterCombatRecords(String characterName, User currentUser) {
+        requireCombatRecordAccess(characterName, currentUser);
+
+        // 4. 권한이 확인되면, 전투 기록을 조회하여 반환합니다.
+        return factGateMetricsRepository.findAllByCharacterName(characterName);
+    }
+
+    /**
+     * 전투 기록 한 페이지 (최근 순, 요청한 필드만). 권한 확인은 전체 목록과 같습니다.
+     * @throws IllegalStateException 권한이 없거나 캐릭터가 존재하지 않을 경우
+     * @throws IllegalArgumentException limit 이 범위를 벗어난 경우
+     */
+    @Transactional(readOnly = true)
+    public FactGateMetricsRepository.CombatRecordPage getCharacterCombatRecordPage(
+            String characterName, User currentUser, CombatRecordFilter filter, Set<CombatRecordField> fields,
+            FactGateMetricsRepository.Cursor after, int limit) {
+        if (limit < 1 || limit > MAX_RECORD_PAGE_LIMIT) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + MAX_RECORD_PAGE_LIMIT + " 사이여야 합니다.");
+        }
+        requireCombatRecordAccess(characterName, currentUser);
+        return factGateMetricsRepository.findPageByCharacterName(characterName, filter, fields, after, limit);
+    }
+
+    /**
+     * 레이드 × 관문 × 난이도별 전투 기록 요약. 미리 집계한 combat_rollups 를 읽고, 중앙값만 그 캐릭터 기록에서 구합니다.
+     * (권한 확인은 목록 조회와 같음) 집계 작업 주기(combat.rollup.tick-ms)만큼 최신 기록이 늦게 반영될 수 있습니다.
+     * @throws IllegalStateException 권한이 없거나 캐릭터가 존재하지 않을 경우
+     */
+    @Transactional(readOnly = true)
+    public List<CombatSummaryDto> getCombatSummary(String characterName, User currentUser) {
+        requireCombatRecordAccess(characterName, currentUser);
+        List<CombatRollup> rollups = combatRollupRepo
+                .findAllByIdCharacterNameOrderByIdRaidNameAscIdGateNumberAscIdDifficultyAsc(characterName);
+        if (rollups.isEmpty()) return List.of();
+        Map<CombatRollupId, Double> medians = combatRollupService.findMedianDps(characterName);
+        return rollups.stream()
+                .map(rollup -> CombatSummaryDto.from(rollup, medians.get(rollup.getId())))
+                .toList();
+    }
+
+    /**
+     * 전투 기록 목록의 버전만 조회합니다. (조건부 GET 검증용, 권한 확인은 목록 조회와 같음)
+     * @throws IllegalStateException 권한이 없거나 캐릭터가 존재하지 않을 경우
+     */
+    @Transactional(readOnly = true)
+    public FactGateMetricsRepository.RecordsVersion getCombatRecordsVersion(String characterName, User currentUser) {
+        requireCombatRecordAccess(characterName, currentUser);
+        return factGateMetricsRepository.findVersionByCharacterName(characterName);
+    }
+
+    /**
+     * 전투 기록/내보내기 권한 확인 (본인 또는 친구)
+     * @throws IllegalStateException 권한이 없거나 캐릭터가 존재하지 않을 경우
+     */
+    @Transactional(readOnly = true)
+    public Character requireCombatRecordAccess(String characterName, User currentUser) {
         // 1. 먼저 캐릭터 이름으로 캐릭터 정보를 조회하여 소유주를 찾습니다.
         Character targetCharacter = characterRepo.findByName(characterName)
                 .orElseThrow(() -> new IllegalStateException("존재하지 않는 캐릭터입니다."));
@@ -66,9 +146,7 @@ public class CharacterService {
         if (!isOwner && !isFriend) {
             throw new IllegalStateException("조회 권한이 없습니다.");
         }
-
-        // 4. 권한이 확인되면, 전투 기록을 조회하여 반환합니다.
-        return factGateMetricsRepository.findAllByCharacterName(characterName);
+        return targetCharacter;
     }
 
     /**
@@ -89,93 +167,193 @@ public class CharacterService {
             throw new IllegalStateException("해당 전투 기록을 삭제할 권한이 없습니다.");
         }
 
-        // 3. 권한이 확인되면 기록을 삭제합니다.
+        // 3. 권한이 확인되면 기록을 삭제하고, 그 기록이 속한 집계를 다시 계산합니다.
+        Optional<CombatRollupId> rollupKey = factGateMetricsRepository.findRollupKeyById(recordId);
         factGateMetricsRepository.deleteById(recordId);
+        rollupKey.ifPresent(combatRollupService::recompute);
     }
 
+    /**
+     * 최신 스냅샷의 id 와 시각만 조회합니다. (characters.latest_spec_id 와 그 스냅샷의 시각, 본문은 읽지 않음)
+     * 포인터가 아직 없거나 최신 스냅샷이 보관 파일로 옮겨진 캐릭터만 스냅샷 시각 인덱스로 대신합니다.
+     * 스냅샷은 추가만 되므로 specId 가 같으면 내용도 같습니다.
+     */
     @Transactional(readOnly = true)
-    public Optional<CharacterSpec> getLatestCharacterSpec(String characterName) {
+    public Optional<SpecTimeIndex.Point> findLatestSpecVersion(String characterName) {
         Optional<Character> characterOpt = characterRepo.findByName(characterName);
         if (characterOpt.isEmpty()) {
             return Optional.empty();
         }
-        return characterSpecRepo.findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(characterOpt.get().getCharacterId());
+        Character character = characterOpt.get();
+        viewTracker.recordView(character.getCharacterId());
+        Long specId = character.getLatestSpecId();
+        if (specId != null) {
+            Optional<LocalDateTime> updatedAt = characterSpecRepo.findUpdatedAt(specId);
+            if (updatedAt.isPresent()) {
+                return Optional.of(new SpecTimeIndex.Point(specId, updatedAt.get()));
+            }
+        }
+        return specTimeIndex.latest(character);
+    }
+
+    /**
+     * 최신 스냅샷 본문 (LatestSpecService, 포인터로 PK 조회 한 번).
+     * findLatestSpecVersion 뒤에 새 스냅샷이 저장되어 최신이 specId 와 달라졌으면 ETag 와 맞도록 specId 의 스냅샷을 읽습니다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CharacterSpec> getLatestCharacterSpec(String characterName, Long specId) {
+        specFragmentStore.prefetch(List.of(specId));
+        return characterRepo.findByName(characterName)
+                .flatMap(character -> latestSpecService.find(character)
+                        .filter(spec -> specId.equals(spec.getSpecId()))
+                        .or(() -> findOwnSpec(character, specId)));
     }
 
+    /** date 가 끝나는 시점의 스냅샷 id 와 시각만 조회합니다. */
     @Transactional(readOnly = true)
-    public Optional<CharacterSpec> getCharacterSpecByDate(String characterName, LocalDate date) {
+    public Optional<SpecTimeIndex.Point> findSpecVersionByDate(String characterName, LocalDate date) {
         Optional<Character> characterOpt = characterRepo.findByName(characterName);
         if (characterOpt.isEmpty()) {
             return Optional.empty();
         }
+        viewTracker.recordView(characterOpt.get().getCharacterId());
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-        return characterSpecRepo.findFirstByCharacterCharacterIdAndUpdatedAtLessThanEqualOrderByUpdatedAtDesc(
-                characterOpt.get().getCharacterId(),
-                endOfDay
-        );
+        return specTimeIndex.atOrBefore(characterOpt.get(), endOfDay);
     }
 
+    /** 캐릭터의 스냅샷 하나 (보관된 스냅샷 포함) */
+    @Transactional(readOnly = true)
+    public Optional<CharacterSpec> getCharacterSpec(String characterName, Long specId) {
+        // 슬롯 전부를 내려주므로 컨버터가 슬롯마다 조각을 따로 읽지 않게 미리 캐시에 올림
+        specFragmentStore.prefetch(List.of(specId));
+        return characterRepo.findByName(characterName)
+                .flatMap(character -> findOwnSpec(character, specId));
+    }
+
+    /**
+     * 스펙 타임라인 한 페이지 (스칼라 열만). from/to 는 날짜 단위로 양 끝 포함.
+     * @throws IllegalArgumentException limit 이 범위를 벗어난 경우
+     */
+    @Transactional(readOnly = true)
+    public Optional<SpecTimelineStore.Page> getSpecTimeline(String characterName, LocalDate from, LocalDate to,
+                                                             SpecTimelineStore.Resolution resolution,
+                                                             SpecTimelineStore.Cursor after, int limit) {
+        if (limit < 1 || limit > MAX_TIMELINE_LIMIT) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + MAX_TIMELINE_LIMIT + " 사이여야 합니다.");
+        }
+        return characterRepo.findByName(characterName)
+                .map(character -> specTimelineStore.find(character.getCharacterId(),
+                        from == null ? null : from.atStartOfDay(),
+                        to == null ? null : to.plusDays(1).atStartOfDay(),
+                        resolution, after, limit));
+    }
+
+    /**
+     * 두 스냅샷이 모두 이 캐릭터의 것인지 (스냅샷 시각 인덱스, 본문은 읽지 않음)
+     * 비교 결과의 304 여부를 정하기 전에 확인합니다.
+     */
+    @Transactional(readOnly = true)
+    public boolean hasOwnSpecs(String characterName, Long fromSpecId, Long toSpecId) {
+        return characterRepo.findByName(characterName)
+                .map(character -> specTimeIndex.contains(character, fromSpecId)
+                        && specTimeIndex.contains(character, toSpecId))
+                .orElse(false);
+    }
+
+    /**
+     * 같은 캐릭터의 두 스냅샷 차이. 둘 중 하나라도 없거나 다른 캐릭터의 스냅샷이면 empty.
+     * 바뀐 섹션의 슬롯만 읽으므로 트랜잭션 안에서 계산합니다. (섹션별 슬롯 지연 로딩)
+     */
+    @Transactional(readOnly = true)
+    public Optional<SpecDiff.Result> diffCharacterSpecs(String characterName, Long fromSpecId, Long toSpecId) {
+        Optional<Character> characterOpt = characterRepo.findByName(characterName);
+        if (characterOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        Character character = characterOpt.get();
+        Optional<CharacterSpec> from = findOwnSpec(character, fromSpecId);
+        Optional<CharacterSpec> to = findOwnSpec(character, toSpecId);
+        if (from.isEmpty() || to.isEmpty()) {
+            return Optional.empty();
+        }
+        viewTracker.recordView(character.getCharacterId());
+        return Optional.of(SpecDiff.diff(from.get(), to.get(), mapper));
+    }
+
+    /**
+     * 현재 스펙을 조회해 새 스냅샷으로 저장합니다. 최신 스냅샷과 내용이 같으면 저장하지 않고 그 스냅샷을 반환합니다.
+     * 로스트아크 API 서킷이 열려 있으면 마지막으로 저장된 스펙을 대신 반환합니다. (stale = true)
+     * @throws ExternalApiUnavailableException 서킷이 열려 있고 저장된 스펙도 없는 경우
+     */
     @Transactional
-    public void saveCharacterSpec(User user, String characterName) throws JsonProcessingException {
+    public SpecSaveResult saveCharacterSpec(User user, String characterName) throws JsonProcessingException {
         requireApiKey(user);
 
         Character character = characterRepo.findByUserAndName(user, characterName)
                 .orElseThrow(() -> new IllegalArgumentException("캐릭터를 찾을 수 없습니다: " + characterName));
 
-        String armoryJson = loa.fetchArmory(user.getUserApiKey(), characterName);
+        String armoryJson;
+        try {
+            armoryJson = loa.fetchFreshArmorySections(user.getUserApiKey(), characterName, ArmorySection.SPEC);
+        } catch (ExternalApiUnavailableException e) {
+            CharacterSpec last = latestSpecService.find(character).orElseThrow(() -> e);
+            return new SpecSaveResult(last, true);
+        }
         if (armoryJson == null) {
             throw new IllegalStateException("로스트아크 API 조회에 실패했습니다.");
         }
 
-        JsonNode root = mapper.readTree(armoryJson);
-        if (root.isArray()) {
-            if (root.size() > 0) root = root.get(0);
-            else throw new IllegalStateException("API에서 비어있는 정보를 반환했습니다.");
-        }
-
         CharacterSpec spec = new CharacterSpec();
-        spec.setCharacter(character);
-        populateSpecFromJson(spec, root, characterName);
-        characterSpecRepo.save(spec);
+        armorySpecReader.read(armoryJson, spec);
+        CharacterSpec saved = specWriter.appendIfChanged(character, spec)
+                .or(() -> latestSpecService.find(character))
+                .orElseThrow(() -> new IllegalStateException("스펙 저장에 실패했습니다."));
+        return new SpecSaveResult(saved, false);
     }
 
     @Transactional
     public Character insertOnlyFromProfileWithArkPassive(User user, String characterName, boolean setAsMain) throws JsonProcessingException {
+        return insertOnlyFromProfileWithArkPassive(user, characterName, setAsMain, null);
+    }
+
+    /**
+     * 미리 조회해 둔 armories JSON으로 캐릭터를 저장합니다. (원정대 일괄 저장 시 병렬 선조회용)
+     * @param prefetchedArmoryJson null이면 이 자리에서 직접 조회합니다.
+     */
+    @Transactional
+    public Character insertOnlyFromProfileWithArkPassive(User user, String characterName, boolean setAsMain,
+                                                         String prefetchedArmoryJson) throws JsonProcessingException {
         requireApiKey(user);
 
         if (characterRepo.existsByUserAndName(user, characterName)) {
             throw new IllegalStateException("이미 저장된 캐릭터입니다: " + characterName);
         }
 
-        String armoryJson = loa.fetchArmory(user.getUserApiKey(), characterName);
+        String armoryJson = prefetchedArmoryJson != null
+                ? prefetchedArmoryJson
+                : loa.fetchArmorySections(user.getUserApiKey(), characterName, ArmorySection.SPEC);
         if (armoryJson == null) {
             throw new IllegalStateException("로스트아크 API에서 캐릭터 정보를 가져올 수 없습니다: " + characterName);
         }
 
-        JsonNode root = mapper.readTree(armoryJson);
-        if (root.isArray()) {
-            if (root.size() > 0) root = root.get(0);
-            else throw new IllegalStateException("API에서 비어있는 정보를 반환했습니다.");
-        }
-
-        JsonNode profile = root.path("ArmoryProfile");
-        if (profile.isMissingNode()) {
+        CharacterSpec initialSpec = new CharacterSpec();
+        ArmorySpecReader.ProfileInfo profile = armorySpecReader.read(armoryJson, initialSpec);
+        if (profile == null) {
             throw new IllegalStateException("API 응답에 ArmoryProfile이 없습니다.");
         }
 
         var ch = Character.builder()
                 .user(user)
-                .name(profile.path("CharacterName").asText())
-                .clazz(profile.path("CharacterClassName").asText())
-                .server(profile.path("ServerName").asText())
+                .name(profile.characterName())
+                .clazz(profile.className())
+                .server(profile.serverName())
                 .main(false)
                 .build();
 
         ch.setSpecs(new ArrayList<>());
 
-        CharacterSpec initialSpec = new CharacterSpec();
+        SpecFingerprint.stamp(initialSpec, null);
         initialSpec.setCharacter(ch);
-        populateSpecFromJson(initialSpec, root, characterName);
         ch.getSpecs().add(initialSpec);
 
         if (setAsMain) {
@@ -209,15 +387,17 @@ public class CharacterService {
         LocalDateTime recordedAt = LocalDateTime.parse(recordedAtStr, DateTimeFormatter.ofPattern("yyyy.MM.ddHH:mm:ss"));
 
         // 3. 시간 검증 1: 가입일보다 이전인지 확인
-        CharacterSpec firstSpec = characterSpecRepo.findFirstByCharacterCharacterIdOrderByUpdatedAtAsc(character.getCharacterId())
+        //    (스냅샷 시각 인덱스에서 이진 탐색, 같은 캐릭터를 연달아 올려도 이력을 다시 읽지 않음)
+        SpecTimeIndex.Point firstSpec = specTimeIndex.first(character)
                 .orElseThrow(() -> new IllegalStateException("캐릭터의 스펙 정보가 존재하지 않습니다."));
 
-        if (recordedAt.isBefore(firstSpec.getUpdatedAt())) {
-            throw new IllegalArgumentException("가입일(" + firstSpec.getUpdatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + ")보다 이전의 전투분석기는 등록 불가능합니다.");
+        if (recordedAt.isBefore(firstSpec.updatedAt())) {
+            throw new IllegalArgumentException("가입일(" + firstSpec.updatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + ")보다 이전의 전투분석기는 등록 불가능합니다.");
         }
 
         // 4. 시간 검증 2: recorded_at 이전의 가장 가까운 spec_id 찾기
-        CharacterSpec targetSpec = characterSpecRepo.findFirstByCharacterCharacterIdAndUpdatedAtBeforeOrderByUpdatedAtDesc(character.getCharacterId(), recordedAt)
+        CharacterSpec targetSpec = specTimeIndex.before(character, recordedAt)
+                .flatMap(point -> findSpec(character, point.specId()))
                 .orElseThrow(() -> new IllegalArgumentException("해당 날짜(" + recordedAt.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + ") 이전에 유효한 캐릭터 스펙 정보가 없습니다."));
 
         Long specId = targetSpec.getSpecId();
@@ -260,151 +440,6 @@ public class CharacterService {
         return successResult;
     }
 
-    private void populateSpecFromJson(CharacterSpec spec, JsonNode root, String characterName) throws JsonProcessingException {
-        JsonNode profile = root.path("ArmoryProfile");
-        spec.setItemLevel(parseItemLevel(profile.path("ItemAvgLevel").asText(null)));
-        spec.setCombatPower(parseCombatPowerToLong(profile.path("CombatPower").asText(null)));
-
-        spec.setEquipHelmet(null);
-        spec.setEquipShoulders(null);
-        spec.setEquipChest(null);
-        spec.setEquipLegs(null);
-        spec.setEquipGloves(null);
-        spec.setEquipWeapon(null);
-        spec.setAccNecklace(null);
-        spec.setAccEarring1(null);
-        spec.setAccEarring2(null);
-        spec.setAccRing1(null);
-        spec.setAccRing2(null);
-        spec.setAccBracelet(null);
-        spec.setAbilityStone(null);
-
-        JsonNode equipment = root.path("ArmoryEquipment");
-        if (equipment.isArray()) {
-            for (JsonNode item : equipment) {
-                String type = item.path("Type").asText();
-                String json = getJsonNodeAsString(item);
-                if (json == null) continue;
-
-                switch (type) {
-                    case "투구": spec.setEquipHelmet(json); break;
-                    case "어깨": spec.setEquipShoulders(json); break;
-                    case "상의": spec.setEquipChest(json); break;
-                    case "하의": spec.setEquipLegs(json); break;
-                    case "장갑": spec.setEquipGloves(json); break;
-                    case "무기": spec.setEquipWeapon(json); break;
-                    case "목걸이": spec.setAccNecklace(json); break;
-                    case "귀걸이":
-                        if (spec.getAccEarring1() == null) spec.setAccEarring1(json);
-                        else spec.setAccEarring2(json);
-                        break;
-                    case "반지":
-                        if (spec.getAccRing1() == null) spec.setAccRing1(json);
-                        else spec.setAccRing2(json);
-                        break;
-                    case "팔찌": spec.setAccBracelet(json); break;
-                    case "어빌리티 스톤": spec.setAbilityStone(json); break;
-                }
-            }
-        }
-
-        JsonNode engravings = root.path("ArmoryEngraving").path("ArkPassiveEffects");
-        for (int i = 0; i < 5; i++) {
-            setEngraving(spec, i + 1, getJsonNodeAsString(engravings.path(i)));
-        }
-
-        JsonNode gems = root.path("ArmoryGem").path("Gems");
-        for (int i = 0; i < 11; i++) {
-            setGem(spec, i + 1, getJsonNodeAsString(gems.path(i)));
-        }
-
-        for (int i = 1; i <= 8; i++) {
-            setSkill(spec, i, null);
-        }
-
-        JsonNode allSkills = root.path("ArmorySkills");
-        if (allSkills.isArray()) {
-            List<String> filteredSkills = new ArrayList<>();
-            for (JsonNode skill : allSkills) {
-                if (skill.path("SkillType").asInt(0) >= 100) continue;
-                JsonNode tripods = skill.path("Tripods");
-                if (!tripods.isArray() || tripods.size() == 0) continue;
-                String skillJson = getJsonNodeAsString(skill);
-                if (skillJson != null) {
-                    filteredSkills.add(skillJson);
-                }
-            }
-            for (int i = 0; i < Math.min(filteredSkills.size(), 8); i++) {
-                setSkill(spec, i + 1, filteredSkills.get(i));
-            }
-        }
-
-        JsonNode cardsNode = root.path("ArmoryCard");
-        for (int i = 0; i < 6; i++) {
-            setCard(spec, i + 1, getJsonNodeAsString(cardsNode.path("Cards").path(i)));
-        }
-        spec.setCardEffect(getJsonNodeAsString(cardsNode.path("Effects")));
-
-        JsonNode arkPassiveNode = root.path("ArkPassive");
-        spec.setArkPassive(arkPassiveNode.path("Title").asText(null));
-
-        spec.setArkEvolution(null);
-        spec.setArkRealization(null);
-        spec.setArkLeap(null);
-        JsonNode points = arkPassiveNode.path("Points");
-        if (points.isArray()) {
-            for (JsonNode point : points) {
-                String name = point.path("Name").asText();
-                switch (name) {
-                    case "진화": spec.setArkEvolution(getJsonNodeAsString(point)); break;
-                    case "깨달음": spec.setArkRealization(getJsonNodeAsString(point)); break;
-                    case "도약": spec.setArkLeap(getJsonNodeAsString(point)); break;
-                }
-            }
-        }
-
-        spec.setArkEvolutionDetail(null);
-        spec.setArkRealizationDetail(null);
-        spec.setArkLeapDetail(null);
-        JsonNode arkEffects = arkPassiveNode.path("Effects");
-        if (arkEffects.isArray()) {
-            List<String> evolutionDetails = new ArrayList<>();
-            List<String> realizationDetails = new ArrayList<>();
-            List<String> leapDetails = new ArrayList<>();
-
-            for (JsonNode effect : arkEffects) {
-                String name = effect.path("Name").asText();
-                String tooltipJsonString = effect.path("ToolTip").asText();
-                if (tooltipJsonString == null || tooltipJsonString.isEmpty()) continue;
-
-                try {
-                    JsonNode tooltipRoot = mapper.readTree(tooltipJsonString);
-                    String description = findDescriptionInTooltip(tooltipRoot);
-                    if (description == null || description.isEmpty()) continue;
-
-                    String cleanedDescription = description.replaceAll("<[^>]*>", "").replace("||<BR>", " ").trim();
-                    if (cleanedDescription.isEmpty()) continue;
-
-                    String effectTitle = effect.path("Description").asText().replaceAll("<[^>]*>", "").trim();
-                    String finalDetail = effectTitle + ": " + cleanedDescription;
-
-                    switch (name) {
-                        case "진화": evolutionDetails.add(finalDetail); break;
-                        case "깨달음": realizationDetails.add(finalDetail); break;
-                        case "도약": leapDetails.add(finalDetail); break;
-                    }
-                } catch (JsonProcessingException e) {
-                    // Re-throw to ensure transactional integrity
-                    throw new RuntimeException("Failed to parse tooltip JSON in populateSpecFromJson", e);
-                }
-            }
-
-            if (!evolutionDetails.isEmpty()) spec.setArkEvolutionDetail(mapper.writeValueAsString(evolutionDetails));
-            if (!realizationDetails.isEmpty()) spec.setArkRealizationDetail(mapper.writeValueAsString(realizationDetails));
-            if (!leapDetails.isEmpty()) spec.setArkLeapDetail(mapper.writeValueAsString(leapDetails));
-        }
-    }
-
     @Transactional
     public boolean refreshIfHigher(User user, String characterName) {
         requireApiKey(user);
@@ -413,15 +448,33 @@ public class CharacterService {
         if (opt.isEmpty()) return false;
 
         var current = opt.get();
-        var latestSpecOpt = characterSpecRepo.findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(current.getCharacterId());
+        var latestSpecOpt = latestSpecService.find(current);
         if (latestSpecOpt.isEmpty()) return false;
 
         var latestSpec = latestSpecOpt.get();
-        var p = loa.fetchProfile(user.getUserApiKey(), characterName);
+
+        // 프로필 + 아크패시브를 한 번의 filters 요청으로 조회 (서킷이 열려 있으면 기존 스펙 유지)
+        String json;
+        try {
+            json = loa.fetchArmorySections(user.getUserApiKey(), characterName,
+                    EnumSet.of(ArmorySection.PROFILES, ArmorySection.ARKPASSIVE));
+        } catch (ExternalApiUnavailableException e) {
+            return false;
+        }
+        if (json == null) return false;
+
+        JsonNode root;
+        Character_Profile p;
+        try {
+            root = mapper.readTree(json);
+            p = mapper.treeToValue(root.path("ArmoryProfile"), Character_Profile.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("프로필 응답 파싱 실패: " + characterName, e);
+        }
         if (p == null) return false;
 
-        var newItemLevel = parseItemLevel(p.getItemAvgLevel());
-        var newCombatPower = parseCombatPowerToLong(p.getCombatPower());
+        var newItemLevel = ArmorySpecReader.parseItemLevel(p.getItemAvgLevel());
+        var newCombatPower = ArmorySpecReader.parseCombatPowerToLong(p.getCombatPower());
 
         boolean higher =
                 (newItemLevel != null && newItemLevel.compareTo(nvl(latestSpec.getItemLevel())) > 0) ||
@@ -437,8 +490,9 @@ public class CharacterService {
         newSpec.setItemLevel(newItemLevel);
         newSpec.setCombatPower(newCombatPower);
 
-        String arkTitle = loa.fetchArkPassiveTitle(user.getUserApiKey(), p.getCharacterName());
+        String arkTitle = root.path("ArkPassive").path("Title").asText(null);
         newSpec.setArkPassive((arkTitle != null && !arkTitle.isBlank()) ? arkTitle : null);
+        SpecFingerprint.stamp(newSpec, latestSpec.getSectionHashes());
 
         characterSpecRepo.save(newSpec);
 
@@ -465,83 +519,15 @@ public class CharacterService {
         return new RefreshSummary(updated, skipped, error);
     }
 
-    private String findDescriptionInTooltip(JsonNode tooltipRoot) {
-        if (tooltipRoot == null) return null;
-        JsonNode element = tooltipRoot.path("Element_001").path("value").path("Element_000").path("value");
-        if (element.isTextual()) return element.asText();
-        element = tooltipRoot.path("Element_002").path("value");
-        if (element.isTextual()) return element.asText();
-        return null;
-    }
-
-    private String getJsonNodeAsString(JsonNode node) {
-        if (node == null || node.isMissingNode() || node.isNull()) return null;
-        try {
-            return mapper.writeValueAsString(node);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize JsonNode to string", e);
-        }
-    }
-
-    private void setEngraving(CharacterSpec spec, int index, String value) {
-        switch (index) {
-            case 1: spec.setEngraving1(value); break;
-            case 2: spec.setEngraving2(value); break;
-            case 3: spec.setEngraving3(value); break;
-            case 4: spec.setEngraving4(value); break;
-            case 5: spec.setEngraving5(value); break;
-        }
-    }
-
-    private void setGem(CharacterSpec spec, int index, String value) {
-        switch (index) {
-            case 1: spec.setGem1(value); break;
-            case 2: spec.setGem2(value); break;
-            case 3: spec.setGem3(value); break;
-            case 4: spec.setGem4(value); break;
-            case 5: spec.setGem5(value); break;
-            case 6: spec.setGem6(value); break;
-            case 7: spec.setGem7(value); break;
-            case 8: spec.setGem8(value); break;
-            case 9: spec.setGem9(value); break;
-            case 10: spec.setGem10(value); break;
-            case 11: spec.setGem11(value); break;
-        }
-    }
-
-    private void setSkill(CharacterSpec spec, int index, String value) {
-        switch (index) {
-            case 1: spec.setSkill1(value); break;
-            case 2: spec.setSkill2(value); break;
-            case 3: spec.setSkill3(value); break;
-            case 4: spec.setSkill4(value); break;
-            case 5: spec.setSkill5(value); break;
-            case 6: spec.setSkill6(value); break;
-            case 7: spec.setSkill7(value); break;
-            case 8: spec.setSkill8(value); break;
-        }
-    }
-
-    private void setCard(CharacterSpec spec, int index, String value) {
-        switch (index) {
-            case 1: spec.setCard1(value); break;
-            case 2: spec.setCard2(value); break;
-            case 3: spec.setCard3(value); break;
-            case 4: spec.setCard4(value); break;
-            case 5: spec.setCard5(value); break;
-            case 6: spec.setCard6(value); break;
-        }
-    }
-
-    private static BigDecimal parseItemLevel(String raw) {
-        if (raw == null || raw.isBlank()) return new BigDecimal("0.00");
-        return new BigDecimal(raw.replace(",", ""));
+    private Optional<CharacterSpec> findOwnSpec(Character character, Long specId) {
+        return findSpec(character, specId)
+                .filter(spec -> spec.getCharacter().getCharacterId().equals(character.getCharacterId()));
     }
 
-    private static Long parseCombatPowerToLong(String raw) {
-        if (raw == null || raw.isBlank()) return null;
-        var bd = new BigDecimal(raw.replace(",", ""));
-        return bd.setScale(0, BigDecimal.ROUND_HALF_UP).longValueExact();
+    /** 현재 파티션에 없으면 보관 파일에서 읽습니다. */
+    private Optional<CharacterSpec> findSpec(Character character, Long specId) {
+        return characterSpecRepo.findById(specId)
+                .or(() -> specArchiveReader.find(character, specId));
     }
 
     private static void requireApiKey(User user) {
@@ -553,61 +539,17 @@ public class CharacterService {
     private static BigDecimal nvl(BigDecimal v) { return v == null ? new BigDecimal("0.00") : v; }
     private static Long nvl(Long v) { return v == null ? 0L : v; }
 
+    @lombok.Value
+    public static class SpecSaveResult {
+        CharacterSpec spec;
+        // true 면 API 를 호출하지 못해 마지막으로 저장된 스펙을 그대로 돌려준 것
+        boolean stale;
+    }
+
     @lombok.Value
     public static class RefreshSummary {
         int updated;
         int skipped;
         int error;
     }
-
-    @Transactional
-    public void updateAllCharacterSpecs() {
-        List<Character> characters = characterRepo.findAll();
-        for (Character character : characters) {
-            try {
-                updateCharacterSpecIfNeeded(character);
-            } catch (Exception e) {
-                System.err.println("Failed to update spec for character: " + character.getName());
-                throw new RuntimeException("Failed to update spec for character: " + character.getName(), e);
-            }
-        }
-    }
-
-    private void updateCharacterSpecIfNeeded(Character character) throws JsonProcessingException {
-        User user = character.getUser();
-        requireApiKey(user);
-
-        String armoryJson = loa.fetchArmory(user.getUserApiKey(), character.getName());
-        if (armoryJson == null) {
-            return;
-        }
-
-        JsonNode root = mapper.readTree(armoryJson);
-        if (root.isArray()) {
-            if (root.size() > 0) root = root.get(0);
-            else return;
-        }
-
-        JsonNode profile = root.path("ArmoryProfile");
-        if (profile.isMissingNode()) {
-            return;
-        }
-
-        Long newCombatPower = parseCombatPowerToLong(profile.path("CombatPower").asText(null));
-        if (newCombatPower == null) {
-            return;
-        }
-
-        Optional<CharacterSpec> latestSpecOpt = characterSpecRepo.findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(character.getCharacterId());
-
-        boolean shouldUpdate = latestSpecOpt.map(latestSpec -> newCombatPower.compareTo(nvl(latestSpec.getCombatPower())) > 0)
-                                          .orElse(true);
-
-        if (shouldUpdate) {
-            CharacterSpec newSpec = new CharacterSpec();
-            newSpec.setCharacter(character);
-            populateSpecFromJson(newSpec, root, character.getName());
-            characterSpecRepo.save(newSpec);
-        }
-    }
 }
@@ -0,0 +1,167 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.ArmorySection;
+import com.example.Loark.DTO.CharacterRefreshTarget;
+import com.example.Loark.Entity.CharacterSpec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스펙 일괄 갱신 파이프라인 (갱신할 캐릭터는 CharacterRefreshPlanner 가 tick 마다 골라 넘김).
+ * <ol>
+ *   <li>API Key 별로 묶어 키마다 제한된 동시성으로 armories 를 조회한 뒤
+ *       (키별 분당 한도는 LostarkRateLimiter 가 맞춤)</li>
+ *   <li>파싱과 저장은 별도 워커 풀에서, 캐릭터마다 짧은 트랜잭션 하나로 처리합니다.</li>
+ * </ol>
+ * 한 캐릭터의 실패는 기록만 하고 다음 캐릭터로 넘어가며, 묶음마다 {@link RunReport} 를 남깁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CharacterSpecRefreshPipeline {
+
+    private final LostarkApiClient loa;
+    private final ArmorySpecReader armorySpecReader;
+    private final CharacterSpecWriter specWriter;
+    private final MeterRegistry meterRegistry;
+
+    // 한 API Key 로 동시에 띄우는 요청 수 (나머지는 키별 레이트 리미터 대기열에서 기다림)
+    @Value("${lostark.refresh.per-key-concurrency:2}")
+    private int perKeyConcurrency;
+
+    // 동시에 처리하는 API Key 수
+    @Value("${lostark.refresh.key-concurrency:16}")
+    private int keyConcurrency;
+
+    // 파싱 + DB 저장 워커 수 (HikariCP 풀 크기보다 작게)
+    @Value("${lostark.refresh.workers:4}")
+    private int workers;
+
+    private Scheduler workerPool;
+    private Timer runTimer;
+
+    @PostConstruct
+    void init() {
+        workerPool = Schedulers.newBoundedElastic(workers, Integer.MAX_VALUE, "spec-refresh");
+        runTimer = Timer.builder("character.spec.refresh.run")
+                .description("스펙 갱신 묶음(tick) 1회의 조회 + 저장 소요 시간")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workerPool.dispose();
+    }
+
+    /**
+     * 주어진 캐릭터들을 API Key 별로 묶어 동시에 갱신하고 끝날 때까지 기다립니다.
+     * 캐릭터마다 결과를 하나씩 돌려주며, 실패도 예외 대신 {@link Outcome#FAILED} 결과로 담습니다.
+     */
+    public List<RefreshResult> refresh(List<? extends CharacterRefreshTarget> targets) {
+        Map<String, List<CharacterRefreshTarget>> byApiKey = new LinkedHashMap<>();
+        for (CharacterRefreshTarget target : targets) {
+            if (target.getApiKey() == null || target.getApiKey().isBlank()) continue;
+            byApiKey.computeIfAbsent(target.getApiKey(), k -> new ArrayList<>()).add(target);
+        }
+
+        List<RefreshResult> results = Flux.fromIterable(byApiKey.entrySet())
+                .flatMap(group -> Flux.fromIterable(group.getValue())
+                                .flatMap(target -> refresh(group.getKey(), target), perKeyConcurrency),
+                        keyConcurrency)
+                .collectList()
+                .block();
+        return results == null ? List.of() : results;
+    }
+
+    private Mono<RefreshResult> refresh(String apiKey, CharacterRefreshTarget target) {
+        return loa.fetchArmorySectionsOrErrorAsync(apiKey, target.getName(), ArmorySection.SPEC)
+                .publishOn(workerPool)
+                .map(json -> store(target, json))
+                .defaultIfEmpty(new RefreshResult(target.getCharacterId(), target.getName(), Outcome.EMPTY, null, null))
+                .onErrorResume(e -> Mono.just(
+                        new RefreshResult(target.getCharacterId(), target.getName(), Outcome.FAILED, null, e.toString())));
+    }
+
+    /** 워커 풀에서 실행: 파싱 후 짧은 트랜잭션으로 저장 */
+    private RefreshResult store(CharacterRefreshTarget target, String armoryJson) {
+        CharacterSpec spec = new CharacterSpec();
+        try {
+            if (armorySpecReader.read(armoryJson, spec) == null) {
+                return new RefreshResult(target.getCharacterId(), target.getName(), Outcome.EMPTY, null, null);
+            }
+        } catch (IllegalStateException e) {
+            // 빈 응답
+            return new RefreshResult(target.getCharacterId(), target.getName(), Outcome.EMPTY, null, null);
+        } catch (Exception e) {
+            throw new IllegalStateException("armories 파싱 실패: " + target.getName(), e);
+        }
+        Outcome outcome = specWriter.appendIfChanged(target.getCharacterId(), spec) ? Outcome.UPDATED : Outcome.UNCHANGED;
+        return new RefreshResult(target.getCharacterId(), target.getName(), outcome, spec.getCombatPower(), null);
+    }
+
+    public enum Outcome { UPDATED, UNCHANGED, EMPTY, FAILED }
+
+    /** 캐릭터 하나의 갱신 결과. combatPower 는 조회에 성공했을 때만, error 는 실패했을 때만 채워집니다. */
+    public record RefreshResult(Long characterId, String name, Outcome outcome, Long combatPower, String error) {}
+
+    /** 한 묶음의 갱신 결과 */
+    public record RunReport(long scanned, long updated, long unchanged, long empty, long failed, Duration elapsed) {
+
+        /** 초당 처리한 캐릭터 수 */
+        public double throughput() {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds == 0 ? 0 : scanned / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("scanned=%d, updated=%d, unchanged=%d, empty=%d, failed=%d, elapsed=%dms, throughput=%.1f/s",
+                    scanned, updated, unchanged, empty, failed, elapsed.toMillis(), throughput());
+        }
+    }
+
+    /**
+     * {@link #refresh} 한 번의 결과를 남깁니다: 결과별 처리 건수와 소요 시간 메트릭, 실패 로그.
+     * elapsed 는 refresh 호출에 걸린 시간입니다.
+     */
+    public RunReport record(List<RefreshResult> results, Duration elapsed) {
+        Map<Outcome, Long> counts = new EnumMap<>(Outcome.class);
+        for (RefreshResult result : results) {
+            if (result.outcome() == Outcome.FAILED) log.warn("스펙 갱신 실패 - {}: {}", result.name(), result.error());
+            counts.merge(result.outcome(), 1L, Long::sum);
+            outcomeCounter(result.outcome()).increment();
+        }
+        runTimer.record(elapsed);
+        return new RunReport(results.size(),
+                counts.getOrDefault(Outcome.UPDATED, 0L),
+                counts.getOrDefault(Outcome.UNCHANGED, 0L),
+                counts.getOrDefault(Outcome.EMPTY, 0L),
+                counts.getOrDefault(Outcome.FAILED, 0L),
+                elapsed);
+    }
+
+    private Counter outcomeCounter(Outcome outcome) {
+        return Counter.builder("character.spec.refresh.characters")
+                .description("스펙 일괄 갱신에서 처리한 캐릭터 수")
+                .tag("result", outcome.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.SpecFingerprintView;
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Repository.CharacterRepository;
+import com.example.Loark.Repository.CharacterSpecRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 새 CharacterSpec 스냅샷 저장을 담당합니다.
+ * 직전 스냅샷과 섹션 지문({@link SpecFingerprint})이 모두 같으면 행을 만들지 않습니다.
+ * 호출마다 짧은 트랜잭션 하나로 끝나므로 일괄 갱신 중 한 캐릭터의 실패가 다른 캐릭터에 번지지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CharacterSpecWriter {
+
+    private final CharacterRepository characterRepo;
+    private final CharacterSpecRepository characterSpecRepo;
+
+    /**
+     * 최신 스냅샷과 섹션 지문을 비교해 바뀐 섹션이 있을 때만(또는 스냅샷이 없을 때) 저장합니다.
+     * @return 저장했으면 true, 변화가 없거나 그 사이 캐릭터가 삭제됐으면 false
+     */
+    @Transactional
+    public boolean appendIfChanged(Long characterId, CharacterSpec spec) {
+        if (!stampAgainstLatest(characterId, spec) || !characterRepo.existsById(characterId)) return false;
+
+        spec.setCharacter(characterRepo.getReferenceById(characterId));
+        characterSpecRepo.save(spec);
+        return true;
+    }
+
+    /**
+     * 이미 불러온 캐릭터에 대해 {@link #appendIfChanged(Long, CharacterSpec)} 와 같은 규칙으로 저장합니다.
+     * @return 저장한 스펙, 최신 스냅샷과 같으면 empty
+     */
+    @Transactional
+    public Optional<CharacterSpec> appendIfChanged(Character character, CharacterSpec spec) {
+        if (!stampAgainstLatest(character.getCharacterId(), spec)) return Optional.empty();
+
+        spec.setCharacter(character);
+        return Optional.of(characterSpecRepo.save(spec));
+    }
+
+    private boolean stampAgainstLatest(Long characterId, CharacterSpec spec) {
+        Map<String, String> previous = characterSpecRepo.findLatestFingerprint(characterId)
+                .map(SpecFingerprintView::getSectionHashes)
+                .orElse(null);
+        return SpecFingerprint.stamp(spec, previous);
+    }
+}
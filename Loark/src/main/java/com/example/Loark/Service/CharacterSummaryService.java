@@ -0,0 +1,80 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.CharacterSpecSummary;
+import com.example.Loark.Entity.User;
+import com.example.Loark.Repository.CharacterRepository;
+import com.example.Loark.Repository.CharacterSpecSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 목록 화면(친구, 공대원, 내 캐릭터)용 캐릭터 요약 조회.
+ * 한 페이지에 필요한 캐릭터를 한 번에 읽고, character_specs 는 읽지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CharacterSummaryService {
+
+    private final CharacterRepository characterRepo;
+    private final CharacterSpecSummaryRepository summaryRepo;
+
+    /**
+     * 캐릭터 id -> 최신 스펙 요약. 스펙이 하나도 없거나 요약이 아직 없는 캐릭터(도입 전 데이터)는 결과에 없습니다.
+     * 조회 요청에서는 쓰지 않고, 빠진 요약은 SpecSummaryListener(새 스펙)와 {@link #reconcile()}(기동 시 + 매일)이 채웁니다.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CharacterSpecSummary> findByCharacterIds(Collection<Long> characterIds) {
+        if (characterIds.isEmpty()) return Map.of();
+
+        Map<Long, CharacterSpecSummary> found = new HashMap<>();
+        summaryRepo.findAllById(characterIds).forEach(s -> found.put(s.getCharacterId(), s));
+        return found;
+    }
+
+    /** 사용자 id -> 그 사용자의 대표 캐릭터 목록 표시용 정보 (대표 캐릭터가 없거나 찾지 못하면 결과에 없음) */
+    @Transactional(readOnly = true)
+    public Map<Long, MainCharacter> findMainCharacters(Collection<User> users) {
+        Set<Long> userIds = users.stream()
+                .filter(u -> u.getMainCharacter() != null && !u.getMainCharacter().isBlank())
+                .map(User::getUserId)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) return Map.of();
+
+        List<Character> characters = characterRepo.findMainCharactersOfUsers(userIds);
+        Map<Long, CharacterSpecSummary> summaries =
+                findByCharacterIds(characters.stream().map(Character::getCharacterId).toList());
+
+        Map<Long, MainCharacter> result = new HashMap<>();
+        for (Character c : characters) {
+            CharacterSpecSummary summary = summaries.get(c.getCharacterId());
+            // getUserId() 는 프록시를 초기화하지 않음
+            result.put(c.getUser().getUserId(), new MainCharacter(
+                    c.getName(),
+                    c.getServer(),
+                    c.getClazz(),
+                    summary != null ? summary.getItemLevel() : null,
+                    summary != null ? summary.getCombatPower() : null));
+        }
+        return result;
+    }
+
+    /** 요약이 없는 캐릭터를 모두 채우고 삭제된 캐릭터의 요약을 지웁니다. (기동 시 한 번 + 하루 한 번) */
+    @Transactional
+    public int reconcile() {
+        summaryRepo.deleteOrphans();
+        return summaryRepo.backfillAll();
+    }
+
+    public record MainCharacter(String name, String server, String characterClass,
+                                BigDecimal itemLevel, Long combatPower) {}
+}
@@ -0,0 +1,47 @@
+package com.example.Loark.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 캐릭터 스펙 조회 기록 (메모리). 갱신 우선순위의 "최근 조회" 신호로 쓰입니다.
+ * 인스턴스별로 따로 쌓이며 재시작하면 사라지지만, 우선순위 힌트로만 쓰므로 충분합니다.
+ */
+@Component
+public class CharacterViewTracker {
+
+    private final Cache<Long, Long> lastViewedAtMillis = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofDays(1))
+            .maximumSize(100_000)
+            .build();
+
+    // 마지막 drain 이후 조회된 캐릭터
+    private final Set<Long> recentlyViewed = ConcurrentHashMap.newKeySet();
+
+    public void recordView(Long characterId) {
+        if (characterId == null) return;
+        lastViewedAtMillis.put(characterId, System.currentTimeMillis());
+        recentlyViewed.add(characterId);
+    }
+
+    /** 마지막 조회 후 경과 초 (기록이 없으면 null) */
+    public Double viewAgeSeconds(Long characterId) {
+        Long at = lastViewedAtMillis.getIfPresent(characterId);
+        return at == null ? null : (System.currentTimeMillis() - at) / 1000.0;
+    }
+
+    /** 지난 호출 이후 조회된 캐릭터 id 를 꺼내고 비웁니다. */
+    public Set<Long> drainRecentlyViewed() {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : recentlyViewed) {
+            if (recentlyViewed.remove(id)) drained.add(id);
+        }
+        return drained;
+    }
+}
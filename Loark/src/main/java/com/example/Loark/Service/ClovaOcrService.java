@@ -25,6 +25,7 @@ public class ClovaOcrService {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ExternalApiGuard guard;
 
     @Value("${clova.ocr.api-url}")
     private String clovaApiUrl;
@@ -63,8 +64,9 @@ public class ClovaOcrService {
 
         HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
 
-        // API 호출
-        ResponseEntity<ClovaOcrResponse> response = restTemplate.postForEntity(clovaApiUrl, requestEntity, ClovaOcrResponse.class);
+        // API 호출 (서킷이 열려 있으면 ExternalApiUnavailableException → 503, 대체할 분석 결과는 없다)
+        ResponseEntity<ClovaOcrResponse> response = guard.call(ExternalApiGuard.CLOVA,
+                () -> restTemplate.postForEntity(clovaApiUrl, requestEntity, ClovaOcrResponse.class));
 
         return parseOcrResponse(Objects.requireNonNull(response.getBody()));
     }
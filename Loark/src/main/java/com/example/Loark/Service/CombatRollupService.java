@@ -0,0 +1,202 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.FactGateMetricsDto;
+import com.example.Loark.Entity.CombatRollup;
+import com.example.Loark.Entity.CombatRollupCursor;
+import com.example.Loark.Entity.CombatRollupId;
+import com.example.Loark.Repository.CombatRollupCursorRepository;
+import com.example.Loark.Repository.CombatRollupRepository;
+import com.example.Loark.Repository.FactGateMetricsRepository;
+import com.example.Loark.Util.RunningStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * combat_rollups 유지.
+ * <ul>
+ *   <li>새 기록: 커서 이후 기록을 batch-size 개씩 읽어 묶음별 증분을 만든 뒤 누적값에 합칩니다.
+ *       (평균/분산은 Welford 결합식, 최고/최저는 비교만) 중앙값은 증분으로 못 구해 요약 조회 때 계산합니다.</li>
+ *   <li>삭제: 최고 DPS 나 최단 시간은 빼는 것으로 되돌릴 수 없어 그 묶음 하나를 원본에서 다시 계산합니다.</li>
+ * </ul>
+ * 커서는 id 가 아니라 (기록을 넣은 트랜잭션 id, id) 이고, 끝난 트랜잭션(pg_snapshot_xmin 미만)이 넣은 기록만 읽습니다.
+ * 적재 트랜잭션이 여럿이라 작은 id 가 나중에 커밋되어도 그 트랜잭션이 끝난 뒤 순서대로 반영되어 빠지지 않습니다.
+ * (오래 열린 트랜잭션이 있으면 그동안 반영이 늦어질 뿐)
+ * 두 작업 모두 커서 행을 잠그고 같은 커서 기준으로 계산하므로 서로 겹쳐도 결과가 어긋나지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CombatRollupService {
+
+    private static final String CURSOR = "fact_gate_metrics";
+
+    private final FactGateMetricsRepository factGateMetricsRepository;
+    private final CombatRollupRepository rollupRepo;
+    private final CombatRollupCursorRepository cursorRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${combat.rollup.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * 워터마크 이후 기록을 모두 반영합니다. 처음 실행하면 전체 기록을 batch 단위로 채웁니다.
+     * @return 반영한 기록 수
+     */
+    public long catchUp() {
+        transactionTemplate.executeWithoutResult(status -> cursorRepo.insertIfMissing(CURSOR));
+        long total = 0;
+        int read;
+        do {
+            read = transactionTemplate.execute(status -> applyBatch());
+            total += read;
+        } while (read == batchSize);
+        if (total > 0) log.info("전투 기록 집계 반영 - {}건", total);
+        return total;
+    }
+
+    /** 트랜잭션 안에서 실행. @return 읽은 기록 수 */
+    private int applyBatch() {
+        CombatRollupCursor cursor = cursorRepo.findForUpdate(CURSOR)
+                .orElseThrow(() -> new IllegalStateException("집계 커서가 없습니다."));
+
+        Map<CombatRollupId, Delta> deltas = new LinkedHashMap<>();
+        int[] read = {0};
+        FactGateMetricsRepository.CommitPosition last = factGateMetricsRepository.forEachCommittedAfter(
+                cursor.position(), batchSize, record -> {
+                    read[0]++;
+                    CombatRollupId key = keyOf(record);
+                    if (key != null) deltas.computeIfAbsent(key, k -> new Delta()).add(record);
+                });
+        if (read[0] == 0) return 0;
+
+        Map<CombatRollupId, CombatRollup> existing = rollupRepo.findAllById(deltas.keySet()).stream()
+                .collect(Collectors.toMap(CombatRollup::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CombatRollup> changed = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            CombatRollup rollup = existing.computeIfAbsent(key, CombatRollup::new);
+            delta.applyTo(rollup);
+            rollup.setUpdatedAt(now);
+            changed.add(rollup);
+        });
+        rollupRepo.saveAll(changed);
+
+        cursor.moveTo(last);
+        cursor.setUpdatedAt(now);
+        return read[0];
+    }
+
+    /**
+     * 기록 삭제 뒤 그 기록이 속한 묶음을 다시 계산합니다. (삭제와 같은 트랜잭션에서 호출)
+     * 아직 집계에 반영되지 않은 기록이면 커서 기준 계산 결과가 같아 실제로 바뀌는 것은 없습니다.
+     */
+    @Transactional
+    public void recompute(CombatRollupId key) {
+        Optional<CombatRollupCursor> cursor = cursorRepo.findForUpdate(CURSOR);
+        if (cursor.isEmpty()) return;  // 집계를 한 번도 돌리지 않음
+
+        FactGateMetricsRepository.GroupAggregate agg =
+                factGateMetricsRepository.aggregate(key, cursor.get().position());
+        if (agg.recordCount() == 0) {
+            rollupRepo.deleteById(key);
+            return;
+        }
+        CombatRollup rollup = rollupRepo.findById(key).orElseGet(() -> new CombatRollup(key));
+        rollup.setRecordCount(agg.recordCount());
+        rollup.setDpsCount(agg.dpsCount());
+        rollup.setMeanDps(agg.meanDps());
+        rollup.setM2Dps(agg.m2Dps());
+        rollup.setBestDps(agg.bestDps());
+        rollup.setBestClearSeconds(agg.bestClearSeconds());
+        rollup.setLastRecordAt(agg.lastRecordAt());
+        rollup.setUpdatedAt(LocalDateTime.now());
+        rollupRepo.save(rollup);
+    }
+
+    /**
+     * 캐릭터의 묶음별 DPS 중앙값. 누적값과 같은 기준이 되도록 커서까지 반영된 기록만 씁니다.
+     * (캐릭터 인덱스로 그 캐릭터 기록만 읽음)
+     */
+    @Transactional(readOnly = true)
+    public Map<CombatRollupId, Double> findMedianDps(String characterName) {
+        return cursorRepo.findById(CURSOR)
+                .map(cursor -> factGateMetricsRepository.findMedianDps(characterName, cursor.position()))
+                .orElse(Map.of());
+    }
+
+    private static CombatRollupId keyOf(FactGateMetricsDto record) {
+        if (record.getCharacterId() == null || record.getRaidName() == null
+                || record.getGateNumber() == null || record.getDifficulty() == null) {
+            return null;
+        }
+        return new CombatRollupId(record.getCharacterId(), record.getRaidName(),
+                record.getGateNumber(), record.getDifficulty());
+    }
+
+    /** 한 batch 안에서 묶음 하나에 들어온 기록의 증분 */
+    static final class Delta {
+        private long count;
+        private final RunningStats dps = new RunningStats();
+        private Double bestDps;
+        private Long bestClearSeconds;
+        private Instant lastRecordAt;
+
+        void add(FactGateMetricsDto record) {
+            count++;
+            if (record.getDps() != null) {
+                dps.add(record.getDps());
+                bestDps = max(bestDps, record.getDps());
+            }
+            if (record.getPlayTime() != null) {
+                long seconds = record.getPlayTime().getSeconds();
+                bestClearSeconds = bestClearSeconds == null ? seconds : Math.min(bestClearSeconds, seconds);
+            }
+            if (record.getTs() != null && (lastRecordAt == null || record.getTs().isAfter(lastRecordAt))) {
+                lastRecordAt = record.getTs();
+            }
+        }
+
+        void applyTo(CombatRollup rollup) {
+            rollup.setRecordCount(rollup.getRecordCount() + count);
+
+            RunningStats total = RunningStats.of(rollup.getDpsCount(),
+                    rollup.getMeanDps() == null ? 0 : rollup.getMeanDps(),
+                    rollup.getM2Dps() == null ? 0 : rollup.getM2Dps());
+            total.merge(dps);
+            rollup.setDpsCount(total.count());
+            rollup.setMeanDps(total.count() == 0 ? null : total.mean());
+            rollup.setM2Dps(total.count() == 0 ? null : total.m2());
+
+            rollup.setBestDps(max(rollup.getBestDps(), bestDps));
+            if (bestClearSeconds != null && (rollup.getBestClearSeconds() == null
+                    || bestClearSeconds < rollup.getBestClearSeconds())) {
+                rollup.setBestClearSeconds(bestClearSeconds);
+            }
+            if (lastRecordAt != null && (rollup.getLastRecordAt() == null
+                    || lastRecordAt.isAfter(rollup.getLastRecordAt()))) {
+                rollup.setLastRecordAt(lastRecordAt);
+            }
+        }
+
+        private static Double max(Double a, Double b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return Math.max(a, b);
+        }
+    }
+}
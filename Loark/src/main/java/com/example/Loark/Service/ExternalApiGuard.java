@@ -0,0 +1,78 @@
+package com.example.Loark.Service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 호출을 의존성별 bulkhead(동시 호출 수 제한) + circuit breaker 로 감쌉니다.
+ * <p>
+ * 설정은 application.properties 의 resilience4j.bulkhead / resilience4j.circuitbreaker 인스턴스
+ * (lostark, clova, statistics)를 따르고, 상태와 거절 횟수는 actuator 의
+ * circuitbreakers / bulkheads 엔드포인트와 resilience4j.* 메트릭으로 확인할 수 있습니다.
+ * 호출이 거절되면 {@link ExternalApiUnavailableException} 을 던지므로 호출부에서 대체 응답을 고를 수 있습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternalApiGuard {
+
+    public static final String LOSTARK = "lostark";
+    public static final String CLOVA = "clova";
+    public static final String STATISTICS = "statistics";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    /** 블로킹 호출 (RestTemplate 등) */
+    public <T> T call(String dependency, Supplier<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(dependency);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(dependency);
+        try {
+            return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call)).get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw unavailable(dependency, e);
+        }
+    }
+
+    /** 논블로킹 호출 (WebClient). 구독 시점에 허가를 받습니다. */
+    public <T> Mono<T> mono(String dependency, Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(dependency)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(dependency)))
+                .onErrorMap(e -> e instanceof CallNotPermittedException || e instanceof BulkheadFullException,
+                        e -> unavailable(dependency, e));
+    }
+
+    /**
+     * WebClient 필터로 HTTP 교환 한 번씩을 감쌉니다. 느린 호출은 응답 헤더를 받기까지의 시간으로 판정합니다.
+     * 5xx 응답은 retrieve() 와 같은 WebClientResponseException 으로 바꿔 실패로 셉니다.
+     * 레이트 리미터처럼 이 필터보다 먼저 등록한 필터의 대기 시간은 허가를 잡지 않습니다.
+     */
+    public ExchangeFilterFunction exchangeFilter(String dependency) {
+        return (request, next) -> mono(dependency, next.exchange(request)
+                .flatMap(response -> response.statusCode().is5xxServerError()
+                        ? response.createException().flatMap(e -> Mono.<ClientResponse>error(e))
+                        : Mono.just(response)));
+    }
+
+    private static ExternalApiUnavailableException unavailable(String dependency, Throwable cause) {
+        String reason = cause instanceof CallNotPermittedException ? "circuit open" : "bulkhead full";
+        log.warn("외부 API 호출 거절 - {} ({})", dependency, reason);
+        return new ExternalApiUnavailableException(dependency,
+                "외부 서비스(" + dependency + ")가 일시적으로 불안정합니다. 잠시 후 다시 시도해주세요.", cause);
+    }
+}
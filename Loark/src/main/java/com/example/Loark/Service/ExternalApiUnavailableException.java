@@ -0,0 +1,19 @@
+package com.example.Loark.Service;
+
+/**
+ * 외부 API(로스트아크/Clova/통계 서버)의 서킷이 열려 있거나 동시 호출 한도를 넘어
+ * 호출 자체를 하지 않았을 때 발생합니다. (GlobalExceptionHandler 에서 503 으로 응답)
+ */
+public class ExternalApiUnavailableException extends RuntimeException {
+
+    private final String dependency;
+
+    public ExternalApiUnavailableException(String dependency, String message, Throwable cause) {
+        super(message, cause);
+        this.dependency = dependency;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Repository.CharacterSpecRepository;
+import com.example.Loark.Repository.LatestSpecPointerStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 캐릭터의 최신 스펙 조회.
+ * characters.latest_spec_id 로 PK 조회 한 번에 끝내고, 포인터가 아직 없는 캐릭터만 이력 정렬 조회로 대신합니다.
+ * 최신 스냅샷이 보관 파일로 옮겨진 (오래 갱신되지 않은) 캐릭터는 보관 파일에서 읽습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LatestSpecService {
+
+    private final CharacterSpecRepository characterSpecRepo;
+    private final LatestSpecPointerStore pointerStore;
+    private final SpecArchiveReader archiveReader;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spec.latest-pointer.backfill-batch-size:1000}")
+    private int backfillBatchSize;
+
+    public Optional<CharacterSpec> find(Character character) {
+        Long specId = character.getLatestSpecId();
+        if (specId != null) {
+            Optional<CharacterSpec> spec = characterSpecRepo.findById(specId)
+                    .or(() -> archiveReader.find(character, specId));
+            if (spec.isPresent()) return spec;
+        }
+        return characterSpecRepo.findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(character.getCharacterId());
+    }
+
+    /**
+     * 비어 있는 포인터를 채우고, 실제 최신 스냅샷과 다른 포인터를 고칩니다. (하루 한 번)
+     * 고친 건수는 character.latest_spec.repaired 메트릭으로 남기며, 정상이라면 항상 0 이어야 합니다.
+     */
+    public void reconcile() {
+        long filled = 0;
+        Integer n;
+        while ((n = transactionTemplate.execute(status -> pointerStore.backfill(backfillBatchSize))) != null && n > 0) {
+            filled += n;
+        }
+        if (filled > 0) log.info("최신 스펙 포인터 채움 - {}명", filled);
+
+        List<Long> repaired = transactionTemplate.execute(status -> pointerStore.repairInconsistent());
+        if (repaired != null && !repaired.isEmpty()) {
+            log.warn("최신 스펙 포인터 불일치 {}건 수정 - {}", repaired.size(),
+                    repaired.subList(0, Math.min(20, repaired.size())));
+            Counter.builder("character.latest_spec.repaired")
+                    .description("실제 최신 스냅샷과 달라 고친 latest_spec_id 수")
+                    .register(meterRegistry)
+                    .increment(repaired.size());
+        }
+    }
+}
@@ -1,149 +1,292 @@
 package com.example.Loark.Service;
 
+import com.example.Loark.DTO.ArmorySection;
 import com.example.Loark.DTO.Character_ArkPassive;
 import com.example.Loark.DTO.Character_Profile;
 import com.example.Loark.DTO.LoaSiblings;
+import com.example.Loark.Util.SingleFlight;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * 로스트아크 Open API 클라이언트.
+ * 모든 조회는 논블로킹 {@code ...Async} 메서드(Mono)가 기본이며,
+ * 기존 동기 메서드는 그 결과를 block() 하는 얇은 래퍼입니다.
+ */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class LostarkApiClient {
 
-    private RestTemplate rt = new RestTemplate();
+    private static final String ARMORY_URI = "/armories/characters/{name}";
+    private static final String PROFILE_URI = "/armories/characters/{name}/profiles";
+    private static final String SIBLINGS_URI = "/characters/{name}/siblings";
+
+    private final WebClient lostarkWebClient;
+    private final LostarkArmoryCache armoryCache;
+    private final MeterRegistry meterRegistry;
     private final ObjectMapper mapper = new ObjectMapper();
 
-    private HttpEntity<String> auth(String apiKey) {
-        HttpHeaders h = new HttpHeaders();
-        h.set("Authorization", "Bearer " + apiKey);
-        h.set("accept", "application/json");
-        return new HttpEntity<>(h);
+    // 같은 API Key 로 같은 캐릭터를 동시에 조회하면 업스트림 호출 하나로 합친다
+    // (Key 마다 401/403/429, 호출 한도 초과 결과가 다르므로 다른 Key 의 결과는 공유하지 않음)
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    // 원정대 일괄 저장 등에서 한 번에 띄우는 최대 동시 요청 수
+    @Value("${lostark.api.fan-out-concurrency:8}")
+    private int fanOutConcurrency;
+
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("lostark.api.coalesced", singleFlight, SingleFlight::coalescedCount)
+                .description("진행 중인 동일 조회에 합류해 업스트림 호출을 생략한 횟수")
+                .register(meterRegistry);
+    }
+
+    private Mono<String> get(String apiKey, String uri, Object... uriVars) {
+        return get(apiKey, b -> b.path(uri).build(uriVars));
+    }
+
+    /** API Key + scope + 캐릭터명 단위로 진행 중인 호출을 공유하는 조회 */
+    private Mono<String> coalesced(String apiKey, String scope, String characterName, Supplier<Mono<String>> call) {
+        return singleFlight.execute(apiKey + "|" + scope + "|" + LostarkArmoryCache.normalize(characterName), call);
+    }
+
+    private Mono<String> get(String apiKey, Function<UriBuilder, URI> uri) {
+        // bulkhead/서킷은 lostarkWebClient 의 필터가 HTTP 교환 단위로 적용 (LostarkClientConfig)
+        return lostarkWebClient.get()
+                .uri(uri)
+                .headers(h -> h.setBearerAuth(apiKey))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    /** 서킷 차단/동시 호출 초과는 빈 결과로 삼키지 않고 호출부까지 올려 보낸다 (대체 응답 선택용) */
+    private static boolean recoverable(Throwable e) {
+        return !(e instanceof ExternalApiUnavailableException);
+    }
+
+    public Mono<String> fetchArmoryAsync(String apiKey, String characterName) {
+        return armoryCache.get(characterName, "",
+                coalesced(apiKey, "armory", characterName, () -> get(apiKey, ARMORY_URI, characterName)))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.warn("armories 조회 실패 - 404 Not Found, name={}", characterName);
+                    return Mono.empty();
+                })
+                .onErrorResume(LostarkApiClient::recoverable, e -> {
+                    log.error("fetchArmory 실패 - {}", characterName, e);
+                    return Mono.empty();
+                });
     }
 
     public String fetchArmory(String apiKey, String characterName) {
-        try {
-            String enc = UriUtils.encodePathSegment(characterName, StandardCharsets.UTF_8);
-            String url = "https://developer-lostark.game.onstove.com/armories/characters/" + enc;
+        return fetchArmoryAsync(apiKey, characterName).block();
+    }
 
-            ResponseEntity<String> res =
-                    rt.exchange(url, HttpMethod.GET, auth(apiKey), String.class);
+    /**
+     * 필요한 섹션만 ?filters= 로 한 번에 조회합니다.
+     * 예) fetchArmorySectionsAsync(key, name, EnumSet.of(PROFILES, ARKPASSIVE))
+     */
+    public Mono<String> fetchArmorySectionsAsync(String apiKey, String characterName, Set<ArmorySection> sections) {
+        String filter = ArmorySection.toFilter(sections);
+        return armorySections(apiKey, characterName, filter, false)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.warn("armories({}) 조회 실패 - 404 Not Found, name={}", filter, characterName);
+                    return Mono.empty();
+                })
+                .onErrorResume(LostarkApiClient::recoverable, e -> {
+                    log.error("fetchArmorySections({}) 실패 - {}", filter, characterName, e);
+                    return Mono.empty();
+                });
+    }
 
-            if (res.getStatusCode() != HttpStatus.OK || res.getBody() == null) {
-                log.warn("armories 조회 실패 status={}, name={}", res.getStatusCode(), characterName);
-                return null;
-            }
+    /**
+     * 스펙 갱신 작업용 조회. 404(없는 캐릭터)와 빈 응답만 빈 결과이고,
+     * 그 밖의 오류(401 잘못된 Key, 429, 호출 한도 초과, 서킷 차단 등)는 삼키지 않고 그대로 올려 보냅니다.
+     * (실패를 "변화 없음"으로 착각해 갱신 간격을 늘리지 않도록) 캐시의 오래된 응답도 쓰지 않습니다.
+     */
+    public Mono<String> fetchArmorySectionsOrErrorAsync(String apiKey, String characterName, Set<ArmorySection> sections) {
+        return armorySections(apiKey, characterName, ArmorySection.toFilter(sections), true)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+    }
 
-            return res.getBody();
-        } catch (HttpClientErrorException.NotFound e) {
-            log.warn("armories 조회 실패 - 404 Not Found, name={}", characterName);
-            return null;
-        } catch (Exception e) {
-            log.error("fetchArmory 실패 - {}", characterName, e);
-            return null;
-        }
+    /** @param freshOnly true 면 fresh-ttl 이 지난 캐시 값 대신 새로 조회한 값을 기다림 */
+    private Mono<String> armorySections(String apiKey, String characterName, String filter, boolean freshOnly) {
+        String scope = "filters=" + filter;
+        Mono<String> loader = coalesced(apiKey, scope, characterName,
+                () -> get(apiKey, b -> b.path(ARMORY_URI).queryParam("filters", filter).build(characterName)));
+        return freshOnly
+                ? armoryCache.getFresh(characterName, scope, loader)
+                : armoryCache.get(characterName, scope, loader);
     }
 
-    public Character_Profile fetchProfile(String apiKey, String characterName) {
-        try {
-            String enc = UriUtils.encodePathSegment(characterName, StandardCharsets.UTF_8);
-            String url = "https://developer-lostark.game.onstove.com/armories/characters/" + enc + "/profiles";
+    public String fetchArmorySections(String apiKey, String characterName, Set<ArmorySection> sections) {
+        return fetchArmorySectionsAsync(apiKey, characterName, sections).block();
+    }
 
-            ResponseEntity<String> res =
-                    rt.exchange(url, HttpMethod.GET, auth(apiKey), String.class);
+    /**
+     * fetchArmorySections 와 같지만 캐시의 오래된(stale) 응답은 쓰지 않습니다.
+     * 조회 결과를 스냅샷으로 저장하는 경로용입니다. (오래된 응답을 "변화 없음"으로 저장하지 않도록)
+     */
+    public String fetchFreshArmorySections(String apiKey, String characterName, Set<ArmorySection> sections) {
+        String filter = ArmorySection.toFilter(sections);
+        return armorySections(apiKey, characterName, filter, true)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.warn("armories({}) 조회 실패 - 404 Not Found, name={}", filter, characterName);
+                    return Mono.empty();
+                })
+                .onErrorResume(LostarkApiClient::recoverable, e -> {
+                    log.error("fetchFreshArmorySections({}) 실패 - {}", filter, characterName, e);
+                    return Mono.empty();
+                })
+                .block();
+    }
 
-            if (res.getStatusCode() != HttpStatus.OK || res.getBody() == null) {
-                throw new IllegalStateException("프로필 조회 실패: " + res.getStatusCode());
-            }
+    /**
+     * 여러 캐릭터의 armories(지정 섹션)를 최대 fan-out-concurrency개씩 동시에 조회합니다.
+     * 조회에 실패한 캐릭터(서킷 차단 포함)는 결과 Map에서 빠집니다.
+     */
+    public Mono<Map<String, String>> fetchArmoriesAsync(String apiKey, Collection<String> characterNames,
+                                                        Set<ArmorySection> sections) {
+        return Flux.fromIterable(characterNames)
+                .flatMap(name -> fetchArmorySectionsAsync(apiKey, name, sections)
+                                .map(json -> Map.entry(name, json))
+                                .onErrorResume(ExternalApiUnavailableException.class, e -> Mono.empty()),
+                        fanOutConcurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
 
-            Character_Profile profile = mapper.readValue(res.getBody(), Character_Profile.class);
+    public Mono<Character_Profile> fetchProfileAsync(String apiKey, String characterName) {
+        return armoryCache.get(characterName, "profiles",
+                coalesced(apiKey, "profiles", characterName, () -> get(apiKey, PROFILE_URI, characterName)))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("프로필 조회 실패: 빈 응답")))
+                // combatPower가 응답에 없으면 null로 둔다(서비스에서 null-safe 변환)
+                .map(body -> readValue(body, Character_Profile.class))
+                .onErrorMap(WebClientResponseException.NotFound.class,
+                        e -> new IllegalArgumentException("캐릭터를 찾을 수 없습니다: " + characterName))
+                .onErrorMap(e -> !(e instanceof IllegalArgumentException) && recoverable(e), e -> {
+                    log.error("fetchProfile 실패 - {} ", characterName, e);
+                    return new IllegalStateException("프로필 조회 중 오류가 발생했습니다.");
+                });
+    }
 
-            // combatPower가 응답에 없으면 null로 둔다(서비스에서 null-safe 변환)
-            return profile;
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new IllegalArgumentException("캐릭터를 찾을 수 없습니다: " + characterName);
-        } catch (Exception e) {
-            log.error("fetchProfile 실패 - {} ", characterName, e);
-            throw new IllegalStateException("프로필 조회 중 오류가 발생했습니다.");
-        }
+    public Character_Profile fetchProfile(String apiKey, String characterName) {
+        return fetchProfileAsync(apiKey, characterName).block();
+    }
+
+    public Mono<List<LoaSiblings>> fetchSiblingsAsync(String apiKey, String characterName) {
+        var type = mapper.getTypeFactory().constructCollectionType(List.class, LoaSiblings.class);
+        return coalesced(apiKey, "siblings", characterName, () -> get(apiKey, SIBLINGS_URI, characterName))
+                .<List<LoaSiblings>>map(body -> readValue(body, type))
+                .defaultIfEmpty(List.of())
+                .onErrorResume(LostarkApiClient::recoverable, e -> {
+                    log.error("fetchSiblings 실패 - {}", characterName, e);
+                    return Mono.just(List.of());
+                });
     }
+
     public List<LoaSiblings> fetchSiblings(String apiKey, String characterName) {
-        try {
-            String enc = UriUtils.encodePathSegment(characterName, StandardCharsets.UTF_8);
-            String url = "https://developer-lostark.game.onstove.com/characters/" + enc + "/siblings";
-            ResponseEntity<String> res = rt.exchange(url, HttpMethod.GET, auth(apiKey), String.class);
-            if (res.getStatusCode() != HttpStatus.OK || res.getBody() == null) return List.of();
-            var type = mapper.getTypeFactory().constructCollectionType(List.class, LoaSiblings.class);
-            return mapper.readValue(res.getBody(), type);
-        } catch (Exception e) {
-            log.error("fetchSiblings 실패 - {}", characterName, e);
-            return List.of();
-        }
+        return fetchSiblingsAsync(apiKey, characterName).block();
     }
 
     /** 닉네임의 원정대(=siblings) 닉네임 목록 조회 */
+    public Mono<List<String>> getSiblingsAsync(String apiKey, String nickname) {
+        return coalesced(apiKey, "siblings", nickname, () -> get(apiKey, SIBLINGS_URI, nickname))
+                .map(body -> {
+                    // [{"ServerName":"...","CharacterName":"닉1",...}, ...]
+                    var arr = readTree(body);
+                    List<String> names = new ArrayList<>();
+                    if (arr.isArray()) {
+                        for (var n : arr) {
+                            var name = n.get("CharacterName");
+                            if (name != null) names.add(name.asText());
+                        }
+                    }
+                    return names;
+                })
+                .defaultIfEmpty(List.of())
+                .onErrorResume(LostarkApiClient::recoverable, e -> {
+                    log.error("siblings 조회 실패 {}", nickname, e);
+                    return Mono.just(List.of());
+                });
+    }
+
     public List<String> getSiblings(String apiKey, String nickname) {
-        try {
-            String enc = UriUtils.encodePathSegment(nickname, StandardCharsets.UTF_8);
-            String url = "https://developer-lostark.game.onstove.com/characters/" + enc + "/siblings";
-            var res = rt.exchange(url, HttpMethod.GET, auth(apiKey), String.class);
-            if (res.getStatusCode() != HttpStatus.OK || res.getBody() == null) return List.of();
-
-            // 최소 파싱 (Jackson 추천이지만 간단히 정규/스캔도 가능)
-            // [{"ServerName":"...","CharacterName":"닉1",...}, ...]
-            var mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            var arr = mapper.readTree(res.getBody());
-            List<String> names = new java.util.ArrayList<>();
-            if (arr.isArray()) {
-                for (var n : arr) {
-                    var name = n.get("CharacterName");
-                    if (name != null) names.add(name.asText());
-                }
-            }
-            return names;
-        } catch (Exception e) {
-            log.error("siblings 조회 실패 {}", nickname, e);
-            return List.of();
-        }
+        return getSiblingsAsync(apiKey, nickname).block();
     }
 
     /** 주어진 닉네임이 실제 존재하는지 빠른 확인(옵션) */
-    public boolean existsCharacter(String apiKey, String nickname) {
-        var sib = getSiblings(apiKey, nickname);
+    public Mono<Boolean> existsCharacterAsync(String apiKey, String nickname) {
         // 본인도 siblings에 포함되어 내려오기 때문에 빈 배열이면 존재X로 판단
-        return !sib.isEmpty();
+        return getSiblingsAsync(apiKey, nickname).map(sib -> !sib.isEmpty());
     }
+
+    public boolean existsCharacter(String apiKey, String nickname) {
+        return Boolean.TRUE.equals(existsCharacterAsync(apiKey, nickname).block());
+    }
+
+    public Mono<String> fetchArkPassiveTitleAsync(String apiKey, String characterName) {
+        return fetchArmorySectionsAsync(apiKey, characterName, EnumSet.of(ArmorySection.ARKPASSIVE))
+                .mapNotNull(body -> {
+                    Character_ArkPassive root = readValue(body, Character_ArkPassive.class);
+                    if (root.getArkPassive() == null) return null;
+                    return root.getArkPassive().getTitle(); // ex) "질풍노도"
+                })
+                .onErrorResume(e -> {
+                    log.error("fetchArkPassiveTitle 실패 - {}", characterName, e);
+                    return Mono.empty();
+                });
+    }
+
     public String fetchArkPassiveTitle(String apiKey, String characterName) {
+        return fetchArkPassiveTitleAsync(apiKey, characterName).block();
+    }
+
+    private <T> T readValue(String body, Class<T> type) {
+        try {
+            return mapper.readValue(body, type);
+        } catch (Exception e) {
+            throw new IllegalStateException("응답 파싱 실패", e);
+        }
+    }
+
+    private <T> T readValue(String body, JavaType type) {
+        try {
+            return mapper.readValue(body, type);
+        } catch (Exception e) {
+            throw new IllegalStateException("응답 파싱 실패", e);
+        }
+    }
+
+    private JsonNode readTree(String body) {
         try {
-            String enc = UriUtils.encodePathSegment(characterName, StandardCharsets.UTF_8);
-            String url = "https://developer-lostark.game.onstove.com/armories/characters/" + enc + "?filters=arkpassive";
-            log.info("[ARK] GET {}", url);
-            ResponseEntity<String> res = rt.exchange(url, HttpMethod.GET, auth(apiKey), String.class);
-            log.info("[ARK] status={}, title={}",
-                    res.getStatusCode(),
-                    mapper.readTree(res.getBody()).path("ArkPassive").path("Title").asText(null));
-            if (res.getStatusCode() != HttpStatus.OK || res.getBody() == null) {
-                log.warn("arkpassive 조회 실패 status={}, name={}", res.getStatusCode(), characterName);
-                return null;
-            }
-
-            Character_ArkPassive root = mapper.readValue(res.getBody(), Character_ArkPassive.class);
-            if (root.getArkPassive() == null) return null;
-            return root.getArkPassive().getTitle(); // ex) "질풍노도"
-        } catch (HttpClientErrorException.NotFound e) {
-            // 캐릭 삭제/명 중복 등으로 프로필 없음
-            return null;
+            return mapper.readTree(body);
         } catch (Exception e) {
-            log.error("fetchArkPassiveTitle 실패 - {}", characterName, e);
-            return null;
+            throw new IllegalStateException("응답 파싱 실패", e);
         }
     }
 }
@@ -0,0 +1,113 @@
+package com.example.Loark.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * armories 응답 캐시 (캐릭터명 + 조회 범위 기준).
+ * <p>
+ * fresh-ttl 이내면 그대로 반환하고, stale-ttl 이내면 오래된 값을 즉시 반환하면서
+ * 백그라운드로 한 번만 다시 조회합니다(stale-while-revalidate).
+ * 응답을 저장하는 경로는 오래된 값을 저장하지 않도록 {@link #getFresh} 를 씁니다.
+ * 응답 크기(바이트) 합계로 상한을 두며 축출은 Caffeine(W-TinyLFU)이 담당합니다.
+ * 적중/미스/축출 수는 actuator 의 cache.* 메트릭(cache=lostark.armory)으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class LostarkArmoryCache {
+
+    private record Key(String characterName, String scope) {}
+
+    private record Entry(String body, long fetchedAtNanos) {}
+
+    private final Cache<Key, Entry> cache;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final Duration freshTtl;
+    private final Counter staleHits;
+
+    public LostarkArmoryCache(MeterRegistry meterRegistry,
+                              @Value("${lostark.cache.armory.fresh-ttl:60s}") Duration freshTtl,
+                              @Value("${lostark.cache.armory.stale-ttl:10m}") Duration staleTtl,
+                              @Value("${lostark.cache.armory.max-size:64MB}") DataSize maxSize) {
+        this.freshTtl = freshTtl;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(staleTtl)
+                .maximumWeight(maxSize.toBytes())
+                // String 은 대략 문자당 2바이트
+                .<Key, Entry>weigher((k, v) -> v.body().length() * 2)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lostark.armory");
+        this.staleHits = Counter.builder("lostark.armory.cache.stale")
+                .description("만료된 값을 반환하고 백그라운드 갱신을 건 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param scope  전체 armories면 빈 문자열, 일부만 조회하면 그 범위(filters 등)
+     * @param loader 실제 API 호출 (캐시 미스 또는 백그라운드 갱신 시에만 구독)
+     */
+    public Mono<String> get(String characterName, String scope, Mono<String> loader) {
+        Key key = new Key(normalize(characterName), scope);
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return loader.doOnNext(body -> put(key, body));
+        }
+        if (!isFresh(entry)) {
+            staleHits.increment();
+            refreshInBackground(key, loader);
+        }
+        return Mono.just(entry.body());
+    }
+
+    /**
+     * 조회 결과를 저장하는 경로(스펙 저장, 갱신 스케줄러)용: fresh-ttl 이내 값만 쓰고,
+     * 오래된 값은 돌려주지 않고 새로 조회한 값을 기다려 반환합니다. (새 값은 캐시에도 올림)
+     */
+    public Mono<String> getFresh(String characterName, String scope, Mono<String> loader) {
+        Key key = new Key(normalize(characterName), scope);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && isFresh(entry)) {
+            return Mono.just(entry.body());
+        }
+        return loader.doOnNext(body -> put(key, body));
+    }
+
+    private boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.fetchedAtNanos() <= freshTtl.toNanos();
+    }
+
+    public void invalidate(String characterName) {
+        String name = normalize(characterName);
+        cache.asMap().keySet().removeIf(k -> k.characterName().equals(name));
+    }
+
+    private void refreshInBackground(Key key, Mono<String> loader) {
+        if (!refreshing.add(key)) return;
+        loader.doFinally(s -> refreshing.remove(key))
+                .subscribe(body -> put(key, body),
+                        e -> log.warn("armories 백그라운드 갱신 실패 - {}", key.characterName(), e));
+    }
+
+    private void put(Key key, String body) {
+        cache.put(key, new Entry(body, System.nanoTime()));
+    }
+
+    static String normalize(String characterName) {
+        return Normalizer.normalize(characterName.trim(), Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+}
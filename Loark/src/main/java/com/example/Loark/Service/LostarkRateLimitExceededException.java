@@ -0,0 +1,13 @@
+package com.example.Loark.Service;
+
+/**
+ * API Key 하나의 호출 예산이 바닥나 lostark.ratelimit.max-wait 안에 호출할 수 없을 때 발생합니다.
+ * 그 Key 의 사정일 뿐 로스트아크 API 장애가 아니므로 circuit breaker 는 이 예외를 실패로 세지 않습니다.
+ * (기존 호출부가 IllegalStateException 으로 처리하던 흐름은 그대로)
+ */
+public class LostarkRateLimitExceededException extends IllegalStateException {
+
+    public LostarkRateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.Loark.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * API Key 별 토큰 버킷 레이트 리미터.
+ * <p>
+ * 로스트아크 Open API는 Key마다 분당 호출 한도가 있으므로, 요청 전에 토큰을 예약하고
+ * 부족하면 Mono.delay 로 호출을 뒤로 미룹니다(스레드를 점유하지 않음).
+ * 응답의 X-RateLimit-* 헤더로 남은 예산을 보정하고, 429 응답은 Retry-After 만큼 쉰 뒤 재시도합니다.
+ * <p>
+ * WebClient 에서 ExternalApiGuard 필터보다 바깥에 두므로, 토큰을 기다리는 동안은 bulkhead 허가를 잡지 않고
+ * 느린 호출 판정에도 들어가지 않습니다. (guard 는 실제 HTTP 교환 한 번씩만 감쌈)
+ * <p>
+ * 메트릭 태그에는 API Key 원문 대신 SHA-256 앞 8자리만 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LostarkRateLimiter implements ExchangeFilterFunction {
+
+    private static final String BEARER = "Bearer ";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, KeyBudget> budgets = new ConcurrentHashMap<>();
+
+    @Value("${lostark.ratelimit.requests-per-minute:100}")
+    private int requestsPerMinute;
+
+    @Value("${lostark.ratelimit.max-wait:60s}")
+    private Duration maxWait;
+
+    @Value("${lostark.ratelimit.max-retries:2}")
+    private int maxRetries;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String apiKey = bearerToken(request);
+        if (apiKey == null) {
+            return next.exchange(request);
+        }
+        return exchange(request, next, budget(apiKey), 0);
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, KeyBudget budget, int attempt) {
+        return Mono.defer(() -> {
+            long waitMillis = budget.reserve(System.nanoTime(), System.currentTimeMillis());
+            if (waitMillis > maxWait.toMillis()) {
+                budget.cancelReservation();
+                budget.rejected.increment();
+                return Mono.error(new LostarkRateLimitExceededException("로스트아크 API 호출 한도를 초과했습니다. 잠시 후 다시 시도하세요."));
+            }
+            if (waitMillis <= 0) {
+                return next.exchange(request);
+            }
+            budget.throttled.increment();
+            budget.waiting.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(waitMillis))
+                    .doFinally(s -> budget.waiting.decrementAndGet())
+                    .then(next.exchange(request));
+        }).flatMap(response -> {
+            HttpHeaders headers = response.headers().asHttpHeaders();
+            budget.onResponse(headers);
+            if (response.statusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return Mono.just(response);
+            }
+            budget.tooManyRequests.increment();
+            budget.onTooManyRequests(headers, System.currentTimeMillis());
+            if (attempt >= maxRetries) {
+                return Mono.just(response);
+            }
+            log.warn("로스트아크 API 429 - key={}, {}번째 재시도", budget.tag, attempt + 1);
+            return response.releaseBody().then(exchange(request, next, budget, attempt + 1));
+        });
+    }
+
+    private KeyBudget budget(String apiKey) {
+        return budgets.computeIfAbsent(apiKey, k -> {
+            KeyBudget b = new KeyBudget(tagOf(k), requestsPerMinute, meterRegistry);
+            Gauge.builder("lostark.ratelimit.remaining", b, KeyBudget::remaining)
+                    .description("API Key 별 남은 호출 예산")
+                    .tag("key", b.tag).register(meterRegistry);
+            Gauge.builder("lostark.ratelimit.limit", b, KeyBudget::limit)
+                    .tag("key", b.tag).register(meterRegistry);
+            Gauge.builder("lostark.ratelimit.utilization", b, KeyBudget::utilization)
+                    .description("API Key 별 예산 사용률(0~1)")
+                    .tag("key", b.tag).register(meterRegistry);
+            Gauge.builder("lostark.ratelimit.waiting", b.waiting, AtomicInteger::get)
+                    .description("예산 부족으로 대기 중인 요청 수")
+                    .tag("key", b.tag).register(meterRegistry);
+            return b;
+        });
+    }
+
+    private static String bearerToken(ClientRequest request) {
+        String auth = request.headers().getFirst(HttpHeaders.AUTHORIZATION);
+        if (auth == null || !auth.startsWith(BEARER)) return null;
+        return auth.substring(BEARER.length());
+    }
+
+    private static String tagOf(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Key 하나의 토큰 버킷. 토큰은 분당 limit 개 속도로 연속 충전되며,
+     * 부족해도 예약(음수 허용)해 두고 필요한 대기 시간을 돌려주므로 호출 순서대로 줄을 섭니다.
+     */
+    static final class KeyBudget {
+        final String tag;
+        final AtomicInteger waiting = new AtomicInteger();
+        final Counter throttled;
+        final Counter tooManyRequests;
+        final Counter rejected;
+
+        private int limit;
+        private double tokens;
+        private long lastRefillNanos;
+        private long blockedUntilMillis;
+
+        KeyBudget(String tag, int limit, MeterRegistry registry) {
+            this.tag = tag;
+            this.limit = limit;
+            this.tokens = limit;
+            this.lastRefillNanos = System.nanoTime();
+            this.throttled = Counter.builder("lostark.ratelimit.throttled").tag("key", tag).register(registry);
+            this.tooManyRequests = Counter.builder("lostark.ratelimit.too-many-requests").tag("key", tag).register(registry);
+            this.rejected = Counter.builder("lostark.ratelimit.rejected").tag("key", tag).register(registry);
+        }
+
+        /** 토큰 하나를 예약하고, 호출 전에 기다려야 하는 시간(ms)을 반환합니다. */
+        synchronized long reserve(long nowNanos, long nowMillis) {
+            refill(nowNanos);
+            tokens -= 1;
+            long wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 60_000.0 / limit);
+            return Math.max(wait, blockedUntilMillis - nowMillis);
+        }
+
+        synchronized void cancelReservation() {
+            tokens += 1;
+        }
+
+        /** 서버가 알려준 남은 호출 수가 로컬 추정보다 적으면 서버 값을 따릅니다. */
+        synchronized void onResponse(HttpHeaders headers) {
+            Integer headerLimit = intHeader(headers, "X-RateLimit-Limit");
+            if (headerLimit != null && headerLimit > 0) {
+                limit = headerLimit;
+            }
+            Integer remaining = intHeader(headers, "X-RateLimit-Remaining");
+            if (remaining != null && remaining < tokens) {
+                tokens = remaining;
+            }
+            Long reset = longHeader(headers, "X-RateLimit-Reset");
+            if (remaining != null && remaining <= 0 && reset != null) {
+                // Reset 은 epoch seconds
+                blockedUntilMillis = Math.max(blockedUntilMillis, TimeUnit.SECONDS.toMillis(reset));
+            }
+        }
+
+        synchronized void onTooManyRequests(HttpHeaders headers, long nowMillis) {
+            Long retryAfter = longHeader(headers, HttpHeaders.RETRY_AFTER);
+            long until = nowMillis + TimeUnit.SECONDS.toMillis(retryAfter != null ? retryAfter : 60);
+            blockedUntilMillis = Math.max(blockedUntilMillis, until);
+            tokens = Math.min(tokens, 0);
+        }
+
+        synchronized double remaining() {
+            refill(System.nanoTime());
+            return Math.max(tokens, 0);
+        }
+
+        synchronized double limit() {
+            return limit;
+        }
+
+        double utilization() {
+            return 1.0 - remaining() / limit();
+        }
+
+        private void refill(long nowNanos) {
+            if (nowNanos <= lastRefillNanos) return;
+            double elapsedMinutes = (nowNanos - lastRefillNanos) / 60_000_000_000.0;
+            tokens = Math.min(limit, tokens + elapsedMinutes * limit);
+            lastRefillNanos = nowNanos;
+        }
+
+        private static Integer intHeader(HttpHeaders headers, String name) {
+            Long v = longHeader(headers, name);
+            return v == null ? null : v.intValue();
+        }
+
+        private static Long longHeader(HttpHeaders headers, String name) {
+            String v = headers.getFirst(name);
+            if (v == null || v.isBlank()) return null;
+            try {
+                return Long.parseLong(v.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
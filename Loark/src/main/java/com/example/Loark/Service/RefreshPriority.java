@@ -0,0 +1,81 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.RefreshCandidate;
+
+import java.time.Duration;
+
+/**
+ * 스펙 갱신 우선순위 계산.
+ * <ul>
+ *   <li>활동도(hotness, 0~1): 최근 조회/로그인/전투 기록 업로드/파티 활동/캐릭터 수정이 가까울수록 1에 가깝다.
+ *       각 신호는 경과 시간에 대해 지수 감쇠하며 가장 강한 신호를 씁니다.</li>
+ *   <li>기본 간격: 활동도 1이면 minInterval, 0이면 maxInterval (그 사이는 기하 보간)</li>
+ *   <li>백오프: 전투력이 backoffAfter 회 넘게 그대로면 초과 횟수만큼 간격을 2배씩 (maxInterval 상한)</li>
+ * </ul>
+ */
+public class RefreshPriority {
+
+    // 신호별 (가중치, 감쇠 시간)
+    private static final double VIEW_WEIGHT = 1.0, VIEW_TAU = Duration.ofMinutes(30).toSeconds();
+    private static final double UPLOAD_WEIGHT = 0.8, UPLOAD_TAU = Duration.ofHours(12).toSeconds();
+    private static final double LOGIN_WEIGHT = 0.7, LOGIN_TAU = Duration.ofHours(6).toSeconds();
+    private static final double PARTY_WEIGHT = 0.6, PARTY_TAU = Duration.ofHours(12).toSeconds();
+    private static final double UPDATED_WEIGHT = 0.3, UPDATED_TAU = Duration.ofHours(24).toSeconds();
+
+    private static final int MAX_BACKOFF_EXPONENT = 16;
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final int backoffAfter;
+
+    public RefreshPriority(Duration minInterval, Duration maxInterval, int backoffAfter) {
+        if (minInterval.isZero() || minInterval.isNegative() || maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("갱신 간격 설정이 올바르지 않습니다.");
+        }
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.backoffAfter = backoffAfter;
+    }
+
+    public double hotness(RefreshCandidate c) {
+        double h = 0;
+        h = Math.max(h, signal(VIEW_WEIGHT, VIEW_TAU, c.viewAgeSeconds()));
+        h = Math.max(h, signal(UPLOAD_WEIGHT, UPLOAD_TAU, c.uploadAgeSeconds()));
+        h = Math.max(h, signal(LOGIN_WEIGHT, LOGIN_TAU, c.loginAgeSeconds()));
+        h = Math.max(h, signal(PARTY_WEIGHT, PARTY_TAU, c.partyAgeSeconds()));
+        h = Math.max(h, signal(UPDATED_WEIGHT, UPDATED_TAU, c.updatedAgeSeconds()));
+        return h;
+    }
+
+    /** 다음 갱신까지의 간격 */
+    public Duration interval(double hotness, int unchangedPolls) {
+        double min = minInterval.toSeconds();
+        double max = maxInterval.toSeconds();
+        double base = min * Math.pow(max / min, 1 - clamp(hotness));
+        int exponent = Math.min(Math.max(unchangedPolls - backoffAfter, 0), MAX_BACKOFF_EXPONENT);
+        double seconds = Math.min(base * (1L << exponent), max);
+        return Duration.ofSeconds(Math.round(seconds));
+    }
+
+    /**
+     * 큐에서의 점수 (클수록 먼저). 활동도에 "자기 간격 대비 얼마나 늦었는지"를 더해
+     * 조용한 캐릭터도 오래 밀리면 결국 차례가 오게 합니다.
+     */
+    public double score(RefreshCandidate c, double hotness) {
+        double interval = interval(hotness, c.unchangedPolls()).toSeconds();
+        return hotness + Math.max(c.overdueSeconds(), 0) / interval;
+    }
+
+    public Duration minInterval() {
+        return minInterval;
+    }
+
+    private static double signal(double weight, double tauSeconds, Double ageSeconds) {
+        if (ageSeconds == null) return 0;
+        return weight * Math.exp(-Math.max(ageSeconds, 0) / tauSeconds);
+    }
+
+    private static double clamp(double v) {
+        return Math.max(0, Math.min(1, v));
+    }
+}
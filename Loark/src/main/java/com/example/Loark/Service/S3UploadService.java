@@ -1,6 +1,7 @@
 package com.example.Loark.Service;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
@@ -28,6 +30,10 @@ public class S3UploadService {
     @Value("${s3.bucket.json}")
     private String jsonBucket;
 
+    // 오래된 스펙 파티션 보관 파일 (따로 지정하지 않으면 JSON 버킷)
+    @Value("${s3.bucket.archive:${s3.bucket.json}}")
+    private String archiveBucket;
+
     /**
      * MultipartFile을 S3 이미지 버킷에 업로드합니다.
      * @param file 업로드할 이미지 파일
@@ -62,4 +68,33 @@ public class S3UploadService {
         amazonS3.putObject(new PutObjectRequest(jsonBucket, s3Key, jsonInputStream, metadata));
         return amazonS3.getUrl(jsonBucket, s3Key).toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * 로컬 파일을 S3 보관 버킷에 업로드합니다.
+     * @param file 업로드할 파일 (gzip)
+     * @param s3Key 저장할 S3 객체 키
+     */
+    public void uploadArchive(File file, String s3Key) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(file.length());
+        metadata.setContentType("application/gzip");
+
+        amazonS3.putObject(new PutObjectRequest(archiveBucket, s3Key, file).withMetadata(metadata));
+    }
+
+    /**
+     * S3 보관 버킷의 파일을 스트림으로 엽니다. 다 읽은 뒤 반드시 닫아야 합니다.
+     * @param s3Key 읽을 S3 객체 키
+     */
+    public InputStream openArchive(String s3Key) {
+        return amazonS3.getObject(archiveBucket, s3Key).getObjectContent();
+    }
+
+    /**
+     * S3 보관 버킷 파일의 일부(offset 부터 length 바이트)만 범위 요청으로 엽니다. 다 읽은 뒤 반드시 닫아야 합니다.
+     */
+    public InputStream openArchiveRange(String s3Key, long offset, long length) {
+        GetObjectRequest request = new GetObjectRequest(archiveBucket, s3Key).withRange(offset, offset + length - 1);
+        return amazonS3.getObject(request).getObjectContent();
+    }
+}
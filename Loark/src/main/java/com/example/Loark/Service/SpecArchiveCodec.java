@@ -0,0 +1,261 @@
+package com.example.Loark.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 보관 파일 형식: gzip 으로 압축한 줄 단위 JSON.
+ * <pre>
+ * {"columns":["spec_id","character_id",...]}
+ * {"n":1000,"c":{"spec_id":[...],"character_id":[...],...}}   &lt;- row group (열 단위 배열)
+ * ...
+ * </pre>
+ * 같은 열의 값이 붙어 있어 압축이 잘 되고, 특정 열(character_id 등)만 보고 row group 을 건너뛸 수 있습니다.
+ * 값은 숫자/문자열/null 만 씁니다. (시각은 LocalDateTime 문자열, BigDecimal 은 자릿수를 지키려고 문자열)
+ * <p>
+ * 머리 줄과 row group 은 각각 따로 끝나는 gzip 멤버라, 파일 전체는 보통의 gzip 이면서
+ * {@link Writer#rowGroups()} 의 위치(offset, length)만 범위 요청으로 받아 그 row group 하나만 풀 수도 있습니다.
+ * row group 줄은 열 이름을 함께 담고 있어 머리 줄 없이 읽힙니다.
+ */
+public final class SpecArchiveCodec {
+
+    public static final int DEFAULT_ROW_GROUP_SIZE = 1000;
+
+    private SpecArchiveCodec() {
+    }
+
+    /** JDBC 값을 보관 파일에 쓰는 값으로 */
+    static Object normalize(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean) return value;
+        if (value instanceof BigDecimal d) return d.toPlainString();
+        if (value instanceof Number) return value;
+        if (value instanceof Timestamp t) return t.toLocalDateTime().toString();
+        if (value instanceof OffsetDateTime t) return t.toLocalDateTime().toString();
+        if (value instanceof TemporalAccessor t) return t.toString();
+        // jsonb(PGobject) 등은 텍스트 표현 그대로
+        return value.toString();
+    }
+
+    /**
+     * 파일 안 row group 하나의 위치와 그 row group 에 든 keyColumn 값들.
+     * @param offset 파일 시작부터의 바이트 위치 (압축된 파일 기준)
+     * @param length 압축된 바이트 수
+     */
+    public record RowGroup(long offset, long length, List<Object> keys) {}
+
+    public static final class Writer implements Closeable {
+
+        private final ObjectMapper mapper;
+        private final CountingOutputStream out;
+        private final List<String> columns;
+        private final int rowGroupSize;
+        private final int keyIndex;
+        private final List<List<Object>> group;
+        private final List<RowGroup> rowGroups = new ArrayList<>();
+        private int groupRows;
+        private long rowCount;
+
+        public Writer(OutputStream out, ObjectMapper mapper, List<String> columns) throws IOException {
+            this(out, mapper, columns, DEFAULT_ROW_GROUP_SIZE);
+        }
+
+        public Writer(OutputStream out, ObjectMapper mapper, List<String> columns, int rowGroupSize) throws IOException {
+            this(out, mapper, columns, rowGroupSize, null);
+        }
+
+        /** @param keyColumn rowGroups() 에 row group 별로 모아 둘 열 (null 이면 모으지 않음) */
+        public Writer(OutputStream out, ObjectMapper mapper, List<String> columns, int rowGroupSize,
+                      String keyColumn) throws IOException {
+            this.mapper = mapper;
+            this.out = new CountingOutputStream(out);
+            this.columns = List.copyOf(columns);
+            this.rowGroupSize = rowGroupSize;
+            this.keyIndex = keyColumn == null ? -1 : this.columns.indexOf(keyColumn);
+            if (keyColumn != null && keyIndex < 0) {
+                throw new IllegalArgumentException("없는 열입니다: " + keyColumn);
+            }
+            this.group = new ArrayList<>(columns.size());
+            for (int i = 0; i < columns.size(); i++) group.add(new ArrayList<>(rowGroupSize));
+            writeMember(Map.of("columns", this.columns));
+        }
+
+        /** 한 행 (columns 순서) */
+        public void write(List<?> row) throws IOException {
+            if (row.size() != columns.size()) {
+                throw new IllegalArgumentException("열 개수가 다릅니다: " + row.size() + " != " + columns.size());
+            }
+            for (int i = 0; i < row.size(); i++) group.get(i).add(normalize(row.get(i)));
+            rowCount++;
+            if (++groupRows == rowGroupSize) flushGroup();
+        }
+
+        public long rowCount() {
+            return rowCount;
+        }
+
+        /** 지금까지 쓴 row group 들의 위치 (close 뒤에는 전부) */
+        public List<RowGroup> rowGroups() {
+            return List.copyOf(rowGroups);
+        }
+
+        private void flushGroup() throws IOException {
+            if (groupRows == 0) return;
+            Map<String, List<Object>> byColumn = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) byColumn.put(columns.get(i), group.get(i));
+            long offset = writeMember(Map.of("n", groupRows, "c", byColumn));
+            rowGroups.add(new RowGroup(offset, out.count - offset,
+                    keyIndex < 0 ? List.of() : new ArrayList<>(group.get(keyIndex))));
+            for (List<Object> values : group) values.clear();
+            groupRows = 0;
+        }
+
+        /** 줄 하나를 독립된 gzip 멤버로 쓰고 시작 위치를 반환 */
+        private long writeMember(Object line) throws IOException {
+            long offset = out.count;
+            GZIPOutputStream member = new GZIPOutputStream(out.unclosable, 64 * 1024);
+            member.write(mapper.writeValueAsBytes(line));
+            member.write('\n');
+            member.close();
+            return offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushGroup();
+            out.close();
+        }
+    }
+
+    /** 쓴 바이트 수를 세는 스트림 */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+        // gzip 멤버를 끝낼 때 바깥 스트림까지 닫지 않도록
+        final OutputStream unclosable = new FilterOutputStream(this) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                CountingOutputStream.this.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * column 값이 value 인 행을 모두 읽습니다. (열 이름 -> 값, 숫자는 Long / 그 외는 String)
+     * 해당 값이 없는 row group 은 행으로 풀지 않고 건너뜁니다.
+     */
+    public static List<Map<String, Object>> readMatching(InputStream gzipped, ObjectMapper mapper,
+                                                         String column, Object value) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        forEachMatching(gzipped, mapper, column, value, rows::add);
+        return rows;
+    }
+
+    /**
+     * readMatching 과 같지만 행을 모으지 않고 하나씩 넘깁니다.
+     * 파일 전체뿐 아니라 RowGroup 위치로 잘라 받은 일부(머리 줄 없음)도 읽습니다.
+     * row group 은 column 열까지만 파싱해 보고, 일치하는 행이 없으면 나머지 열(jsonb 본문)은 파싱하지 않습니다.
+     */
+    public static void forEachMatching(InputStream gzipped, ObjectMapper mapper, String column, Object value,
+                                       Consumer<Map<String, Object>> action) throws IOException {
+        String wanted = String.valueOf(value);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new GZIPInputStream(gzipped, 64 * 1024), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try (JsonParser parser = mapper.createParser(line)) {
+                    matchGroup(parser, mapper, column, wanted, action);
+                }
+            }
+        }
+    }
+
+    /** 줄 하나 (머리 줄이면 건너뜀) */
+    private static void matchGroup(JsonParser parser, ObjectMapper mapper, String column, String wanted,
+                                   Consumer<Map<String, Object>> action) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) return;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (!field.equals("c")) {
+                parser.skipChildren();
+                continue;
+            }
+
+            // 열 이름 -> 값 배열 (column 열까지 읽고, 일치하는 행이 있을 때만 나머지 열도 읽음)
+            Map<String, JsonNode> byColumn = new LinkedHashMap<>();
+            List<Integer> matches = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                JsonNode values = mapper.readTree(parser);
+                byColumn.put(name, values);
+                if (name.equals(column)) {
+                    matches = new ArrayList<>();
+                    for (int r = 0; r < values.size(); r++) {
+                        if (!values.get(r).isNull() && wanted.equals(values.get(r).asText())) matches.add(r);
+                    }
+                    if (matches.isEmpty()) return;
+                }
+            }
+            if (matches == null) {
+                throw new IllegalArgumentException("보관 파일에 없는 열입니다: " + column);
+            }
+            for (int r : matches) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                byColumn.forEach((c, values) -> row.put(c, toValue(values.get(r))));
+                action.accept(row);
+            }
+            return;
+        }
+    }
+
+    private static Object toValue(JsonNode node) {
+        if (node == null || node.isNull()) return null;
+        if (node.isIntegralNumber()) return node.asLong();
+        if (node.isNumber()) return node.decimalValue();
+        if (node.isBoolean()) return node.asBoolean();
+        return node.asText();
+    }
+}
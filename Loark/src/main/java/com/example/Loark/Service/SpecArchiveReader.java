@@ -0,0 +1,138 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.SpecArchive;
+import com.example.Loark.Entity.SpecArchiveEntry;
+import com.example.Loark.Entity.SpecSlot;
+import com.example.Loark.Repository.SpecArchiveEntryRepository;
+import com.example.Loark.Repository.SpecArchiveRepository;
+import com.example.Loark.Repository.SpecFragmentStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 보관 파일로 옮겨진 스냅샷 읽기.
+ * <p>
+ * spec_archive_catalog 에서 스냅샷이 들어 있는 파일과 그 안의 row group 위치를 찾아,
+ * 범위 요청으로 그 row group 하나만 받아 해당 캐릭터의 행만 꺼냅니다.
+ * 파일은 캐릭터 순으로 쓰여 있어 같은 캐릭터의 다른 날짜도 대개 같은 row group 에 있으므로, 읽은 행은 모두 캐시에 넣습니다.
+ * 위치를 남기기 전에 보관된 스냅샷은 파일 전체를 스트리밍하며 찾습니다.
+ * 반환하는 CharacterSpec 은 영속 상태가 아니므로 읽기 전용으로만 씁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpecArchiveReader {
+
+    private static final TypeReference<Map<String, String>> SECTION_HASHES = new TypeReference<>() {};
+
+    private final SpecArchiveEntryRepository entryRepo;
+    private final SpecArchiveRepository archiveRepo;
+    private final S3UploadService s3UploadService;
+    private final SpecFragmentStore fragmentStore;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spec.archive.read-cache-size:20000}")
+    private long readCacheSize;
+
+    // spec_id -> 보관 파일의 행 (열 이름 -> 값)
+    private Cache<Long, Map<String, Object>> rows;
+
+    @PostConstruct
+    void init() {
+        rows = Caffeine.newBuilder()
+                .maximumSize(readCacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rows, "spec.archive.rows");
+    }
+
+    public Optional<CharacterSpec> find(Character character, Long specId) {
+        Optional<SpecArchiveEntry> entry = entryRepo.findById(specId);
+        if (entry.isEmpty()) return Optional.empty();
+
+        Map<String, Object> row = rows.getIfPresent(specId);
+        if (row == null) {
+            load(entry.get());
+            row = rows.getIfPresent(specId);
+        }
+        return row == null ? Optional.empty() : Optional.of(toSpec(character, row));
+    }
+
+    /** 스냅샷이 든 row group(위치가 없으면 파일 전체)에서 해당 캐릭터의 행을 읽어 캐시에 넣습니다. */
+    private void load(SpecArchiveEntry entry) {
+        SpecArchive archive = archiveRepo.findById(entry.getPartitionName())
+                .orElseThrow(() -> new IllegalStateException("보관 파일 정보가 없습니다: " + entry.getPartitionName()));
+        try (InputStream in = entry.getArchiveOffset() == null
+                ? s3UploadService.openArchive(archive.getArchiveKey())
+                : s3UploadService.openArchiveRange(archive.getArchiveKey(), entry.getArchiveOffset(), entry.getArchiveLength())) {
+            List<Map<String, Object>> found =
+                    SpecArchiveCodec.readMatching(in, objectMapper, "character_id", entry.getCharacterId());
+            for (Map<String, Object> r : found) rows.put(asLong(r.get("spec_id")), r);
+            log.info("보관 스펙 로딩 - {} / character_id={}: {}행", archive.getArchiveKey(), entry.getCharacterId(), found.size());
+        } catch (IOException e) {
+            throw new IllegalStateException("보관 파일을 읽을 수 없습니다: " + archive.getArchiveKey(), e);
+        }
+    }
+
+    private CharacterSpec toSpec(Character character, Map<String, Object> row) {
+        CharacterSpec spec = new CharacterSpec();
+        spec.setSpecId(asLong(row.get("spec_id")));
+        spec.setCharacter(character);
+        Object itemLevel = row.get("character_item_level");
+        spec.setItemLevel(itemLevel == null ? null : new BigDecimal(itemLevel.toString()));
+        spec.setCombatPower(asLong(row.get("character_combat_power")));
+        spec.setArkPassive((String) row.get("character_ark_passive"));
+        Map<String, String> fragments = fragmentStore.resolveAll(
+                Arrays.stream(SpecSlot.values()).map(slot -> (String) row.get(slot.getColumn())).toList());
+        for (SpecSlot slot : SpecSlot.values()) {
+            String value = (String) row.get(slot.getColumn());
+            slot.set(spec, value == null ? null : fragments.getOrDefault(value, value));
+        }
+        spec.setContentHash((String) row.get("content_hash"));
+        spec.setSectionHashes(sectionHashes((String) row.get("section_hashes")));
+        Long changed = asLong(row.get("changed_sections"));
+        spec.setChangedSections(changed == null ? null : changed.intValue());
+        spec.setCreatedAt(asDateTime(row.get("created_at")));
+        spec.setUpdatedAt(asDateTime(row.get("updated_at")));
+        return spec;
+    }
+
+    private Map<String, String> sectionHashes(String json) {
+        if (json == null) return null;
+        try {
+            return objectMapper.readValue(json, SECTION_HASHES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("보관 스펙의 section_hashes 를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static Long asLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static LocalDateTime asDateTime(Object value) {
+        return value == null ? null : LocalDateTime.parse(value.toString());
+    }
+}
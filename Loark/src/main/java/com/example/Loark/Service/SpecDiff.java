@@ -0,0 +1,104 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.SpecSection;
+import com.example.Loark.Entity.SpecSlot;
+import com.example.Loark.Util.JsonDiff;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 두 스냅샷의 슬롯별 차이.
+ * <p>
+ * 먼저 섹션 해시(SpecFingerprint)를 비교해 같은 섹션은 슬롯을 읽지 않고 건너뜁니다.
+ * 슬롯은 섹션별 지연 로딩 그룹(@LazyGroup)이라 바뀐 섹션의 jsonb 만 DB 에서 가져옵니다.
+ * 단, 지문 도입 전 스냅샷은 저장된 해시가 없어 해시를 계산하느라 모든 섹션을 읽습니다.
+ * 다른 섹션의 슬롯만 문자열 비교 후 JsonDiff 로 구조적 차이를 구합니다.
+ */
+public final class SpecDiff {
+
+    /** 아이템 레벨/전투력/아크패시브 이름 변경에 쓰는 슬롯 이름 */
+    public static final String PROFILE = "profile";
+
+    private SpecDiff() {
+    }
+
+    public record Result(Long fromSpecId, LocalDateTime fromUpdatedAt,
+                         Long toSpecId, LocalDateTime toUpdatedAt,
+                         Set<SpecSection> changedSections,
+                         List<SlotChange> slots) {
+    }
+
+    public record SlotChange(String slot, SpecSection section, List<JsonDiff.Change> changes) {
+    }
+
+    public static Result diff(CharacterSpec from, CharacterSpec to, ObjectMapper mapper) {
+        Map<String, String> fromHashes = sectionHashes(from);
+        Map<String, String> toHashes = sectionHashes(to);
+
+        Set<SpecSection> changed = EnumSet.noneOf(SpecSection.class);
+        for (SpecSection section : SpecSection.values()) {
+            if (!fromHashes.get(section.name()).equals(toHashes.get(section.name()))) changed.add(section);
+        }
+
+        List<SlotChange> slots = new ArrayList<>();
+        if (changed.contains(SpecSection.PROFILE)) {
+            List<JsonDiff.Change> changes = JsonDiff.diff(profile(from, mapper), profile(to, mapper));
+            if (!changes.isEmpty()) slots.add(new SlotChange(PROFILE, SpecSection.PROFILE, changes));
+        }
+        for (SpecSlot slot : SpecSlot.values()) {
+            if (!changed.contains(slot.getSection())) continue;
+            String before = slot.get(from);
+            String after = slot.get(to);
+            if (before == null ? after == null : before.equals(after)) continue;
+            List<JsonDiff.Change> changes = JsonDiff.diff(parse(before, mapper), parse(after, mapper));
+            if (!changes.isEmpty()) slots.add(new SlotChange(slot.getColumn(), slot.getSection(), changes));
+        }
+
+        return new Result(from.getSpecId(), from.getUpdatedAt(), to.getSpecId(), to.getUpdatedAt(), changed, slots);
+    }
+
+    /** 지문 도입 전 스냅샷은 저장된 해시가 없어 슬롯을 읽어 계산 */
+    private static Map<String, String> sectionHashes(CharacterSpec spec) {
+        Map<String, String> stored = spec.getSectionHashes();
+        if (stored != null && Arrays.stream(SpecSection.values()).allMatch(s -> stored.containsKey(s.name()))) {
+            return stored;
+        }
+        Map<String, String> computed = new HashMap<>();
+        SpecFingerprint.sectionHashes(spec).forEach((section, hash) -> computed.put(section.name(), hash));
+        return computed;
+    }
+
+    private static ObjectNode profile(CharacterSpec spec, ObjectMapper mapper) {
+        ObjectNode node = mapper.createObjectNode();
+        BigDecimal itemLevel = spec.getItemLevel();
+        // 1680.8 과 1680.80 은 같은 값 (SpecFingerprint 와 같은 기준)
+        if (itemLevel != null) node.put("itemLevel", new BigDecimal(itemLevel.stripTrailingZeros().toPlainString()));
+        if (spec.getCombatPower() != null) node.put("combatPower", spec.getCombatPower());
+        if (spec.getArkPassive() != null) node.put("arkPassive", spec.getArkPassive());
+        return node;
+    }
+
+    private static JsonNode parse(String json, ObjectMapper mapper) {
+        if (json == null) return null;
+        try {
+            return mapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            // jsonb 로 저장된 값이라 실제로는 오지 않지만, 깨진 값이어도 문자열 비교 결과는 보여 줌
+            return TextNode.valueOf(json);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.SpecSection;
+import com.example.Loark.Entity.SpecSlot;
+import com.example.Loark.Util.CanonicalJson;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CharacterSpec 섹션별 SHA-256 지문.
+ * <p>
+ * 슬롯 값은 정규형(CanonicalJson: 키 정렬, 공백 없음)으로 바꿔 해시합니다. 업스트림 응답의 키 순서나
+ * 공백만 바뀐 경우는 변경으로 보지 않아 새 스냅샷을 만들지 않습니다.
+ */
+public final class SpecFingerprint {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte[] NULL_MARK = {0x00};
+    private static final byte[] SEPARATOR = {0x1e};
+
+    private SpecFingerprint() {
+    }
+
+    /**
+     * spec 의 지문을 계산해 contentHash / sectionHashes / changedSections 에 기록합니다.
+     * @param previousSectionHashes 직전 스냅샷의 섹션 해시 (없거나 지문 도입 전이면 null → 전 섹션 변경)
+     * @return 하나라도 바뀐 섹션이 있으면 true
+     */
+    public static boolean stamp(CharacterSpec spec, Map<String, String> previousSectionHashes) {
+        Map<SpecSection, String> hashes = sectionHashes(spec);
+
+        Set<SpecSection> changed = EnumSet.noneOf(SpecSection.class);
+        Map<String, String> stored = new LinkedHashMap<>();
+        for (var e : hashes.entrySet()) {
+            stored.put(e.getKey().name(), e.getValue());
+            if (previousSectionHashes == null || !e.getValue().equals(previousSectionHashes.get(e.getKey().name()))) {
+                changed.add(e.getKey());
+            }
+        }
+
+        spec.setSectionHashes(stored);
+        spec.setContentHash(contentHash(hashes));
+        spec.setChangedSections(SpecSection.toMask(changed));
+        return !changed.isEmpty();
+    }
+
+    /** 섹션별 해시 (SpecSection 순서) */
+    public static Map<SpecSection, String> sectionHashes(CharacterSpec spec) {
+        Map<SpecSection, MessageDigest> digests = new EnumMap<>(SpecSection.class);
+        for (SpecSection section : SpecSection.values()) digests.put(section, sha256());
+
+        MessageDigest profile = digests.get(SpecSection.PROFILE);
+        update(profile, spec.getItemLevel() == null ? null : normalize(spec.getItemLevel()));
+        update(profile, spec.getCombatPower() == null ? null : spec.getCombatPower().toString());
+        update(profile, spec.getArkPassive());
+
+        for (SpecSlot slot : SpecSlot.values()) {
+            update(digests.get(slot.getSection()), CanonicalJson.canonicalize(slot.get(spec)));
+        }
+
+        Map<SpecSection, String> hashes = new EnumMap<>(SpecSection.class);
+        digests.forEach((section, digest) -> hashes.put(section, HEX.formatHex(digest.digest())));
+        return hashes;
+    }
+
+    private static String contentHash(Map<SpecSection, String> sectionHashes) {
+        MessageDigest digest = sha256();
+        sectionHashes.values().forEach(h -> update(digest, h));
+        return HEX.formatHex(digest.digest());
+    }
+
+    private static String normalize(BigDecimal value) {
+        // 1680.8 과 1680.80 을 같은 값으로
+        return value.stripTrailingZeros().toPlainString();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value == null ? NULL_MARK : value.getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
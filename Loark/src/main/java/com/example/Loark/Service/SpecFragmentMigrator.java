@@ -0,0 +1,83 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Repository.SpecFragmentStore;
+import com.example.Loark.Util.DeflateDictionary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 조각 저장소 도입 전에 쌓인 character_specs 행의 장비/보석/카드/스킬 JSON 을 spec_fragments 로 옮깁니다.
+ * 배치마다 자동 커밋되므로 중간에 멈춰도 다음 실행이 남은 행부터 이어서 처리합니다.
+ * 옮긴 뒤 테이블 크기를 실제로 줄이려면 VACUUM (FULL) 이 필요합니다.
+ * <p>
+ * 압축 모드(spec.fragment.compression=deflate)면 이어서 압축 사전이 없을 때 조각 샘플로 사전을 학습하고,
+ * 아직 압축되지 않은 조각 본문을 압축합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpecFragmentMigrator {
+
+    private final SpecFragmentStore store;
+
+    @Value("${spec.fragment.migrate-batch-size:500}")
+    private int batchSize;
+
+    @Value("${spec.fragment.dictionary-size:32768}")
+    private int dictionarySize;
+
+    // 사전 학습에 쓰는 조각 수
+    @Value("${spec.fragment.dictionary-samples:2000}")
+    private int dictionarySamples;
+
+    /**
+     * spec_id 순으로 한 번 훑으며 행마다 모든 조각 컬럼을 한꺼번에 옮깁니다.
+     * @return 참조로 바꾼 슬롯 값 수
+     */
+    public long migrateAll() {
+        long rows = 0;
+        long slots = 0;
+        long afterSpecId = 0;
+        SpecFragmentStore.MigrationBatch batch;
+        while ((batch = store.migrateInline(afterSpecId, batchSize)).rows() > 0) {
+            rows += batch.rows();
+            slots += batch.slots();
+            afterSpecId = batch.lastSpecId();
+        }
+        if (rows > 0) log.info("스펙 조각 이전 - 행 {}건, 슬롯 {}건", rows, slots);
+        if (store.compressionEnabled()) compressAll();
+        return slots;
+    }
+
+    /** @return 압축한 조각 수 */
+    public long compressAll() {
+        if (store.activeDictionaryId() == 0) trainDictionary();
+        long compressed = 0;
+        int n;
+        while ((n = store.compressExisting(batchSize)) > 0) {
+            compressed += n;
+        }
+        if (compressed > 0) log.info("스펙 조각 압축 - {}건", compressed);
+        return compressed;
+    }
+
+    /**
+     * 저장된 조각에서 샘플을 뽑아 새 압축 사전을 만들고, 이후 새로 압축하는 조각에 씁니다.
+     * @return 새 사전 id (샘플이 없으면 0)
+     */
+    public int trainDictionary() {
+        List<byte[]> samples = store.sampleBodies(dictionarySamples).stream()
+                .map(body -> body.getBytes(StandardCharsets.UTF_8))
+                .toList();
+        if (samples.isEmpty()) return 0;
+        byte[] dictionary = DeflateDictionary.train(samples, dictionarySize);
+        int id = store.saveDictionary(dictionary, samples.size());
+        log.info("스펙 조각 압축 사전 학습 - dict_id={}, 샘플 {}건, {}바이트", id, samples.size(), dictionary.length);
+        return id;
+    }
+}
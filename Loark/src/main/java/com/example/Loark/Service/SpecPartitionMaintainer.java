@@ -0,0 +1,217 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.SpecArchive;
+import com.example.Loark.Repository.SpecArchiveRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * character_specs 월 파티션 관리. (db/partition-character-specs.sql 로 파티션 테이블로 옮긴 뒤에만 동작)
+ * <ul>
+ *   <li>이번 달부터 months-ahead 개월 뒤까지의 파티션을 미리 만들고</li>
+ *   <li>horizon-months 보다 오래된 파티션은 보관 파일(SpecArchiveCodec)로 S3 에 올린 뒤,
+ *       스냅샷 목록과 스냅샷이 든 row group 위치를 spec_archive_catalog 에 남기고 파티션을 떼어내 삭제합니다.</li>
+ * </ul>
+ * 파티션 하나는 트랜잭션 하나로 처리하므로 업로드나 카탈로그 기록이 실패하면 파티션은 그대로 남습니다.
+ * 여러 인스턴스가 동시에 실행해도 advisory lock 을 잡은 쪽만 처리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpecPartitionMaintainer {
+
+    private static final String PARENT = "character_specs";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT + "_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SpecArchiveRepository archiveRepo;
+    private final S3UploadService s3UploadService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:app}")
+    private String schema;
+
+    // 이 개월 수보다 오래된 달의 파티션은 보관 파일로 옮김
+    @Value("${spec.archive.horizon-months:6}")
+    private int horizonMonths;
+
+    // 미리 만들어 두는 다음 달 파티션 수
+    @Value("${spec.partition.months-ahead:2}")
+    private int monthsAhead;
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table pt
+                    JOIN pg_class c ON c.oid = pt.partrelid
+                    JOIN pg_namespace n ON n.oid = c.relnamespace
+                    WHERE n.nspname = ? AND c.relname = ?
+                )
+                """, Boolean.class, schema, PARENT);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /** 파티션 생성 + 오래된 파티션 보관 (하루 한 번) */
+    public void maintain() {
+        if (!isPartitioned()) return;
+        ensureFuturePartitions();
+        archiveExpired();
+    }
+
+    public void ensureFuturePartitions() {
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s.%s PARTITION OF %s.%s FOR VALUES FROM ('%s') TO ('%s')"
+                    .formatted(schema, partitionName(month), schema, PARENT,
+                            month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+    }
+
+    /** @return 보관한 파티션 수 */
+    public int archiveExpired() {
+        YearMonth cutoff = YearMonth.now().minusMonths(horizonMonths);
+        int archived = 0;
+        for (String partition : partitions()) {
+            Matcher m = PARTITION_NAME.matcher(partition);
+            if (!m.matches()) continue;
+            YearMonth month = YearMonth.parse(m.group(1), SUFFIX);
+            if (!month.isBefore(cutoff)) continue;
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> archive(partition, month)))) archived++;
+        }
+        return archived;
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                JOIN pg_namespace n ON n.oid = p.relnamespace
+                WHERE n.nspname = ? AND p.relname = ?
+                ORDER BY c.relname
+                """, String.class, schema, PARENT);
+    }
+
+    /** 트랜잭션 안에서 실행. 다른 인스턴스가 처리 중이면 false */
+    private boolean archive(String partition, YearMonth month) {
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, schema + "." + partition);
+        if (!Boolean.TRUE.equals(locked)) return false;
+
+        Path file = null;
+        try {
+            file = Files.createTempFile(partition + "-", ".ndjson.gz");
+            List<SpecArchiveCodec.RowGroup> groups = new ArrayList<>();
+            long rows = writeArchive(partition, file, groups);
+
+            if (rows > 0) {
+                String key = "character-specs/" + partition + ".ndjson.gz";
+                s3UploadService.uploadArchive(file.toFile(), key);
+                jdbcTemplate.update("""
+                        INSERT INTO %1$s.spec_archive_catalog
+                            (spec_id, character_id, updated_at, item_level, combat_power, ark_passive, partition_name)
+                        SELECT spec_id, character_id, updated_at,
+                               character_item_level, character_combat_power, character_ark_passive, ?
+                        FROM %1$s.%2$s
+                        ON CONFLICT (spec_id) DO NOTHING
+                        """.formatted(schema, partition), partition);
+                saveRowGroupPositions(groups);
+                archiveRepo.save(new SpecArchive(partition, key, month.atDay(1), month.plusMonths(1).atDay(1),
+                        rows, LocalDateTime.now()));
+            }
+
+            jdbcTemplate.execute("ALTER TABLE %1$s.%2$s DETACH PARTITION %1$s.%3$s".formatted(schema, PARENT, partition));
+            jdbcTemplate.execute("DROP TABLE %s.%s".formatted(schema, partition));
+            log.info("스펙 파티션 보관 - {}: {}행", partition, rows);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("스펙 파티션 보관 실패: " + partition, e);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("임시 보관 파일 삭제 실패 - {}", file, e);
+                }
+            }
+        }
+    }
+
+    /** 스냅샷마다 자기가 든 row group 의 위치를 카탈로그에 남깁니다. (row group 당 UPDATE 한 번) */
+    private void saveRowGroupPositions(List<SpecArchiveCodec.RowGroup> groups) {
+        String sql = "UPDATE %s.spec_archive_catalog SET archive_offset = ?, archive_length = ? WHERE spec_id = ANY(?)"
+                .formatted(schema);
+        for (SpecArchiveCodec.RowGroup group : groups) {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setLong(1, group.offset());
+                ps.setLong(2, group.length());
+                ps.setArray(3, con.createArrayOf("bigint", group.keys().toArray()));
+                return ps;
+            });
+        }
+    }
+
+    /**
+     * 파티션 전체를 캐릭터 순으로 읽어 보관 파일로 씁니다. (fetchSize 단위로 스트리밍)
+     * @param groups 쓴 row group 의 위치와 spec_id 목록을 담을 곳
+     */
+    private long writeArchive(String partition, Path file, List<SpecArchiveCodec.RowGroup> groups) throws IOException {
+        String sql = "SELECT * FROM %s.%s ORDER BY character_id, updated_at, spec_id".formatted(schema, partition);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            SpecArchiveCodec.Writer[] writer = {null};
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, rs -> {
+                try {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    if (writer[0] == null) {
+                        List<String> columns = new ArrayList<>(meta.getColumnCount());
+                        for (int i = 1; i <= meta.getColumnCount(); i++) columns.add(meta.getColumnName(i));
+                        writer[0] = new SpecArchiveCodec.Writer(out, objectMapper, columns,
+                                SpecArchiveCodec.DEFAULT_ROW_GROUP_SIZE, "spec_id");
+                    }
+                    List<Object> row = new ArrayList<>(meta.getColumnCount());
+                    for (int i = 1; i <= meta.getColumnCount(); i++) row.add(rs.getObject(i));
+                    writer[0].write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (writer[0] == null) return 0;
+            writer[0].close();
+            groups.addAll(writer[0].rowGroups());
+            return writer[0].rowCount();
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT + "_p" + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.SpecTimePoint;
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Repository.CharacterSpecRepository;
+import com.example.Loark.Repository.SpecArchiveEntryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 캐릭터별 스냅샷 시각 인덱스 (updatedAt -> specId).
+ * <p>
+ * 처음 조회할 때 캐릭터의 (spec_id, updated_at) 만 읽어 정렬된 배열로 들고 있고,
+ * "T 시점의 스펙" 은 이진 탐색으로 찾습니다. 전투분석기 이미지를 여러 장 올릴 때처럼
+ * 같은 캐릭터의 과거 스펙을 연달아 찾는 경우 DB 조회가 PK 한 번으로 줄어듭니다.
+ * <p>
+ * 이 인스턴스에서 저장한 스펙은 커밋 후 바로 무효화하고, 다른 인스턴스가 저장한 경우는
+ * characters.latest_spec_id 가 인덱스의 마지막 스냅샷과 다르면 다시 읽는 것으로 맞춥니다.
+ * 보관 파일로 옮겨진 오래된 스냅샷도 spec_archive_catalog 에서 함께 읽어 같은 인덱스에 넣습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpecTimeIndex {
+
+    private final CharacterSpecRepository characterSpecRepo;
+    private final SpecArchiveEntryRepository archiveEntryRepo;
+    private final MeterRegistry meterRegistry;
+
+    // 전체 캐시에 담는 스냅샷 수 상한 (스냅샷 하나당 long 2개)
+    @Value("${spec.time-index.max-points:4000000}")
+    private long maxPoints;
+
+    private Cache<Long, Timeline> timelines;
+
+    @PostConstruct
+    void init() {
+        timelines = Caffeine.newBuilder()
+                .maximumWeight(maxPoints)
+                .weigher((Long id, Timeline t) -> Math.max(1, t.size()))
+                .expireAfterAccess(Duration.ofHours(1))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, "spec.time-index");
+    }
+
+    /** 가장 오래된 스냅샷 */
+    public Optional<Point> first(Character character) {
+        Timeline t = timeline(character);
+        return t.size() == 0 ? Optional.empty() : Optional.of(t.point(0));
+    }
+
+    /** 가장 최근 스냅샷 */
+    public Optional<Point> latest(Character character) {
+        Timeline t = timeline(character);
+        return t.size() == 0 ? Optional.empty() : Optional.of(t.point(t.size() - 1));
+    }
+
+    /** at 이전(같은 시각 포함)의 가장 최근 스냅샷 */
+    public Optional<Point> atOrBefore(Character character, LocalDateTime at) {
+        Timeline t = timeline(character);
+        int i = t.lastIndexAtOrBefore(toMicros(at));
+        return i < 0 ? Optional.empty() : Optional.of(t.point(i));
+    }
+
+    /** at 보다 이전의 가장 최근 스냅샷 */
+    public Optional<Point> before(Character character, LocalDateTime at) {
+        Timeline t = timeline(character);
+        int i = t.lastIndexAtOrBefore(toMicros(at) - 1);
+        return i < 0 ? Optional.empty() : Optional.of(t.point(i));
+    }
+
+    /** 캐릭터의 스냅샷인지 (보관된 스냅샷 포함) */
+    public boolean contains(Character character, Long specId) {
+        return specId != null && timeline(character).contains(specId);
+    }
+
+    /** 스펙이 저장된 트랜잭션이 커밋되면 해당 캐릭터의 인덱스를 버립니다. */
+    public void invalidateAfterCommit(Long characterId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timelines.invalidate(characterId);
+                }
+            });
+        } else {
+            timelines.invalidate(characterId);
+        }
+    }
+
+    private Timeline timeline(Character character) {
+        Long characterId = character.getCharacterId();
+        Timeline cached = timelines.getIfPresent(characterId);
+        if (cached != null && (character.getLatestSpecId() == null
+                || Objects.equals(character.getLatestSpecId(), cached.lastSpecId()))) {
+            return cached;
+        }
+        Timeline loaded = Timeline.of(loadPoints(characterId));
+        timelines.put(characterId, loaded);
+        return loaded;
+    }
+
+    private List<SpecTimePoint> loadPoints(Long characterId) {
+        List<SpecTimePoint> archived = archiveEntryRepo.findTimeline(characterId);
+        List<SpecTimePoint> hot = characterSpecRepo.findTimeline(characterId);
+        if (archived.isEmpty()) return hot;
+        List<SpecTimePoint> all = new ArrayList<>(archived.size() + hot.size());
+        all.addAll(archived);
+        all.addAll(hot);
+        all.sort(Comparator.comparing(SpecTimePoint::getUpdatedAt).thenComparing(SpecTimePoint::getSpecId));
+        return all;
+    }
+
+    static long toMicros(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + t.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofInstant(Instant.EPOCH.plusNanos(micros * 1_000L), ZoneOffset.UTC);
+    }
+
+    public record Point(Long specId, LocalDateTime updatedAt) {}
+
+    /** (updatedAt, specId) 오름차순 배열 */
+    record Timeline(long[] micros, long[] specIds) {
+
+        static Timeline of(List<SpecTimePoint> points) {
+            long[] micros = new long[points.size()];
+            long[] ids = new long[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                micros[i] = toMicros(points.get(i).getUpdatedAt());
+                ids[i] = points.get(i).getSpecId();
+            }
+            return new Timeline(micros, ids);
+        }
+
+        int size() {
+            return micros.length;
+        }
+
+        Long lastSpecId() {
+            return specIds.length == 0 ? null : specIds[specIds.length - 1];
+        }
+
+        boolean contains(long specId) {
+            for (long id : specIds) {
+                if (id == specId) return true;
+            }
+            return false;
+        }
+
+        Point point(int i) {
+            return new Point(specIds[i], fromMicros(micros[i]));
+        }
+
+        /** micros[i] <= at 인 마지막 i (없으면 -1) */
+        int lastIndexAtOrBefore(long at) {
+            int lo = 0, hi = micros.length - 1, found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (micros[mid] <= at) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -3,19 +3,31 @@ package com.example.Loark.Service;
 import com.example.Loark.DTO.BoxplotDto;
 import com.example.Loark.DTO.HistogramDto;
 import com.example.Loark.DTO.PercentileDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StatisticsService {
 
     private final RestTemplate restTemplate;
+    private final ExternalApiGuard guard;
+
+    // 통계 서버 서킷이 열렸을 때 돌려줄 마지막 정상 응답 (URI 기준)
+    private final Cache<URI, Object> lastGood = Caffeine.newBuilder()
+            .maximumSize(500)
+            .expireAfterWrite(Duration.ofHours(6))
+            .build();
 
     @Value("${statistics.api.base-url}")
     private String statisticsApiUrl;
@@ -33,7 +45,7 @@ public class StatisticsService {
                 .build()
                 .toUri();
 
-        return restTemplate.getForObject(uri, HistogramDto.class);
+        return fetch(uri, HistogramDto.class);
     }
 
     public BoxplotDto getBoxplot(String x, String metric) {
@@ -45,7 +57,7 @@ public class StatisticsService {
                 .build()
                 .toUri();
 
-        return restTemplate.getForObject(uri, BoxplotDto.class);
+        return fetch(uri, BoxplotDto.class);
     }
 
     public PercentileDto getPercentile(String x, String metric) {
@@ -57,6 +69,23 @@ public class StatisticsService {
                 .build()
                 .toUri();
 
-        return restTemplate.getForObject(uri, PercentileDto.class);
+        return fetch(uri, PercentileDto.class);
+    }
+
+    /**
+     * 통계 서버 호출. 서킷이 열려 있거나 동시 호출 한도를 넘으면
+     * 같은 조건의 마지막 정상 응답을 대신 반환하고, 그것도 없으면 예외를 그대로 던집니다.
+     */
+    private <T> T fetch(URI uri, Class<T> type) {
+        try {
+            T body = guard.call(ExternalApiGuard.STATISTICS, () -> restTemplate.getForObject(uri, type));
+            if (body != null) lastGood.put(uri, body);
+            return body;
+        } catch (ExternalApiUnavailableException e) {
+            Object cached = lastGood.getIfPresent(uri);
+            if (cached == null) throw e;
+            log.warn("통계 서버 호출 불가 - 마지막 응답으로 대체: {}", uri);
+            return type.cast(cached);
+        }
     }
 }
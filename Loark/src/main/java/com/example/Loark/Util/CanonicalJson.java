@@ -0,0 +1,75 @@
+package com.example.Loark.Util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JSON 의 정규형: 객체 키는 사전순, 의미 없는 공백 없음, 숫자는 받은 자릿수 그대로(지수 표기 없이).
+ * <p>
+ * 업스트림 응답의 키 순서나 공백만 바뀐 경우 같은 문자열이 되므로, 섹션 지문(SpecFingerprint)과
+ * 스펙 조각 해시(SpecFragmentStore)를 이 형태로 계산합니다.
+ */
+public final class CanonicalJson {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .nodeFactory(JsonNodeFactory.withExactBigDecimals(true))
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .build();
+
+    private CanonicalJson() {
+    }
+
+    /**
+     * @return 정규형 문자열 (null 이면 null, JSON 이 아니면 받은 문자열 그대로)
+     */
+    public static String canonicalize(String json) {
+        if (json == null) return null;
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            return json;
+        }
+        StringWriter out = new StringWriter(json.length());
+        try (JsonGenerator gen = MAPPER.getFactory().createGenerator(out)) {
+            write(gen, node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static void write(JsonGenerator gen, JsonNode node) throws IOException {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>(node.size());
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            gen.writeStartObject();
+            for (String name : names) {
+                gen.writeFieldName(name);
+                write(gen, node.get(name));
+            }
+            gen.writeEndObject();
+        } else if (node.isArray()) {
+            gen.writeStartArray();
+            for (JsonNode element : node) write(gen, element);
+            gen.writeEndArray();
+        } else {
+            MAPPER.writeTree(gen, node);
+        }
+    }
+}
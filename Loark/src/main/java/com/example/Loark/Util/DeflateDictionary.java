@@ -0,0 +1,151 @@
+package com.example.Loark.Util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 미리 정한 사전(preset dictionary)을 쓰는 deflate 압축과 사전 학습.
+ * <p>
+ * 스펙 조각처럼 작고 구조가 비슷한 JSON 은 한 건만으로는 반복이 적어 잘 압축되지 않지만,
+ * 자주 나오는 키/툴팁 HTML 조각을 사전으로 깔아 두면 첫 바이트부터 참조할 수 있습니다.
+ * 사전 학습은 zstd 의 COVER 방식을 단순화한 것으로, 여러 샘플에 공통으로 나오는 d-byte 조각을 많이 덮는
+ * k-byte 구간을 욕심껏 골라 이어 붙입니다.
+ */
+public final class DeflateDictionary {
+
+    /** deflate 창 크기. 이보다 긴 사전은 앞부분이 쓰이지 않음 */
+    public static final int MAX_SIZE = 32 * 1024;
+
+    private static final int DMER = 8;
+    private static final int SEGMENT = 64;
+
+    private DeflateDictionary() {
+    }
+
+    public static byte[] compress(byte[] data, byte[] dictionary) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            if (dictionary != null) deflater.setDictionary(dictionary);
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 3));
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param dictionary 압축할 때 쓴 사전 (없이 압축했으면 null)
+     * @throws IllegalStateException 데이터가 깨졌거나 사전이 맞지 않는 경우
+     */
+    public static byte[] decompress(byte[] compressed, byte[] dictionary) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buf = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0) {
+                    if (inflater.needsDictionary()) {
+                        if (dictionary == null) throw new IllegalStateException("압축 사전이 필요합니다.");
+                        inflater.setDictionary(dictionary);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalStateException("압축 데이터가 잘렸습니다.");
+                    }
+                }
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException | IllegalArgumentException e) {
+            throw new IllegalStateException("압축 데이터를 풀 수 없습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 샘플로 최대 size 바이트의 사전을 만듭니다. 가장 유용한 구간이 사전 끝(가장 가까운 거리)에 오도록 배치합니다.
+     */
+    public static byte[] train(List<byte[]> samples, int size) {
+        int limit = Math.min(size, MAX_SIZE);
+
+        // d-byte 조각마다 몇 개의 샘플에 나오는지
+        Map<Long, Integer> frequency = new HashMap<>();
+        for (byte[] sample : samples) {
+            Set<Long> seen = new HashSet<>();
+            for (int i = 0; i + DMER <= sample.length; i++) {
+                long dmer = dmer(sample, i);
+                if (seen.add(dmer)) frequency.merge(dmer, 1, Integer::sum);
+            }
+        }
+
+        // 구간 후보 (반씩 겹치게), 점수 = 아직 덮이지 않았고 두 샘플 이상에 나오는 조각들의 빈도 합
+        record Segment(byte[] sample, int start, int length, long score) {}
+        PriorityQueue<Segment> queue = new PriorityQueue<>((a, b) -> Long.compare(b.score(), a.score()));
+        for (byte[] sample : samples) {
+            for (int start = 0; start + DMER <= sample.length; start += SEGMENT / 2) {
+                int length = Math.min(SEGMENT, sample.length - start);
+                long score = score(sample, start, length, frequency);
+                if (score > 0) queue.add(new Segment(sample, start, length, score));
+            }
+        }
+
+        // 욕심쟁이 선택: 꺼낸 구간의 점수를 다시 계산해 여전히 최고일 때만 채택 (lazy greedy)
+        List<Segment> chosen = new ArrayList<>();
+        int total = 0;
+        while (!queue.isEmpty() && total < limit) {
+            Segment top = queue.poll();
+            long current = score(top.sample(), top.start(), top.length(), frequency);
+            if (current == 0) continue;
+            if (!queue.isEmpty() && current < queue.peek().score()) {
+                queue.add(new Segment(top.sample(), top.start(), top.length(), current));
+                continue;
+            }
+            int length = Math.min(top.length(), limit - total);
+            chosen.add(new Segment(top.sample(), top.start(), length, current));
+            total += length;
+            for (int i = top.start(); i + DMER <= top.start() + top.length(); i++) {
+                frequency.remove(dmer(top.sample(), i));
+            }
+        }
+
+        Collections.reverse(chosen);
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(total);
+        for (Segment s : chosen) dictionary.write(s.sample(), s.start(), s.length());
+        return dictionary.toByteArray();
+    }
+
+    private static long score(byte[] sample, int start, int length, Map<Long, Integer> frequency) {
+        long score = 0;
+        Set<Long> counted = new HashSet<>();
+        for (int i = start; i + DMER <= start + length; i++) {
+            long dmer = dmer(sample, i);
+            int f = frequency.getOrDefault(dmer, 0);
+            // 샘플 하나에만 나오는 조각은 사전에 둘 이유가 없음
+            if (f > 1 && counted.add(dmer)) score += f;
+        }
+        return score;
+    }
+
+    private static long dmer(byte[] b, int i) {
+        long v = 0;
+        for (int j = 0; j < DMER; j++) v = (v << 8) | (b[i + j] & 0xff);
+        return v;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.Loark.Util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 두 JSON 트리의 구조적 차이.
+ * <p>
+ * 객체는 키 단위, 배열은 같은 인덱스끼리 비교하고, 달라진 가장 깊은 위치만 남깁니다.
+ * 경로는 JSON Pointer(RFC 6901) 형식이고, 변경은 add / remove / replace 세 가지입니다. (JSON Patch 와 같은 이름)
+ */
+public final class JsonDiff {
+
+    private JsonDiff() {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Change(String op, String path, JsonNode from, JsonNode to) {
+
+        static Change add(String path, JsonNode to) {
+            return new Change("add", path, null, to);
+        }
+
+        static Change remove(String path, JsonNode from) {
+            return new Change("remove", path, from, null);
+        }
+
+        static Change replace(String path, JsonNode from, JsonNode to) {
+            return new Change("replace", path, from, to);
+        }
+    }
+
+    /** 값이 없는 쪽은 null (또는 MissingNode) 로 넘깁니다. */
+    public static List<Change> diff(JsonNode from, JsonNode to) {
+        List<Change> changes = new ArrayList<>();
+        diff("", missingToNull(from), missingToNull(to), changes);
+        return changes;
+    }
+
+    private static void diff(String path, JsonNode from, JsonNode to, List<Change> out) {
+        if (from == null && to == null) return;
+        if (from == null) {
+            out.add(Change.add(path, to));
+            return;
+        }
+        if (to == null) {
+            out.add(Change.remove(path, from));
+            return;
+        }
+        if (from.equals(to)) return;
+
+        if (from.isObject() && to.isObject()) {
+            Set<String> keys = new LinkedHashSet<>();
+            from.fieldNames().forEachRemaining(keys::add);
+            to.fieldNames().forEachRemaining(keys::add);
+            for (String key : keys) {
+                diff(path + "/" + escape(key), from.get(key), to.get(key), out);
+            }
+        } else if (from.isArray() && to.isArray()) {
+            int common = Math.min(from.size(), to.size());
+            for (int i = 0; i < common; i++) diff(path + "/" + i, from.get(i), to.get(i), out);
+            for (int i = common; i < to.size(); i++) out.add(Change.add(path + "/" + i, to.get(i)));
+            // 뒤에서부터 지워야 앞쪽 인덱스가 그대로 유효함
+            for (int i = from.size() - 1; i >= common; i--) out.add(Change.remove(path + "/" + i, from.get(i)));
+        } else {
+            out.add(Change.replace(path, from, to));
+        }
+    }
+
+    private static JsonNode missingToNull(JsonNode node) {
+        return node instanceof MissingNode ? null : node;
+    }
+
+    private static String escape(String key) {
+        if (key.indexOf('~') < 0 && key.indexOf('/') < 0) return key;
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+}
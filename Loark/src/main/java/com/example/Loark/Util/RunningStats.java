@@ -0,0 +1,72 @@
+package com.example.Loark.Util;
+
+/**
+ * 평균/분산을 값을 다시 읽지 않고 누적 계산합니다. (Welford)
+ * <p>
+ * 값 하나씩은 {@link #add}, 따로 모은 두 묶음은 {@link #merge} 로 합칩니다. (Chan 의 병렬 결합식)
+ * m2 는 평균과의 편차 제곱합으로, 합계-제곱합 방식과 달리 값이 커도 자릿수 손실이 적습니다.
+ */
+public final class RunningStats {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    public RunningStats() {
+    }
+
+    private RunningStats(long count, double mean, double m2) {
+        this.count = count;
+        this.mean = mean;
+        this.m2 = m2;
+    }
+
+    /** 저장해 둔 누적값에서 이어서 */
+    public static RunningStats of(long count, double mean, double m2) {
+        if (count < 0) throw new IllegalArgumentException("count 는 0 이상이어야 합니다: " + count);
+        return count == 0 ? new RunningStats() : new RunningStats(count, mean, m2);
+    }
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    public void merge(RunningStats other) {
+        if (other.count == 0) return;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    public double m2() {
+        return m2;
+    }
+
+    /** 표본 분산 (값이 2개 미만이면 0) */
+    public double variance() {
+        return count < 2 ? 0 : m2 / (count - 1);
+    }
+
+    public double stddev() {
+        return Math.sqrt(variance());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.Loark.Util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 호출을 하나로 합칩니다.
+ * 진행 중인 호출이 있으면 새로 실행하지 않고 그 결과(값/빈 값/에러)를 함께 받습니다.
+ * 호출이 끝나면 키가 비워지므로 결과를 캐싱하지는 않습니다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            boolean[] created = {false};
+            Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+                created[0] = true;
+                return share(k, call.get());
+            });
+            if (!created[0]) coalesced.incrementAndGet();
+            return shared;
+        });
+    }
+
+    private Mono<V> share(K key, Mono<V> source) {
+        @SuppressWarnings("unchecked")
+        Mono<V>[] self = new Mono[1];
+        // 종료 신호를 대기자에게 넘기기 전에 키를 비워, 결과를 받은 쪽이 다음 호출을 하면 항상 새로 실행되게 한다
+        self[0] = source
+                .doOnTerminate(() -> inFlight.remove(key, self[0]))
+                .doOnCancel(() -> inFlight.remove(key, self[0]))
+                .cache();
+        return self[0];
+    }
+
+    /** 진행 중인 호출에 합류한 누적 횟수 */
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,25 @@
+-- 전투 기록 집계 커서를 커밋 순서 기준으로 바꿈 (statistic 스키마는 ddl-auto 대상이 아니라 수동 적용, PostgreSQL 13 이상)
+--
+-- 집계 작업은 id 워터마크 대신 (기록을 넣은 트랜잭션 id, id) 순으로 읽고,
+-- 이미 끝난 트랜잭션(pg_snapshot_xmin 미만)이 넣은 기록만 반영합니다.
+-- 작은 id 를 받은 적재 트랜잭션이 나중에 커밋되어도 그 기록이 빠지지 않습니다.
+-- 새 버전을 배포하기 전에 1회 실행합니다.
+
+BEGIN;
+
+-- 적재 작업은 바꿀 것 없이 기본값으로 채워짐. 기존 행은 모두 이 트랜잭션의 id 를 받음
+ALTER TABLE statistic.fact_gate_metrics
+    ADD COLUMN IF NOT EXISTS tx_id xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+-- 이미 반영한 기록(id <= last_id)이 (이 트랜잭션 id, last_id) 이하가 되어 다시 읽히지 않도록
+ALTER TABLE app.combat_rollup_cursor ADD COLUMN IF NOT EXISTS last_tx_id bigint NOT NULL DEFAULT 0;
+UPDATE app.combat_rollup_cursor SET last_tx_id = pg_current_xact_id()::text::bigint WHERE last_tx_id = 0;
+
+-- 중앙값은 저장하지 않고 요약 조회 때 계산
+ALTER TABLE app.combat_rollups DROP COLUMN IF EXISTS median_dps;
+
+COMMIT;
+
+-- 집계 작업의 커서 조회용
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_fact_gate_metrics_tx_id_id
+    ON statistic.fact_gate_metrics (tx_id, id);
@@ -0,0 +1,12 @@
+-- 캐릭터 전투 기록 페이지 조회용 인덱스 (statistic 스키마는 ddl-auto 대상이 아니라 수동 적용)
+--
+-- GET /api/characters/{name}/combat-records/page 는 character_id 로 거른 뒤 (ts, id) 역순 키셋으로 읽습니다.
+-- ts 가 없는 기록을 맨 뒤로 보내려고 COALESCE(ts, '-infinity') 로 정렬하므로 인덱스도 같은 식으로 만듭니다.
+-- 이 인덱스가 있으면 페이지마다 limit 개만 인덱스 순서대로 읽고, 정렬 없이 끝납니다.
+-- 레이드/관문/난이도 조건은 인덱스로 찾은 행에서 거릅니다.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_fact_gate_metrics_character_page
+    ON statistic.fact_gate_metrics (character_id, (COALESCE(ts, '-infinity')) DESC, id DESC);
+
+-- 이전 버전 스크립트로 만든 (ts, id) 인덱스는 더 쓰이지 않음
+DROP INDEX CONCURRENTLY IF EXISTS statistic.ix_fact_gate_metrics_character_ts_id;
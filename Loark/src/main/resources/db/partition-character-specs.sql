@@ -0,0 +1,52 @@
+-- character_specs 를 updated_at 기준 월별 파티션 테이블로 옮기는 1회성 스크립트 (PostgreSQL 12+)
+--
+-- 실행 전: 애플리케이션 중지 (스펙 INSERT 가 없어야 함)
+-- 실행 후: 애플리케이션을 띄우면 SpecPartitionMaintainer 가 다음 달 파티션을 미리 만들고,
+--         spec.archive.horizon-months 보다 오래된 파티션을 보관 파일로 옮긴 뒤 떼어냅니다.
+--
+-- 파티션 테이블의 PK 는 파티션 키를 포함해야 하므로 (spec_id, updated_at) 가 됩니다.
+-- spec_id 는 계속 시퀀스에서 발급되므로 애플리케이션(JPA @Id spec_id)에는 영향이 없습니다.
+-- LIKE 는 외래 키를 복사하지 않으므로 character_id -> characters 외래 키는 아래에서 따로 만듭니다.
+-- (기존 테이블의 외래 키는 character_specs_legacy 에 남았다가 그 테이블과 함께 삭제됨)
+
+BEGIN;
+
+ALTER TABLE app.character_specs RENAME TO character_specs_legacy;
+ALTER INDEX IF EXISTS app.ix_character_specs_character_updated RENAME TO ix_character_specs_legacy_character_updated;
+
+CREATE TABLE app.character_specs (
+    LIKE app.character_specs_legacy INCLUDING DEFAULTS INCLUDING IDENTITY
+) PARTITION BY RANGE (updated_at);
+
+ALTER TABLE app.character_specs ADD PRIMARY KEY (spec_id, updated_at);
+ALTER TABLE app.character_specs
+    ADD CONSTRAINT fk_character_specs_character
+    FOREIGN KEY (character_id) REFERENCES app.characters (character_id);
+CREATE INDEX ix_character_specs_character_updated ON app.character_specs (character_id, updated_at);
+
+-- 가장 오래된 스냅샷이 있는 달부터 다음 달까지 월별 파티션
+DO $$
+DECLARE
+    m date := date_trunc('month', COALESCE((SELECT MIN(updated_at) FROM app.character_specs_legacy), now()))::date;
+    last date := (date_trunc('month', now()) + interval '1 month')::date;
+BEGIN
+    WHILE m <= last LOOP
+        EXECUTE format(
+            'CREATE TABLE app.%I PARTITION OF app.character_specs FOR VALUES FROM (%L) TO (%L)',
+            'character_specs_p' || to_char(m, 'YYYYMM'), m, (m + interval '1 month')::date);
+        m := (m + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO app.character_specs OVERRIDING SYSTEM VALUE
+SELECT * FROM app.character_specs_legacy;
+
+-- 새 identity 시퀀스를 기존 최대값 다음부터
+SELECT setval(pg_get_serial_sequence('app.character_specs', 'spec_id'),
+              COALESCE((SELECT MAX(spec_id) FROM app.character_specs), 0) + 1, false);
+
+COMMIT;
+
+-- 건수를 확인한 뒤 기존 테이블 삭제
+-- SELECT (SELECT count(*) FROM app.character_specs) AS new_rows, (SELECT count(*) FROM app.character_specs_legacy) AS old_rows;
+-- DROP TABLE app.character_specs_legacy;
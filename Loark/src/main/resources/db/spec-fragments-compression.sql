@@ -0,0 +1,7 @@
+-- spec.fragment.compression=deflate 를 켜기 전에 1회 실행 (body_z 컬럼은 ddl-auto 가 추가)
+-- 압축된 조각은 body 가 NULL 이고 body_z 에 본문이 들어갑니다.
+
+ALTER TABLE app.spec_fragments ALTER COLUMN body DROP NOT NULL;
+ALTER TABLE app.spec_fragments ADD COLUMN IF NOT EXISTS body_z bytea;
+ALTER TABLE app.spec_fragments
+    ADD CONSTRAINT ck_spec_fragments_body CHECK (body IS NOT NULL OR body_z IS NOT NULL);
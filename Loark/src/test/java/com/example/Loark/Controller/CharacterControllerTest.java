@@ -0,0 +1,96 @@
+package com.example.Loark.Controller;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Repository.CharacterRepository;
+import com.example.Loark.Repository.UserRepository;
+import com.example.Loark.Service.CharacterService;
+import com.example.Loark.Service.CharacterSummaryService;
+import com.example.Loark.Service.LostarkApiClient;
+import com.example.Loark.Service.SpecTimeIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CharacterControllerTest {
+
+    @Mock CharacterRepository characterRepo;
+    @Mock UserRepository userRepository;
+    @Mock CharacterService characterService;
+    @Mock LostarkApiClient lostarkApi;
+    @Mock CharacterSummaryService characterSummaryService;
+
+    MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new CharacterController(
+                characterRepo, userRepository, characterService, lostarkApi, characterSummaryService)).build();
+    }
+
+    @Test
+    void 최신_스펙은_ETag를_주고_같으면_본문을_읽지_않고_304() throws Exception {
+        SpecTimeIndex.Point version = new SpecTimeIndex.Point(42L, LocalDateTime.of(2025, 3, 1, 12, 0));
+        when(characterService.findLatestSpecVersion("모코코")).thenReturn(Optional.of(version));
+        CharacterSpec spec = new CharacterSpec();
+        spec.setSpecId(42L);
+        when(characterService.getLatestCharacterSpec("모코코", 42L)).thenReturn(Optional.of(spec));
+
+        mvc.perform(get("/api/characters/모코코/spec/latest"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"spec-42\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+
+        mvc.perform(get("/api/characters/모코코/spec/latest").header("If-None-Match", "\"spec-42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(characterService, times(1)).getLatestCharacterSpec(any(), any());
+    }
+
+    @Test
+    void 스냅샷이_바뀌면_새_본문을_준다() throws Exception {
+        SpecTimeIndex.Point version = new SpecTimeIndex.Point(43L, LocalDateTime.of(2025, 3, 2, 12, 0));
+        when(characterService.findLatestSpecVersion("모코코")).thenReturn(Optional.of(version));
+        when(characterService.getLatestCharacterSpec("모코코", 43L)).thenReturn(Optional.of(new CharacterSpec()));
+
+        mvc.perform(get("/api/characters/모코코/spec/latest").header("If-None-Match", "\"spec-42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"spec-43\""));
+    }
+
+    @Test
+    void 다른_캐릭터의_스냅샷_비교는_ETag가_같아도_404() throws Exception {
+        when(characterService.hasOwnSpecs("모코코", 10L, 99L)).thenReturn(false);
+
+        mvc.perform(get("/api/characters/모코코/spec/diff").param("from", "10").param("to", "99")
+                        .header("If-None-Match", "\"diff-10-99\""))
+                .andExpect(status().isNotFound());
+
+        verify(characterService, never()).diffCharacterSpecs(any(), any(), any());
+    }
+
+    @Test
+    void 내_스냅샷_비교는_ETag가_같으면_계산하지_않고_304() throws Exception {
+        when(characterService.hasOwnSpecs("모코코", 10L, 11L)).thenReturn(true);
+
+        mvc.perform(get("/api/characters/모코코/spec/diff").param("from", "10").param("to", "11")
+                        .header("If-None-Match", "\"diff-10-11\""))
+                .andExpect(status().isNotModified());
+
+        verify(characterService, never()).diffCharacterSpecs(any(), any(), any());
+    }
+}
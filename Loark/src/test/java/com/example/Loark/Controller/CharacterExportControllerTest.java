@@ -0,0 +1,76 @@
+package com.example.Loark.Controller;
+
+import com.example.Loark.Entity.User;
+import com.example.Loark.Service.CharacterExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CharacterExportControllerTest {
+
+    @Mock CharacterExportService exportService;
+
+    MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        CharacterExportController controller = new CharacterExportController(exportService, new ObjectMapper());
+        ReflectionTestUtils.setField(controller, "exportTimeout", Duration.ofMinutes(10));
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .setAsyncRequestTimeout(30_000)
+                .build();
+        User me = User.builder().userId(1L).build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(me, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 내보내기_요청에만_긴_비동기_타임아웃을_준다() throws Exception {
+        when(exportService.export(eq("모코코"), any())).thenReturn(out -> {});
+
+        MvcResult result = mvc.perform(get("/api/characters/모코코/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+    }
+
+    @Test
+    void 권한이_없으면_오류_JSON을_준다() throws Exception {
+        when(exportService.export(eq("모코코"), any())).thenThrow(new IllegalStateException("권한이 없습니다."));
+
+        MvcResult result = mvc.perform(get("/api/characters/모코코/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("권한이 없습니다."));
+    }
+}
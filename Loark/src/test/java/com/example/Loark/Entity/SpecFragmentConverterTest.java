@@ -0,0 +1,75 @@
+package com.example.Loark.Entity;
+
+import com.example.Loark.Repository.SpecFragmentStore;
+import jakarta.persistence.Convert;
+import org.hibernate.annotations.LazyGroup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Field;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SpecFragmentConverterTest {
+
+    private static final String GEM = "{\"Name\":\"10레벨 겁화\",\"Level\":10}";
+
+    @Mock SpecFragmentStore store;
+
+    @Test
+    void 같은_JSON은_같은_해시_참조로_저장된다() {
+        SpecFragmentConverter converter = new SpecFragmentConverter(store);
+
+        String ref = converter.convertToDatabaseColumn(GEM);
+
+        assertThat(ref).matches("\"h:[0-9a-f]{64}\"");
+        assertThat(converter.convertToDatabaseColumn(GEM)).isEqualTo(ref);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+
+    @Test
+    void 참조는_조각으로_풀고_이전_행의_JSON은_그대로_읽는다() {
+        SpecFragmentConverter converter = new SpecFragmentConverter(store);
+        String ref = SpecFragmentStore.ref(GEM);
+        when(store.resolve(ref)).thenReturn(GEM);
+
+        assertThat(converter.convertToEntityAttribute(ref)).isEqualTo(GEM);
+        assertThat(converter.convertToEntityAttribute(GEM)).isEqualTo(GEM);
+        verify(store, times(1)).resolve(any());
+    }
+
+    @Test
+    void 중복_제거_섹션의_슬롯에만_컨버터가_붙어_있다() throws Exception {
+        // 리스너가 조각을 저장하는 슬롯과 참조로 기록되는 컬럼이 어긋나면 풀 수 없는 참조가 생김
+        for (SpecSlot slot : SpecSlot.values()) {
+            Field field = CharacterSpec.class.getDeclaredField(fieldName(slot.getColumn()));
+            Convert convert = field.getAnnotation(Convert.class);
+            boolean converted = convert != null && convert.converter() == SpecFragmentConverter.class;
+            assertThat(converted).as(slot.getColumn()).isEqualTo(slot.getSection().isDeduplicated());
+        }
+    }
+
+    @Test
+    void 슬롯은_자기_섹션의_지연_로딩_그룹에_속한다() throws Exception {
+        // 섹션 하나만 읽는 비교(SpecDiff)가 다른 섹션의 슬롯까지 가져오지 않도록
+        for (SpecSlot slot : SpecSlot.values()) {
+            LazyGroup group = CharacterSpec.class.getDeclaredField(fieldName(slot.getColumn())).getAnnotation(LazyGroup.class);
+            assertThat(group).as(slot.getColumn()).isNotNull();
+            assertThat(group.value()).as(slot.getColumn()).isEqualTo(slot.getSection().name().toLowerCase());
+        }
+    }
+
+    private static String fieldName(String column) {
+        Matcher m = Pattern.compile("_([a-z0-9])").matcher(column);
+        StringBuilder sb = new StringBuilder();
+        while (m.find()) m.appendReplacement(sb, m.group(1).toUpperCase());
+        m.appendTail(sb);
+        return sb.toString();
+    }
+}
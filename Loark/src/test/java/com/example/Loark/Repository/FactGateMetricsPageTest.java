@@ -0,0 +1,83 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.DTO.CombatRecordField;
+import com.example.Loark.DTO.CombatRecordFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class FactGateMetricsPageTest {
+
+    private static final CombatRecordFilter NO_FILTER = new CombatRecordFilter(null, null, null, null, null);
+
+    EntityManager entityManager = mock(EntityManager.class);
+    Query query = mock(Query.class);
+    FactGateMetricsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FactGateMetricsRepository(mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        when(entityManager.createNativeQuery(anyString(), eq(Object[].class))).thenReturn(query);
+    }
+
+    private static Object[] row(long id, Instant ts) {
+        return new Object[]{id, ts, "카멘"};
+    }
+
+    @Test
+    void ts가_없는_기록에서_끝난_페이지도_다음_cursor를_준다() {
+        when(query.getResultList()).thenReturn(List.of(
+                row(9, Instant.parse("2025-06-01T00:00:00Z")), row(5, null), row(3, null)));
+
+        FactGateMetricsRepository.CombatRecordPage page = repository.findPageByCharacterName(
+                "모코코", NO_FILTER, Set.of(CombatRecordField.RAID_NAME), null, 2);
+
+        assertThat(page.records()).extracting(r -> r.get("id")).containsExactly(9L, 5L);
+        assertThat(page.next()).isEqualTo("null_5");
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sql.capture(), eq(Object[].class));
+        // ts 가 없는 기록은 맨 뒤로
+        assertThat(sql.getValue()).contains("ORDER BY COALESCE(ts, '-infinity') DESC, id DESC");
+    }
+
+    @Test
+    void ts가_없는_cursor_다음은_남은_ts_없는_기록을_id_역순으로_읽는다() {
+        when(query.getResultList()).thenReturn(List.<Object[]>of(row(3, null)));
+
+        FactGateMetricsRepository.CombatRecordPage page = repository.findPageByCharacterName("모코코", NO_FILTER,
+                Set.of(CombatRecordField.RAID_NAME), FactGateMetricsRepository.Cursor.parse("null_5"), 2);
+
+        assertThat(page.records()).extracting(r -> r.get("id")).containsExactly(3L);
+        assertThat(page.next()).isNull();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sql.capture(), eq(Object[].class));
+        assertThat(sql.getValue()).contains("(COALESCE(ts, '-infinity'), id) < ('-infinity', :afterId)");
+        verify(query).setParameter("afterId", 5L);
+        verify(query, never()).setParameter(eq("afterTs"), any());
+    }
+
+    @Test
+    void cursor는_ts가_있든_없든_문자열로_왕복한다() {
+        Instant ts = Instant.parse("2025-06-01T12:30:00Z");
+
+        assertThat(FactGateMetricsRepository.Cursor.parse(new FactGateMetricsRepository.Cursor(ts, 7).encode()))
+                .isEqualTo(new FactGateMetricsRepository.Cursor(ts, 7));
+        assertThat(FactGateMetricsRepository.Cursor.parse(new FactGateMetricsRepository.Cursor(null, 7).encode()))
+                .isEqualTo(new FactGateMetricsRepository.Cursor(null, 7));
+        assertThatThrownBy(() -> FactGateMetricsRepository.Cursor.parse("yesterday_7"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
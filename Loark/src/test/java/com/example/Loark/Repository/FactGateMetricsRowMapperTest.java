@@ -0,0 +1,60 @@
+package com.example.Loark.Repository;
+
+import com.example.Loark.DTO.FactGateMetricsDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FactGateMetricsRowMapperTest {
+
+    @Test
+    void 열_위치대로_DTO_필드를_채운다() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(7L);
+        when(rs.getString(2)).thenReturn("카멘");
+        when(rs.getShort(3)).thenReturn((short) 2);
+        when(rs.getString(4)).thenReturn("하드");
+        when(rs.getDouble(5)).thenReturn(754.9);
+        when(rs.getObject(6, OffsetDateTime.class)).thenReturn(OffsetDateTime.of(2025, 6, 1, 12, 0, 0, 0, ZoneOffset.ofHours(9)));
+        when(rs.getString(7)).thenReturn("모코코");
+        when(rs.getDouble(10)).thenReturn(1234.5);
+        when(rs.getBigDecimal(15)).thenReturn(new BigDecimal("98765.43"));
+        when(rs.getInt(22)).thenReturn(3);
+
+        FactGateMetricsDto dto = FactGateMetricsRowMapper.INSTANCE.mapRow(rs, 0);
+
+        assertThat(dto.getId()).isEqualTo(7L);
+        assertThat(dto.getRaidName()).isEqualTo("카멘");
+        assertThat(dto.getGateNumber()).isEqualTo((short) 2);
+        assertThat(dto.getDifficulty()).isEqualTo("하드");
+        assertThat(dto.getPlayTime()).isEqualTo(Duration.ofSeconds(754));
+        assertThat(dto.getTs()).isEqualTo(Instant.parse("2025-06-01T03:00:00Z"));
+        assertThat(dto.getCharacterId()).isEqualTo("모코코");
+        assertThat(dto.getDps()).isEqualTo(1234.5);
+        assertThat(dto.getTotalDamage()).isEqualByComparingTo("98765.43");
+        assertThat(dto.getCounterSuccess()).isEqualTo(3);
+    }
+
+    @Test
+    void SQL_NULL_은_0이_아니라_null() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.wasNull()).thenReturn(true);
+
+        FactGateMetricsDto dto = FactGateMetricsRowMapper.INSTANCE.mapRow(rs, 0);
+
+        assertThat(dto.getId()).isNull();
+        assertThat(dto.getGateNumber()).isNull();
+        assertThat(dto.getPlayTime()).isNull();
+        assertThat(dto.getTs()).isNull();
+        assertThat(dto.getSupportDps()).isNull();
+        assertThat(dto.getStaggerDamage()).isNull();
+    }
+}
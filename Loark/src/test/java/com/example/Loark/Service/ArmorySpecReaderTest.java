@@ -0,0 +1,99 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ArmorySpecReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ArmorySpecReader reader = new ArmorySpecReader(mapper);
+
+    private static String fixture(String name) throws Exception {
+        try (InputStream in = ArmorySpecReaderTest.class.getResourceAsStream("/fixtures/armory/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void 프로필과_장비슬롯을_채운다() throws Exception {
+        CharacterSpec spec = new CharacterSpec();
+
+        ArmorySpecReader.ProfileInfo profile = reader.read(fixture("armory-sample.json"), spec);
+
+        assertThat(profile.characterName()).isEqualTo("테스트캐릭");
+        assertThat(profile.className()).isEqualTo("버서커");
+        assertThat(profile.serverName()).isEqualTo("루페온");
+        assertThat(spec.getItemLevel()).isEqualByComparingTo(new BigDecimal("1680.83"));
+        assertThat(spec.getCombatPower()).isEqualTo(1524L);
+
+        assertThat(mapper.readTree(spec.getEquipWeapon()).path("Name").asText()).isEqualTo("+21 운명의 업화 대검");
+        assertThat(mapper.readTree(spec.getAccEarring1()).path("Name").asText()).isEqualTo("귀걸이 A");
+        assertThat(mapper.readTree(spec.getAccEarring2()).path("Name").asText()).isEqualTo("귀걸이 B");
+        assertThat(mapper.readTree(spec.getAccRing2()).path("Name").asText()).isEqualTo("반지 B");
+        assertThat(mapper.readTree(spec.getAbilityStone()).path("Grade").asText()).isEqualTo("유물");
+    }
+
+    @Test
+    void 복사한_슬롯은_원본_객체와_같은_JSON이다() throws Exception {
+        String json = fixture("armory-sample.json");
+        JsonNode root = mapper.readTree(json);
+        CharacterSpec spec = new CharacterSpec();
+
+        reader.read(json, spec);
+
+        assertThat(mapper.readTree(spec.getGem1())).isEqualTo(root.path("ArmoryGem").path("Gems").get(0));
+        assertThat(mapper.readTree(spec.getEngraving5())).isEqualTo(root.path("ArmoryEngraving").path("ArkPassiveEffects").get(4));
+        assertThat(mapper.readTree(spec.getCardEffect())).isEqualTo(root.path("ArmoryCard").path("Effects"));
+        assertThat(mapper.readTree(spec.getArkLeap())).isEqualTo(root.path("ArkPassive").path("Points").get(2));
+        assertThat(spec.getGem3()).isNull();
+        assertThat(spec.getCard4()).isNull();
+    }
+
+    @Test
+    void 각성기와_트라이포드없는_스킬은_제외하고_8개까지만_담는다() throws Exception {
+        CharacterSpec spec = new CharacterSpec();
+
+        reader.read(fixture("armory-sample.json"), spec);
+
+        assertThat(mapper.readTree(spec.getSkill1()).path("Name").asText()).isEqualTo("스킬1");
+        assertThat(mapper.readTree(spec.getSkill2()).path("Name").asText()).isEqualTo("스킬3");
+        assertThat(mapper.readTree(spec.getSkill8()).path("Name").asText()).isEqualTo("스킬9");
+    }
+
+    @Test
+    void 아크패시브_효과_설명을_툴팁에서_뽑는다() throws Exception {
+        CharacterSpec spec = new CharacterSpec();
+
+        reader.read(fixture("armory-sample.json"), spec);
+
+        assertThat(spec.getArkPassive()).isEqualTo("광기");
+        assertThat(mapper.readValue(spec.getArkEvolutionDetail(), String[].class))
+                .containsExactly("진화 1티어 치명 Lv.30: 치명이 600 증가합니다.");
+        assertThat(mapper.readValue(spec.getArkRealizationDetail(), String[].class))
+                .containsExactly("깨달음 1티어 광기 Lv.3: 폭주 상태 유지");
+        assertThat(spec.getArkLeapDetail()).isNull();
+    }
+
+    @Test
+    void 프로필이_없으면_null을_반환하고_빈_응답은_예외() throws Exception {
+        CharacterSpec spec = new CharacterSpec();
+        spec.setGem1("{}");
+
+        assertThat(reader.read("{\"ArkPassive\":null}", spec)).isNull();
+        assertThat(spec.getGem1()).isNull();
+        assertThat(spec.getItemLevel()).isEqualByComparingTo(BigDecimal.ZERO);
+
+        assertThatThrownBy(() -> reader.read("[]", new CharacterSpec()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> reader.read("null", new CharacterSpec()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Repository.CharacterRepository;
+import com.example.Loark.Repository.CharacterSpecRepository;
+import com.example.Loark.Repository.SpecFragmentStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CharacterServiceLatestSpecTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Mock CharacterRepository characterRepo;
+    @Mock CharacterSpecRepository characterSpecRepo;
+    @Mock CharacterViewTracker viewTracker;
+    @Mock LatestSpecService latestSpecService;
+    @Mock SpecTimeIndex specTimeIndex;
+    @Mock SpecArchiveReader specArchiveReader;
+    @Mock SpecFragmentStore specFragmentStore;
+    @InjectMocks CharacterService service;
+
+    private static Character character(Long latestSpecId) {
+        return Character.builder().characterId(1L).name("모코코").latestSpecId(latestSpecId).build();
+    }
+
+    private static CharacterSpec spec(long specId, Character owner) {
+        CharacterSpec spec = new CharacterSpec();
+        spec.setSpecId(specId);
+        spec.setCharacter(owner);
+        return spec;
+    }
+
+    @Test
+    void 최신_스냅샷_포인터가_있으면_시각_인덱스를_읽지_않는다() {
+        when(characterRepo.findByName("모코코")).thenReturn(Optional.of(character(42L)));
+        when(characterSpecRepo.findUpdatedAt(42L)).thenReturn(Optional.of(T));
+
+        assertThat(service.findLatestSpecVersion("모코코")).contains(new SpecTimeIndex.Point(42L, T));
+        verifyNoInteractions(specTimeIndex);
+    }
+
+    @Test
+    void 포인터가_없거나_스냅샷이_보관되었으면_시각_인덱스로_대신한다() {
+        Character noPointer = character(null);
+        Character archived = character(42L);
+        when(characterRepo.findByName("모코코")).thenReturn(Optional.of(noPointer), Optional.of(archived));
+        when(characterSpecRepo.findUpdatedAt(42L)).thenReturn(Optional.empty());
+        when(specTimeIndex.latest(any())).thenReturn(Optional.of(new SpecTimeIndex.Point(42L, T)));
+
+        assertThat(service.findLatestSpecVersion("모코코")).contains(new SpecTimeIndex.Point(42L, T));
+        assertThat(service.findLatestSpecVersion("모코코")).contains(new SpecTimeIndex.Point(42L, T));
+        verify(specTimeIndex).latest(noPointer);
+        verify(specTimeIndex).latest(archived);
+    }
+
+    @Test
+    void 본문은_최신_스펙으로_읽고_그새_바뀌었으면_ETag의_스냅샷을_준다() {
+        Character c = character(43L);
+        when(characterRepo.findByName("모코코")).thenReturn(Optional.of(c));
+        when(latestSpecService.find(c)).thenReturn(Optional.of(spec(43L, c)));
+        when(characterSpecRepo.findById(42L)).thenReturn(Optional.of(spec(42L, c)));
+
+        assertThat(service.getLatestCharacterSpec("모코코", 43L)).get()
+                .extracting(CharacterSpec::getSpecId).isEqualTo(43L);
+        verify(characterSpecRepo, never()).findById(43L);
+
+        assertThat(service.getLatestCharacterSpec("모코코", 42L)).get()
+                .extracting(CharacterSpec::getSpecId).isEqualTo(42L);
+    }
+}
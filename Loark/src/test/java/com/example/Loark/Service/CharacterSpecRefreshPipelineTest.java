@@ -0,0 +1,110 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.ArmorySection;
+import com.example.Loark.DTO.CharacterRefreshTarget;
+import com.example.Loark.Entity.CharacterSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CharacterSpecRefreshPipelineTest {
+
+    private static final String ARMORY = "{\"ArmoryProfile\":{\"CharacterName\":\"%s\",\"CombatPower\":\"%d\"}}";
+
+    @Mock LostarkApiClient loa;
+    @Mock CharacterSpecWriter specWriter;
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CharacterSpecRefreshPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new CharacterSpecRefreshPipeline(loa, new ArmorySpecReader(new ObjectMapper()),
+                specWriter, meterRegistry);
+        ReflectionTestUtils.setField(pipeline, "perKeyConcurrency", 2);
+        ReflectionTestUtils.setField(pipeline, "keyConcurrency", 4);
+        ReflectionTestUtils.setField(pipeline, "workers", 2);
+        pipeline.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    private static CharacterRefreshTarget target(long id, String name, String apiKey) {
+        return new CharacterRefreshTarget() {
+            public Long getCharacterId() { return id; }
+            public String getName() { return name; }
+            public String getApiKey() { return apiKey; }
+        };
+    }
+
+    @Test
+    void 한_캐릭터의_실패는_나머지에_영향이_없고_결과별로_집계한다() {
+        when(loa.fetchArmorySectionsOrErrorAsync("key-a", "하나", ArmorySection.SPEC))
+                .thenReturn(Mono.just(ARMORY.formatted("하나", 1500)));
+        when(loa.fetchArmorySectionsOrErrorAsync("key-b", "둘", ArmorySection.SPEC))
+                .thenReturn(Mono.error(new ExternalApiUnavailableException("lostark", "circuit open", null)));
+        when(loa.fetchArmorySectionsOrErrorAsync("key-a", "셋", ArmorySection.SPEC))
+                .thenReturn(Mono.just(ARMORY.formatted("셋", 1400)));
+        when(specWriter.appendIfChanged(eq(1L), any(CharacterSpec.class))).thenReturn(true);
+        when(specWriter.appendIfChanged(eq(3L), any(CharacterSpec.class))).thenReturn(false);
+
+        List<CharacterSpecRefreshPipeline.RefreshResult> results = pipeline.refresh(
+                List.of(target(1, "하나", "key-a"), target(2, "둘", "key-b"), target(3, "셋", "key-a")));
+        CharacterSpecRefreshPipeline.RunReport report = pipeline.record(results, Duration.ofSeconds(2));
+
+        assertThat(report.scanned()).isEqualTo(3);
+        assertThat(report.updated()).isEqualTo(1);
+        assertThat(report.unchanged()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.throughput()).isEqualTo(1.5);
+        assertThat(meterRegistry.get("character.spec.refresh.characters").tag("result", "failed").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("character.spec.refresh.run").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 빈_응답은_저장하지_않는다() {
+        when(loa.fetchArmorySectionsOrErrorAsync("key-a", "하나", ArmorySection.SPEC)).thenReturn(Mono.empty());
+
+        List<CharacterSpecRefreshPipeline.RefreshResult> results = pipeline.refresh(List.of(target(1, "하나", "key-a")));
+
+        assertThat(results).extracting(CharacterSpecRefreshPipeline.RefreshResult::outcome)
+                .containsExactly(CharacterSpecRefreshPipeline.Outcome.EMPTY);
+        verifyNoInteractions(specWriter);
+    }
+
+    @Test
+    void 잘못된_Key나_호출_한도_초과는_빈_응답이_아니라_실패로_남긴다() {
+        when(loa.fetchArmorySectionsOrErrorAsync("key-a", "하나", ArmorySection.SPEC))
+                .thenReturn(Mono.error(WebClientResponseException.create(429, "Too Many Requests", null, null, null)));
+        when(loa.fetchArmorySectionsOrErrorAsync("key-b", "둘", ArmorySection.SPEC))
+                .thenReturn(Mono.error(WebClientResponseException.create(401, "Unauthorized", null, null, null)));
+
+        List<CharacterSpecRefreshPipeline.RefreshResult> results =
+                pipeline.refresh(List.of(target(1, "하나", "key-a"), target(2, "둘", "key-b")));
+
+        assertThat(results).extracting(CharacterSpecRefreshPipeline.RefreshResult::outcome)
+                .containsOnly(CharacterSpecRefreshPipeline.Outcome.FAILED);
+        verifyNoInteractions(specWriter);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.CharacterSpecSummary;
+import com.example.Loark.Entity.User;
+import com.example.Loark.Repository.CharacterRepository;
+import com.example.Loark.Repository.CharacterSpecSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CharacterSummaryServiceTest {
+
+    @Mock CharacterRepository characterRepo;
+    @Mock CharacterSpecSummaryRepository summaryRepo;
+    @InjectMocks CharacterSummaryService service;
+
+    private static CharacterSpecSummary summary(long characterId, String itemLevel) {
+        CharacterSpecSummary s = new CharacterSpecSummary();
+        ReflectionTestUtils.setField(s, "characterId", characterId);
+        ReflectionTestUtils.setField(s, "itemLevel", new BigDecimal(itemLevel));
+        return s;
+    }
+
+    private static User user(long id, String mainCharacter) {
+        User u = new User();
+        ReflectionTestUtils.setField(u, "userId", id);
+        ReflectionTestUtils.setField(u, "mainCharacter", mainCharacter);
+        return u;
+    }
+
+    private static Character character(long id, User owner, String name, String clazz) {
+        return Character.builder().characterId(id).user(owner).name(name).clazz(clazz).server("루페온").build();
+    }
+
+    @Test
+    void 요약이_없는_캐릭터는_결과에서_빠지고_조회중에_쓰지_않는다() {
+        when(summaryRepo.findAllById(List.of(1L, 2L))).thenReturn(List.of(summary(1, "1680.00")));
+
+        var result = service.findByCharacterIds(List.of(1L, 2L));
+
+        assertThat(result).containsOnlyKeys(1L);
+        verify(summaryRepo, only()).findAllById(any());
+    }
+
+    @Test
+    void 같은_이름의_캐릭터가_여럿이어도_사용자마다_자기_대표캐릭터를_받는다() {
+        User a = user(10, "하나");
+        User b = user(20, "하나");
+        User none = user(30, " ");
+        when(characterRepo.findMainCharactersOfUsers(Set.of(10L, 20L))).thenReturn(List.of(
+                character(1, a, "하나", "버서커"),
+                character(2, b, "하나", "바드")));
+        when(summaryRepo.findAllById(List.of(1L, 2L))).thenReturn(List.of(summary(1, "1680.00"), summary(2, "1620.00")));
+
+        var result = service.findMainCharacters(Arrays.asList(a, b, none));
+
+        assertThat(result).containsOnlyKeys(10L, 20L);
+        assertThat(result.get(10L).characterClass()).isEqualTo("버서커");
+        assertThat(result.get(20L).characterClass()).isEqualTo("바드");
+        assertThat(result.get(20L).itemLevel()).isEqualByComparingTo("1620");
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.FactGateMetricsDto;
+import com.example.Loark.Entity.CombatRollup;
+import com.example.Loark.Entity.CombatRollupCursor;
+import com.example.Loark.Entity.CombatRollupId;
+import com.example.Loark.Repository.CombatRollupCursorRepository;
+import com.example.Loark.Repository.CombatRollupRepository;
+import com.example.Loark.Repository.FactGateMetricsRepository;
+import com.example.Loark.Repository.FactGateMetricsRepository.CommitPosition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CombatRollupServiceTest {
+
+    private static final CombatRollupId KEY = new CombatRollupId("모코코", "카멘", (short) 1, "하드");
+
+    @Mock FactGateMetricsRepository factGateMetricsRepository;
+    @Mock CombatRollupRepository rollupRepo;
+    @Mock CombatRollupCursorRepository cursorRepo;
+    @Mock PlatformTransactionManager transactionManager;
+
+    CombatRollupService service;
+    CombatRollupCursor cursor;
+
+    @BeforeEach
+    void setUp() {
+        service = new CombatRollupService(factGateMetricsRepository, rollupRepo, cursorRepo,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        cursor = new CombatRollupCursor();
+        cursor.moveTo(new CommitPosition(500, 3));
+        when(cursorRepo.findForUpdate(any())).thenReturn(Optional.of(cursor));
+    }
+
+    private static FactGateMetricsDto record(long id, double dps) {
+        return FactGateMetricsDto.builder().id(id).characterId("모코코").raidName("카멘")
+                .gateNumber((short) 1).difficulty("하드").dps(dps).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 커서는_id가_아니라_마지막으로_읽은_커밋_위치로_옮긴다() {
+        // 늦게 커밋된 트랜잭션(901)의 작은 id(4)가 먼저 커밋된 큰 id(8) 뒤에 읽힘
+        when(factGateMetricsRepository.forEachCommittedAfter(eq(new CommitPosition(500, 3)), eq(10), any()))
+                .thenAnswer(inv -> {
+                    Consumer<FactGateMetricsDto> action = inv.getArgument(2);
+                    action.accept(record(8, 1_000_000));
+                    action.accept(record(4, 2_000_000));
+                    return new CommitPosition(901, 4);
+                });
+
+        assertThat(service.catchUp()).isEqualTo(2);
+
+        assertThat(cursor.position()).isEqualTo(new CommitPosition(901, 4));
+        ArgumentCaptor<List<CombatRollup>> saved = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepo).saveAll(saved.capture());
+        CombatRollup rollup = saved.getValue().get(0);
+        assertThat(rollup.getId()).isEqualTo(KEY);
+        assertThat(rollup.getRecordCount()).isEqualTo(2);
+        assertThat(rollup.getMeanDps()).isEqualTo(1_500_000);
+        // 중앙값은 조회 때 계산하므로 집계 작업은 원본 이력을 다시 읽지 않음
+        verify(factGateMetricsRepository, never()).findMedianDps(any(), any());
+    }
+
+    @Test
+    void 끝난_트랜잭션의_기록이_없으면_커서를_그대로_둔다() {
+        when(factGateMetricsRepository.forEachCommittedAfter(any(), anyInt(), any()))
+                .thenReturn(new CommitPosition(500, 3));
+
+        assertThat(service.catchUp()).isZero();
+
+        assertThat(cursor.position()).isEqualTo(new CommitPosition(500, 3));
+        verify(rollupRepo, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.Loark.Service;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ExternalApiGuardTest {
+
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final ExternalApiGuard guard = new ExternalApiGuard(circuitBreakers, bulkheads);
+
+    @Test
+    void 서킷이_열리면_호출하지_않고_예외() {
+        circuitBreakers.circuitBreaker("statistics").transitionToOpenState();
+        boolean[] called = {false};
+
+        assertThatThrownBy(() -> guard.call("statistics", () -> called[0] = true))
+                .isInstanceOf(ExternalApiUnavailableException.class);
+        assertThat(called[0]).isFalse();
+    }
+
+    @Test
+    void 동시호출_한도를_넘으면_바로_거절() {
+        bulkheads.bulkhead("clova").tryAcquirePermission();
+
+        assertThatThrownBy(() -> guard.call("clova", () -> "ok"))
+                .isInstanceOf(ExternalApiUnavailableException.class);
+    }
+
+    @Test
+    void 논블로킹_호출도_서킷_차단을_같은_예외로_알린다() {
+        circuitBreakers.circuitBreaker("lostark").transitionToOpenState();
+
+        assertThatThrownBy(() -> guard.mono("lostark", Mono.just("body")).block())
+                .isInstanceOf(ExternalApiUnavailableException.class);
+        assertThat(guard.mono("other", Mono.just("body")).block()).isEqualTo("body");
+    }
+
+    @Test
+    void 교환_필터는_5xx만_실패로_센다() {
+        var filter = guard.exchangeFilter("lostark");
+        var request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/armories")).build();
+        var breaker = circuitBreakers.circuitBreaker("lostark");
+
+        ClientResponse notFound = filter.filter(request,
+                r -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build())).block();
+        assertThat(notFound.statusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        assertThatThrownBy(() -> filter.filter(request,
+                r -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build())).block())
+                .isInstanceOf(WebClientResponseException.BadGateway.class);
+
+        assertThat(breaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+        assertThat(breaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        // 교환이 끝나면 허가를 돌려준다
+        assertThat(bulkheads.bulkhead("lostark").getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Repository.CharacterSpecRepository;
+import com.example.Loark.Repository.LatestSpecPointerStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LatestSpecServiceTest {
+
+    @Mock CharacterSpecRepository characterSpecRepo;
+    @Mock LatestSpecPointerStore pointerStore;
+    @Mock SpecArchiveReader archiveReader;
+    @InjectMocks LatestSpecService service;
+
+    @Test
+    void 포인터가_있으면_PK로만_조회한다() {
+        Character character = Character.builder().characterId(1L).latestSpecId(42L).build();
+        CharacterSpec spec = new CharacterSpec();
+        when(characterSpecRepo.findById(42L)).thenReturn(Optional.of(spec));
+
+        assertThat(service.find(character)).containsSame(spec);
+        verify(characterSpecRepo, never()).findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(any());
+    }
+
+    @Test
+    void 포인터가_없으면_이력에서_최신을_찾는다() {
+        Character character = Character.builder().characterId(1L).build();
+        CharacterSpec spec = new CharacterSpec();
+        when(characterSpecRepo.findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(1L)).thenReturn(Optional.of(spec));
+
+        assertThat(service.find(character)).containsSame(spec);
+        verify(characterSpecRepo, never()).findById(any());
+    }
+
+    @Test
+    void 최신_스냅샷이_보관되었으면_보관_파일에서_읽는다() {
+        Character character = Character.builder().characterId(1L).latestSpecId(42L).build();
+        CharacterSpec archived = new CharacterSpec();
+        when(characterSpecRepo.findById(42L)).thenReturn(Optional.empty());
+        when(archiveReader.find(character, 42L)).thenReturn(Optional.of(archived));
+
+        assertThat(service.find(character)).containsSame(archived);
+        verify(characterSpecRepo, never()).findFirstByCharacterCharacterIdOrderByUpdatedAtDesc(any());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.Loark.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LostarkArmoryCacheTest {
+
+    // 넣자마자 오래된 값이 되도록 (nanoTime 차이는 0 이상)
+    private static final Duration ALWAYS_STALE = Duration.ofNanos(-1);
+
+    private static LostarkArmoryCache cache(Duration freshTtl) {
+        return new LostarkArmoryCache(new SimpleMeterRegistry(), freshTtl, Duration.ofMinutes(10), DataSize.ofMegabytes(1));
+    }
+
+    /** 구독될 때마다 호출 수를 세는 로더 */
+    private static Mono<String> loader(AtomicInteger calls, Mono<String> result) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return result;
+        });
+    }
+
+    @Test
+    void 신선한_값은_다시_조회하지_않는다() {
+        LostarkArmoryCache cache = cache(Duration.ofHours(1));
+        AtomicInteger calls = new AtomicInteger();
+        cache.get("모코코", "", loader(calls, Mono.just("v1"))).block();
+
+        assertThat(cache.get("모코코", "", loader(calls, Mono.just("v2"))).block()).isEqualTo("v1");
+        assertThat(cache.getFresh("모코코", "", loader(calls, Mono.just("v2"))).block()).isEqualTo("v1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void 오래된_값은_즉시_반환하고_백그라운드_갱신은_한_번만_건다() {
+        LostarkArmoryCache cache = cache(ALWAYS_STALE);
+        cache.get("모코코", "", Mono.just("v1")).block();
+
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> refreshed = Sinks.one();
+        Mono<String> slow = loader(calls, refreshed.asMono());
+
+        assertThat(cache.get("모코코", "", slow).block()).isEqualTo("v1");
+        assertThat(cache.get(" 모코코 ", "", slow).block()).isEqualTo("v1");
+        assertThat(calls).hasValue(1);
+
+        refreshed.tryEmitValue("v2");
+        assertThat(cache.get("모코코", "", Mono.never()).block()).isEqualTo("v2");
+    }
+
+    @Test
+    void 저장_경로는_오래된_값_대신_새로_조회한_값을_받는다() {
+        LostarkArmoryCache cache = cache(ALWAYS_STALE);
+        cache.get("모코코", "", Mono.just("v1")).block();
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThat(cache.getFresh("모코코", "", loader(calls, Mono.just("v2"))).block()).isEqualTo("v2");
+        assertThat(calls).hasValue(1);
+        // 새로 조회한 값은 캐시에도 올라감
+        assertThat(cache.get("모코코", "", Mono.never()).block()).isEqualTo("v2");
+    }
+
+    @Test
+    void 조회_범위가_다르면_따로_캐시한다() {
+        LostarkArmoryCache cache = cache(Duration.ofHours(1));
+        cache.get("모코코", "filters=profiles", Mono.just("profiles")).block();
+
+        assertThat(cache.get("모코코", "", Mono.just("armory")).block()).isEqualTo("armory");
+        assertThat(cache.get("모코코", "filters=profiles", Mono.never()).block()).isEqualTo("profiles");
+    }
+}
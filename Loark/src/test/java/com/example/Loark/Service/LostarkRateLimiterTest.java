@@ -0,0 +1,62 @@
+package com.example.Loark.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LostarkRateLimiterTest {
+
+    private static final long MINUTE_NANOS = 60_000_000_000L;
+
+    @Test
+    void 예산안에서는_대기없이_통과() {
+        var budget = new LostarkRateLimiter.KeyBudget("test", 100, new SimpleMeterRegistry());
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(budget.reserve(now, 0)).isZero();
+        }
+    }
+
+    @Test
+    void 예산소진후_요청은_순서대로_줄을선다() {
+        var budget = new LostarkRateLimiter.KeyBudget("test", 60, new SimpleMeterRegistry());
+        long now = System.nanoTime();
+        for (int i = 0; i < 60; i++) budget.reserve(now, 0);
+
+        // 분당 60개 → 토큰 하나당 1초
+        assertThat(budget.reserve(now, 0)).isEqualTo(1_000);
+        assertThat(budget.reserve(now, 0)).isEqualTo(2_000);
+
+        // 1분 뒤에는 다시 충전되어 있다
+        assertThat(budget.reserve(now + MINUTE_NANOS, 0)).isZero();
+    }
+
+    @Test
+    void 서버가_알려준_남은예산과_리셋시각을_따른다() {
+        var budget = new LostarkRateLimiter.KeyBudget("test", 100, new SimpleMeterRegistry());
+        long now = System.nanoTime();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Limit", "100");
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Reset", "1000");  // epoch seconds
+
+        budget.onResponse(headers);
+
+        assertThat(budget.reserve(now, 400_000)).isEqualTo(600_000);
+    }
+
+    @Test
+    void 응답이_429면_RetryAfter만큼_대기() {
+        var budget = new LostarkRateLimiter.KeyBudget("test", 100, new SimpleMeterRegistry());
+        long now = System.nanoTime();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+
+        budget.onTooManyRequests(headers, 0);
+
+        assertThat(budget.reserve(now, 0)).isGreaterThanOrEqualTo(30_000);
+    }
+}
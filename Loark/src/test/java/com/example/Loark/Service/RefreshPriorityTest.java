@@ -0,0 +1,55 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.RefreshCandidate;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class RefreshPriorityTest {
+
+    private final RefreshPriority priority = new RefreshPriority(Duration.ofMinutes(5), Duration.ofHours(24), 3);
+
+    private static RefreshCandidate candidate(int unchangedPolls, double overdue, Double viewAge, Double loginAge) {
+        return new RefreshCandidate(1L, "캐릭", "key", unchangedPolls, 1000L, overdue,
+                viewAge, loginAge, null, null, null);
+    }
+
+    @Test
+    void 방금_조회된_캐릭터는_최소간격() {
+        double hotness = priority.hotness(candidate(0, 0, 0.0, null));
+
+        assertThat(hotness).isEqualTo(1.0);
+        assertThat(priority.interval(hotness, 0)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void 활동이_없으면_최대간격() {
+        double hotness = priority.hotness(candidate(0, 0, null, null));
+
+        assertThat(hotness).isZero();
+        assertThat(priority.interval(hotness, 0)).isEqualTo(Duration.ofHours(24));
+    }
+
+    @Test
+    void 전투력이_계속_그대로면_간격이_2배씩_늘고_최대간격에서_멈춘다() {
+        Duration base = priority.interval(1.0, 3);
+
+        assertThat(priority.interval(1.0, 4)).isEqualTo(base.multipliedBy(2));
+        assertThat(priority.interval(1.0, 5)).isEqualTo(base.multipliedBy(4));
+        assertThat(priority.interval(1.0, 100)).isEqualTo(Duration.ofHours(24));
+    }
+
+    @Test
+    void 최근_활동이_있으면_먼저_갱신되고_오래_밀린_캐릭터도_결국_올라온다() {
+        RefreshCandidate hot = candidate(0, 0, 60.0, null);
+        RefreshCandidate cold = candidate(0, 60, null, null);
+        RefreshCandidate longOverdue = candidate(0, Duration.ofDays(3).toSeconds(), null, null);
+
+        assertThat(priority.score(hot, priority.hotness(hot)))
+                .isGreaterThan(priority.score(cold, priority.hotness(cold)));
+        assertThat(priority.score(longOverdue, priority.hotness(longOverdue)))
+                .isGreaterThan(priority.score(hot, priority.hotness(hot)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.Loark.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SpecArchiveCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void 쓴_행을_열_값으로_다시_찾는다() throws Exception {
+        LocalDateTime at = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // row group 3행 단위 -> 2개로 나뉨
+        try (SpecArchiveCodec.Writer writer = new SpecArchiveCodec.Writer(out, mapper,
+                List.of("spec_id", "character_id", "character_item_level", "gem_1", "updated_at"), 3)) {
+            writer.write(Arrays.asList(1L, 7L, new BigDecimal("1680.50"), "\"h:abc\"", Timestamp.valueOf(at)));
+            writer.write(Arrays.asList(2L, 7L, new BigDecimal("1685.00"), null, Timestamp.valueOf(at.plusDays(1))));
+            writer.write(Arrays.asList(3L, 8L, null, "{\"a\":1}", Timestamp.valueOf(at)));
+            writer.write(Arrays.asList(4L, 7L, new BigDecimal("1690.00"), null, Timestamp.valueOf(at.plusDays(2))));
+            assertThat(writer.rowCount()).isEqualTo(4);
+        }
+
+        List<Map<String, Object>> rows = SpecArchiveCodec.readMatching(
+                new ByteArrayInputStream(out.toByteArray()), mapper, "character_id", 7L);
+
+        assertThat(rows).extracting(r -> r.get("spec_id")).containsExactly(1L, 2L, 4L);
+        Map<String, Object> first = rows.get(0);
+        assertThat(first.get("character_item_level")).isEqualTo("1680.50");
+        assertThat(first.get("gem_1")).isEqualTo("\"h:abc\"");
+        assertThat(LocalDateTime.parse((String) first.get("updated_at"))).isEqualTo(at);
+        assertThat(rows.get(1).get("gem_1")).isNull();
+    }
+
+    @Test
+    void row_group_위치만_잘라_읽어도_그_row_group_의_행을_찾는다() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SpecArchiveCodec.Writer writer = new SpecArchiveCodec.Writer(out, mapper,
+                List.of("spec_id", "character_id", "gem_1"), 2, "spec_id");
+        try (writer) {
+            writer.write(Arrays.asList(1L, 7L, "{\"a\":1}"));
+            writer.write(Arrays.asList(2L, 7L, "{\"a\":2}"));
+            writer.write(Arrays.asList(3L, 8L, "{\"a\":3}"));
+        }
+        byte[] file = out.toByteArray();
+
+        List<SpecArchiveCodec.RowGroup> groups = writer.rowGroups();
+        assertThat(groups).extracting(SpecArchiveCodec.RowGroup::keys)
+                .containsExactly(List.of(1L, 2L), List.of(3L));
+        SpecArchiveCodec.RowGroup second = groups.get(1);
+        assertThat(second.offset() + second.length()).isEqualTo(file.length);
+
+        // 범위 요청처럼 두 번째 row group 바이트만 (머리 줄 없이)
+        List<Map<String, Object>> rows = SpecArchiveCodec.readMatching(
+                new ByteArrayInputStream(file, (int) second.offset(), (int) second.length()), mapper, "character_id", 8L);
+        assertThat(rows).singleElement().satisfies(r -> {
+            assertThat(r.get("spec_id")).isEqualTo(3L);
+            assertThat(r.get("gem_1")).isEqualTo("{\"a\":3}");
+        });
+        // 파일 전체도 여전히 gzip 하나로 읽힘
+        assertThat(SpecArchiveCodec.readMatching(new ByteArrayInputStream(file), mapper, "character_id", 7L))
+                .hasSize(2);
+    }
+
+    @Test
+    void 찾는_열이_없으면_거부한다() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SpecArchiveCodec.Writer writer = new SpecArchiveCodec.Writer(out, mapper, List.of("spec_id"))) {
+            writer.write(List.of(1L));
+        }
+
+        assertThatThrownBy(() -> SpecArchiveCodec.readMatching(
+                new ByteArrayInputStream(out.toByteArray()), mapper, "character_id", 7L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void 열_개수가_다르면_거부한다() throws Exception {
+        try (SpecArchiveCodec.Writer writer = new SpecArchiveCodec.Writer(new ByteArrayOutputStream(), mapper,
+                List.of("spec_id", "character_id"))) {
+            assertThatThrownBy(() -> writer.write(List.of(1L)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.SpecSection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SpecDiffTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static CharacterSpec spec(long specId, String gem1) {
+        CharacterSpec spec = new CharacterSpec();
+        spec.setSpecId(specId);
+        spec.setItemLevel(new BigDecimal("1680.80"));
+        spec.setCombatPower(1524L);
+        spec.setArkPassive("광기");
+        spec.setEquipWeapon("{\"Name\":\"+21 대검\"}");
+        spec.setGem1(gem1);
+        SpecFingerprint.stamp(spec, null);
+        return spec;
+    }
+
+    @Test
+    void 바뀐_슬롯의_바뀐_값만_내려준다() {
+        CharacterSpec from = spec(1, "{\"Name\":\"겁화\",\"Level\":9}");
+        CharacterSpec to = spec(2, "{\"Name\":\"겁화\",\"Level\":10}");
+        to.setCombatPower(1600L);
+        SpecFingerprint.stamp(to, null);
+
+        SpecDiff.Result diff = SpecDiff.diff(from, to, mapper);
+
+        assertThat(diff.changedSections()).containsExactlyInAnyOrder(SpecSection.PROFILE, SpecSection.GEM);
+        assertThat(diff.slots()).extracting(SpecDiff.SlotChange::slot).containsExactly(SpecDiff.PROFILE, "gem_1");
+        assertThat(diff.slots().get(0).changes()).extracting(c -> c.path()).containsExactly("/combatPower");
+        assertThat(diff.slots().get(1).changes()).extracting(c -> c.path()).containsExactly("/Level");
+    }
+
+    @Test
+    void 섹션_해시가_같으면_슬롯을_비교하지_않는다() {
+        CharacterSpec from = spec(1, "{\"Level\":9}");
+        CharacterSpec to = spec(2, "{\"Level\":9}");
+        // 해시는 그대로 두고 값만 바꿔도 차이로 나오지 않아야 함 (해시로 건너뜀)
+        to.setGem1("{\"Level\":10}");
+
+        SpecDiff.Result diff = SpecDiff.diff(from, to, mapper);
+
+        assertThat(diff.changedSections()).isEmpty();
+        assertThat(diff.slots()).isEmpty();
+    }
+
+    @Test
+    void 저장된_해시가_없으면_계산해서_비교한다() {
+        CharacterSpec from = spec(1, null);
+        from.setSectionHashes(null);
+        CharacterSpec to = spec(2, "{\"Level\":7}");
+        to.setSectionHashes(null);
+
+        SpecDiff.Result diff = SpecDiff.diff(from, to, mapper);
+
+        assertThat(diff.changedSections()).containsExactly(SpecSection.GEM);
+        assertThat(diff.slots()).singleElement()
+                .satisfies(s -> assertThat(s.changes()).extracting(c -> c.op()).containsExactly("add"));
+    }
+}
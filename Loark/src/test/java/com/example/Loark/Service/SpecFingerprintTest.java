@@ -0,0 +1,73 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Entity.CharacterSpec;
+import com.example.Loark.Entity.SpecSection;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SpecFingerprintTest {
+
+    private static CharacterSpec spec() {
+        CharacterSpec spec = new CharacterSpec();
+        spec.setItemLevel(new BigDecimal("1680.80"));
+        spec.setCombatPower(1524L);
+        spec.setArkPassive("광기");
+        spec.setEquipWeapon("{\"Name\":\"+21 대검\"}");
+        spec.setGem1("{\"Name\":\"10레벨 겁화\"}");
+        spec.setSkill1("{\"Name\":\"스킬1\"}");
+        return spec;
+    }
+
+    @Test
+    void 이전_지문이_없으면_전_섹션이_바뀐_것으로_본다() {
+        CharacterSpec spec = spec();
+
+        assertThat(SpecFingerprint.stamp(spec, null)).isTrue();
+
+        assertThat(spec.getChangedSectionSet()).containsExactlyInAnyOrder(SpecSection.values());
+        assertThat(spec.getContentHash()).hasSize(64);
+        assertThat(spec.getSectionHashes()).hasSize(SpecSection.values().length);
+    }
+
+    @Test
+    void 내용이_같으면_변경이_없다() {
+        CharacterSpec previous = spec();
+        SpecFingerprint.stamp(previous, null);
+
+        CharacterSpec current = spec();
+        current.setItemLevel(new BigDecimal("1680.8"));
+
+        assertThat(SpecFingerprint.stamp(current, previous.getSectionHashes())).isFalse();
+        assertThat(current.getChangedSectionSet()).isEmpty();
+        assertThat(current.getContentHash()).isEqualTo(previous.getContentHash());
+    }
+
+    @Test
+    void 바뀐_섹션만_표시한다() {
+        CharacterSpec previous = spec();
+        SpecFingerprint.stamp(previous, null);
+
+        CharacterSpec current = spec();
+        current.setGem1("{\"Name\":\"10레벨 작열\"}");
+        current.setCombatPower(1530L);
+
+        assertThat(SpecFingerprint.stamp(current, previous.getSectionHashes())).isTrue();
+        assertThat(current.getChangedSectionSet()).containsExactlyInAnyOrder(SpecSection.GEM, SpecSection.PROFILE);
+        assertThat(current.getContentHash()).isNotEqualTo(previous.getContentHash());
+    }
+
+    @Test
+    void 키_순서나_공백만_다르면_변경이_없다() {
+        CharacterSpec previous = spec();
+        previous.setEquipWeapon("{\"Name\":\"+21 대검\",\"Tooltip\":{\"a\":1,\"b\":[1.50,2]}}");
+        SpecFingerprint.stamp(previous, null);
+
+        CharacterSpec current = spec();
+        current.setEquipWeapon("{ \"Tooltip\" : { \"b\" : [1.50, 2], \"a\" : 1 },\n  \"Name\" : \"+21 대검\" }");
+
+        assertThat(SpecFingerprint.stamp(current, previous.getSectionHashes())).isFalse();
+    }
+}
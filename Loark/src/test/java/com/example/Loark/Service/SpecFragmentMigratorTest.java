@@ -0,0 +1,44 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.Repository.SpecFragmentStore;
+import com.example.Loark.Repository.SpecFragmentStore.MigrationBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SpecFragmentMigratorTest {
+
+    @Mock SpecFragmentStore store;
+
+    SpecFragmentMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        migrator = new SpecFragmentMigrator(store);
+        ReflectionTestUtils.setField(migrator, "batchSize", 2);
+    }
+
+    @Test
+    void 마지막으로_본_spec_id_다음부터_이어서_한_번만_훑는다() {
+        when(store.migrateInline(0L, 2)).thenReturn(new MigrationBatch(2, 30, 17));
+        when(store.migrateInline(17L, 2)).thenReturn(new MigrationBatch(1, 12, 40));
+        when(store.migrateInline(40L, 2)).thenReturn(new MigrationBatch(0, 0, 40));
+
+        assertThat(migrator.migrateAll()).isEqualTo(42);
+
+        InOrder order = inOrder(store);
+        order.verify(store).migrateInline(0L, 2);
+        order.verify(store).migrateInline(17L, 2);
+        order.verify(store).migrateInline(40L, 2);
+        verify(store, times(3)).migrateInline(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.Loark.Service;
+
+import com.example.Loark.DTO.SpecTimePoint;
+import com.example.Loark.Entity.Character;
+import com.example.Loark.Repository.CharacterSpecRepository;
+import com.example.Loark.Repository.SpecArchiveEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SpecTimeIndexTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final LocalDateTime T2 = LocalDateTime.of(2025, 1, 5, 9, 30, 0, 123_456_000);
+    private static final LocalDateTime T3 = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Mock CharacterSpecRepository characterSpecRepo;
+    @Mock SpecArchiveEntryRepository archiveEntryRepo;
+
+    SpecTimeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpecTimeIndex(characterSpecRepo, archiveEntryRepo, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "maxPoints", 1000L);
+        index.init();
+    }
+
+    private static SpecTimePoint point(long specId, LocalDateTime at) {
+        return new SpecTimePoint() {
+            public Long getSpecId() { return specId; }
+            public LocalDateTime getUpdatedAt() { return at; }
+        };
+    }
+
+    private static Character character(Long latestSpecId) {
+        return Character.builder().characterId(1L).latestSpecId(latestSpecId).build();
+    }
+
+    @Test
+    void 시점_이전의_가장_최근_스냅샷을_찾는다() {
+        when(characterSpecRepo.findTimeline(1L)).thenReturn(List.of(point(10, T1), point(11, T2), point(12, T3)));
+        Character c = character(12L);
+
+        assertThat(index.first(c)).get().isEqualTo(new SpecTimeIndex.Point(10L, T1));
+        assertThat(index.atOrBefore(c, T2).map(SpecTimeIndex.Point::specId)).contains(11L);
+        assertThat(index.before(c, T2).map(SpecTimeIndex.Point::specId)).contains(10L);
+        assertThat(index.atOrBefore(c, T3.plusDays(1)).map(SpecTimeIndex.Point::specId)).contains(12L);
+        assertThat(index.before(c, T1)).isEmpty();
+
+        // 이력은 한 번만 읽음
+        verify(characterSpecRepo, times(1)).findTimeline(1L);
+    }
+
+    @Test
+    void 최신_포인터가_인덱스와_다르면_다시_읽는다() {
+        when(characterSpecRepo.findTimeline(1L))
+                .thenReturn(List.of(point(10, T1)))
+                .thenReturn(List.of(point(10, T1), point(11, T2)));
+
+        assertThat(index.atOrBefore(character(10L), T3).map(SpecTimeIndex.Point::specId)).contains(10L);
+        // 다른 인스턴스가 11 을 저장함
+        assertThat(index.atOrBefore(character(11L), T3).map(SpecTimeIndex.Point::specId)).contains(11L);
+
+        verify(characterSpecRepo, times(2)).findTimeline(1L);
+    }
+
+    @Test
+    void 보관된_스냅샷도_같은_인덱스에서_찾는다() {
+        when(archiveEntryRepo.findTimeline(1L)).thenReturn(List.of(point(10, T1)));
+        when(characterSpecRepo.findTimeline(1L)).thenReturn(List.of(point(11, T2), point(12, T3)));
+        Character c = character(12L);
+
+        assertThat(index.first(c).map(SpecTimeIndex.Point::specId)).contains(10L);
+        assertThat(index.before(c, T2).map(SpecTimeIndex.Point::specId)).contains(10L);
+        assertThat(index.atOrBefore(c, T3).map(SpecTimeIndex.Point::specId)).contains(12L);
+    }
+
+    @Test
+    void 다른_캐릭터의_스냅샷은_포함하지_않는다() {
+        when(archiveEntryRepo.findTimeline(1L)).thenReturn(List.of(point(10, T1)));
+        when(characterSpecRepo.findTimeline(1L)).thenReturn(List.of(point(12, T3)));
+        Character c = character(12L);
+
+        assertThat(index.contains(c, 10L)).isTrue();
+        assertThat(index.contains(c, 12L)).isTrue();
+        assertThat(index.contains(c, 11L)).isFalse();
+        assertThat(index.contains(c, null)).isFalse();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.Loark.Util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CanonicalJsonTest {
+
+    @Test
+    void 키를_정렬하고_공백을_없앤다() {
+        assertThat(CanonicalJson.canonicalize("{ \"b\" : [ {\"z\":1, \"y\":null} ], \"a\" : \"값 \\\"x\\\"\" }"))
+                .isEqualTo("{\"a\":\"값 \\\"x\\\"\",\"b\":[{\"y\":null,\"z\":1}]}");
+    }
+
+    @Test
+    void 숫자는_받은_자릿수_그대로_둔다() {
+        assertThat(CanonicalJson.canonicalize("[1680.50, 1e3, 12345678901234567890]"))
+                .isEqualTo("[1680.50,1000,12345678901234567890]");
+    }
+
+    @Test
+    void JSON_이_아니면_그대로_돌려준다() {
+        assertThat(CanonicalJson.canonicalize(null)).isNull();
+        assertThat(CanonicalJson.canonicalize("{깨진")).isEqualTo("{깨진");
+    }
+}
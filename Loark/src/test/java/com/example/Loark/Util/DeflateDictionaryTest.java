@@ -0,0 +1,46 @@
+package com.example.Loark.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class DeflateDictionaryTest {
+
+    private static byte[] gem(int i) {
+        return ("{\"Slot\":" + i + ",\"Name\":\"<FONT COLOR='#E3C7A1'>" + (i % 10 + 1) + "레벨 겁화의 보석</FONT>\","
+                + "\"Grade\":\"고대\",\"Tooltip\":\"{\\\"Element_000\\\":{\\\"type\\\":\\\"NameTagBox\\\","
+                + "\\\"value\\\":\\\"<P ALIGN='CENTER'><FONT COLOR='#E3C7A1'>보석</FONT></P>\\\"}}\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void 학습한_사전으로_압축하면_더_작고_그대로_풀린다() {
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 50; i++) samples.add(gem(i));
+        byte[] dictionary = DeflateDictionary.train(samples, 4096);
+        assertThat(dictionary).isNotEmpty().hasSizeLessThanOrEqualTo(4096);
+
+        byte[] data = gem(77);
+        byte[] plain = DeflateDictionary.compress(data, null);
+        byte[] withDictionary = DeflateDictionary.compress(data, dictionary);
+
+        assertThat(withDictionary.length).isLessThan(plain.length);
+        assertThat(DeflateDictionary.decompress(withDictionary, dictionary)).isEqualTo(data);
+        assertThat(DeflateDictionary.decompress(plain, null)).isEqualTo(data);
+    }
+
+    @Test
+    void 사전_없이는_풀_수_없다() {
+        byte[] dictionary = DeflateDictionary.train(List.of(gem(1), gem(2), gem(3)), 1024);
+        byte[] compressed = DeflateDictionary.compress(gem(4), dictionary);
+
+        assertThatThrownBy(() -> DeflateDictionary.decompress(compressed, null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> DeflateDictionary.decompress(compressed, "다른 사전".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
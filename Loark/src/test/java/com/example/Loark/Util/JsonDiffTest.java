@@ -0,0 +1,66 @@
+package com.example.Loark.Util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class JsonDiffTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode json(String s) throws Exception {
+        return mapper.readTree(s);
+    }
+
+    @Test
+    void 같으면_변경이_없다() throws Exception {
+        assertThat(JsonDiff.diff(json("{\"a\":1,\"b\":[1,2]}"), json("{\"b\":[1,2],\"a\":1}"))).isEmpty();
+    }
+
+    @Test
+    void 바뀐_가장_깊은_값만_남긴다() throws Exception {
+        List<JsonDiff.Change> changes = JsonDiff.diff(
+                json("{\"Name\":\"겁화\",\"Level\":9,\"Tooltip\":{\"Effect\":\"피해 30%\"}}"),
+                json("{\"Name\":\"겁화\",\"Level\":10,\"Tooltip\":{\"Effect\":\"피해 40%\"}}"));
+
+        assertThat(changes).extracting(JsonDiff.Change::op, JsonDiff.Change::path)
+                .containsExactly(tuple("replace", "/Level"), tuple("replace", "/Tooltip/Effect"));
+        assertThat(changes.get(0).from().asInt()).isEqualTo(9);
+        assertThat(changes.get(0).to().asInt()).isEqualTo(10);
+    }
+
+    @Test
+    void 키와_배열_원소의_추가_삭제() throws Exception {
+        List<JsonDiff.Change> changes = JsonDiff.diff(
+                json("{\"old\":1,\"list\":[1,2,3]}"),
+                json("{\"new\":2,\"list\":[1]}"));
+
+        assertThat(changes).extracting(JsonDiff.Change::op, JsonDiff.Change::path)
+                .containsExactly(
+                        tuple("remove", "/old"),
+                        tuple("remove", "/list/2"),
+                        tuple("remove", "/list/1"),
+                        tuple("add", "/new"));
+    }
+
+    @Test
+    void 한쪽이_없으면_루트_전체가_추가_또는_삭제() throws Exception {
+        assertThat(JsonDiff.diff(null, json("{\"a\":1}")))
+                .extracting(JsonDiff.Change::op, JsonDiff.Change::path)
+                .containsExactly(tuple("add", ""));
+        assertThat(JsonDiff.diff(json("{\"a\":1}"), null))
+                .extracting(JsonDiff.Change::op)
+                .containsExactly("remove");
+    }
+
+    @Test
+    void 경로의_슬래시와_물결표는_이스케이프한다() throws Exception {
+        assertThat(JsonDiff.diff(json("{\"a/b~c\":1}"), json("{\"a/b~c\":2}")))
+                .extracting(JsonDiff.Change::path)
+                .containsExactly("/a~1b~0c");
+    }
+}
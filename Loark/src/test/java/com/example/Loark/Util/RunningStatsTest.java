@@ -0,0 +1,59 @@
+package com.example.Loark.Util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class RunningStatsTest {
+
+    private static final double[] VALUES = {
+            1_250_000.5, 1_310_200.0, 980_400.25, 1_402_330.0, 1_120_000.0, 1_275_500.75, 1_199_999.0};
+
+    @Test
+    void 하나씩_더한_값은_두번_읽어_구한_평균_분산과_같다() {
+        RunningStats stats = new RunningStats();
+        for (double v : VALUES) stats.add(v);
+
+        double mean = 0;
+        for (double v : VALUES) mean += v;
+        mean /= VALUES.length;
+        double ss = 0;
+        for (double v : VALUES) ss += (v - mean) * (v - mean);
+
+        assertThat(stats.count()).isEqualTo(VALUES.length);
+        assertThat(stats.mean()).isCloseTo(mean, within(1e-6));
+        assertThat(stats.variance()).isCloseTo(ss / (VALUES.length - 1), within(1e-3));
+    }
+
+    @Test
+    void 나눠_모은_두_묶음을_합치면_전부_더한_것과_같다() {
+        RunningStats all = new RunningStats();
+        RunningStats left = new RunningStats();
+        RunningStats right = new RunningStats();
+        for (int i = 0; i < VALUES.length; i++) {
+            all.add(VALUES[i]);
+            (i < 3 ? left : right).add(VALUES[i]);
+        }
+
+        // 저장해 둔 누적값에서 이어 합치는 경우 (CombatRollupService)
+        RunningStats merged = RunningStats.of(left.count(), left.mean(), left.m2());
+        merged.merge(right);
+
+        assertThat(merged.count()).isEqualTo(all.count());
+        assertThat(merged.mean()).isCloseTo(all.mean(), within(1e-6));
+        assertThat(merged.m2()).isCloseTo(all.m2(), within(1e-3));
+    }
+
+    @Test
+    void 빈_묶음은_합쳐도_그대로다() {
+        RunningStats stats = RunningStats.of(2, 10, 8);
+        stats.merge(new RunningStats());
+        assertThat(stats.count()).isEqualTo(2);
+        assertThat(stats.mean()).isEqualTo(10);
+
+        RunningStats empty = RunningStats.of(0, 0, 0);
+        empty.merge(stats);
+        assertThat(empty.count()).isEqualTo(2);
+        assertThat(empty.variance()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.Loark.Util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    void 동시에_들어온_같은키_호출은_한번만_실행() {
+        var flight = new SingleFlight<String, String>();
+        var calls = new AtomicInteger();
+
+        var results = Mono.zip(
+                flight.execute("a", () -> slowCall(calls, "armory")),
+                flight.execute("a", () -> slowCall(calls, "armory")),
+                flight.execute("a", () -> slowCall(calls, "armory"))
+        ).map(t -> List.of(t.getT1(), t.getT2(), t.getT3())).block();
+
+        assertThat(results).containsOnly("armory");
+        assertThat(calls).hasValue(1);
+        assertThat(flight.coalescedCount()).isEqualTo(2);
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void 호출이_끝나면_다음호출은_새로_실행() {
+        var flight = new SingleFlight<String, String>();
+        var calls = new AtomicInteger();
+
+        flight.execute("a", () -> slowCall(calls, "1")).block();
+        flight.execute("a", () -> slowCall(calls, "2")).block();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void 에러도_대기중인_호출에_함께_전달() {
+        var flight = new SingleFlight<String, String>();
+        Mono<String> failing = Mono.delay(Duration.ofMillis(50)).then(Mono.error(new IllegalStateException("boom")));
+
+        assertThatThrownBy(() -> Mono.zip(
+                flight.execute("a", () -> failing),
+                flight.execute("a", () -> failing)).block())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    private static Mono<String> slowCall(AtomicInteger calls, String value) {
+        return Mono.delay(Duration.ofMillis(50)).map(t -> {
+            calls.incrementAndGet();
+            return value;
+        });
+    }
+}